@@ -2,6 +2,7 @@ package com.hiperium.city.tasks.api;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.hiperium.city.tasks.api.config.PropertiesLoader;
+import com.hiperium.city.tasks.api.config.hints.CaffeineRuntimeHints;
 import com.hiperium.city.tasks.api.config.hints.PostgresRuntimeHints;
 import com.hiperium.city.tasks.api.config.hints.QuartzRuntimeHints;
 import com.hiperium.city.tasks.api.job.TaskJob;
@@ -14,7 +15,7 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.ImportRuntimeHints;
 
 @SpringBootApplication
-@ImportRuntimeHints({PostgresRuntimeHints.class, QuartzRuntimeHints.class})
+@ImportRuntimeHints({PostgresRuntimeHints.class, QuartzRuntimeHints.class, CaffeineRuntimeHints.class})
 @RegisterReflectionForBinding({AuroraPostgresSecretVO.class, TaskJob.class})
 public class TasksApplication {
 
@@ -0,0 +1,42 @@
+package com.hiperium.city.tasks.api.config;
+
+import com.hiperium.city.tasks.api.utils.VirtualThreadsUtil;
+import com.hiperium.city.tasks.api.utils.enums.ExecutionModeEnum;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.core.observability.micrometer.Micrometer;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+@Configuration
+public class ExecutionConfig {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ExecutionConfig.class);
+    private static final String BLOCKING_SCHEDULER_METRICS_PREFIX = "city.tasks.blocking.scheduler";
+
+    /**
+     * Scheduler for the blocking sections of the service and of the JPA repository.
+     */
+    @Bean(destroyMethod = "dispose")
+    public Scheduler blockingScheduler(@Value("${hiperium.city.tasks.execution.mode}") ExecutionModeEnum executionMode,
+                                       MeterRegistry meterRegistry) {
+        Scheduler scheduler = Schedulers.boundedElastic();
+        if (executionMode == ExecutionModeEnum.VIRTUAL) {
+            if (VirtualThreadsUtil.isSupported()) {
+                LOGGER.info("Using virtual threads for blocking operations.");
+                scheduler = Schedulers.fromExecutorService(
+                        VirtualThreadsUtil.newThreadPerTaskExecutor("tasks-virtual-"), "virtualThreads");
+            } else {
+                LOGGER.warn("Virtual threads are not supported by the running JVM. Using the bounded elastic scheduler.");
+            }
+        }
+        // Active, pending and completed tasks, and their execution and idle times.
+        return Micrometer.timedScheduler(scheduler, meterRegistry, BLOCKING_SCHEDULER_METRICS_PREFIX,
+                Tags.of("mode", executionMode.name()));
+    }
+}
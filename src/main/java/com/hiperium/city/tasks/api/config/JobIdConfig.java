@@ -0,0 +1,15 @@
+package com.hiperium.city.tasks.api.config;
+
+import com.hiperium.city.tasks.api.job.JobIdNodeLease;
+import com.hiperium.city.tasks.api.utils.JobIdGenerator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class JobIdConfig {
+
+    @Bean
+    public JobIdGenerator jobIdGenerator(JobIdNodeLease jobIdNodeLease) {
+        return new JobIdGenerator(jobIdNodeLease.getNodeId());
+    }
+}
@@ -0,0 +1,90 @@
+package com.hiperium.city.tasks.api.config;
+
+import com.hiperium.city.tasks.api.job.SchedulerTelemetry;
+import com.hiperium.city.tasks.api.job.VirtualThreadPool;
+import com.hiperium.city.tasks.api.utils.VirtualThreadsUtil;
+import com.hiperium.city.tasks.api.utils.enums.ExecutionModeEnum;
+import com.hiperium.city.tasks.api.utils.enums.SchedulingEngineEnum;
+import org.quartz.simpl.RAMJobStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.quartz.JobStoreType;
+import org.springframework.boot.autoconfigure.quartz.QuartzProperties;
+import org.springframework.boot.autoconfigure.quartz.SchedulerFactoryBeanCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Properties;
+
+@Configuration
+public class QuartzConfig {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(QuartzConfig.class);
+    private static final String JOB_STORE_PREFIX = "org.quartz.jobStore.";
+    private static final String DATA_SOURCE_PREFIX = "org.quartz.dataSource.";
+    private static final String MISFIRE_THRESHOLD_PROPERTY = JOB_STORE_PREFIX + "misfireThreshold";
+
+    @Bean
+    public SchedulerFactoryBeanCustomizer telemetryListenersCustomizer(SchedulerTelemetry schedulerTelemetry) {
+        return schedulerFactoryBean -> {
+            schedulerFactoryBean.setGlobalTriggerListeners(schedulerTelemetry);
+            schedulerFactoryBean.setSchedulerListeners(schedulerTelemetry.getSchedulerListener());
+        };
+    }
+
+    /**
+     * The customizer runs after Spring Boot has set the Quartz properties, so they are set again including the
+     * virtual Thread Pool and the in-memory Job Store. With scheduler shards, this Scheduler is not started, and
+     * it is only used to move the Jobs created before the shards were enabled. With the timing wheel engine, the
+     * Scheduler is not started either.
+     */
+    @Bean
+    public SchedulerFactoryBeanCustomizer quartzPropertiesCustomizer(QuartzProperties quartzProperties,
+            @Value("${hiperium.city.tasks.execution.mode}") ExecutionModeEnum executionMode,
+            @Value("${hiperium.city.tasks.execution.virtual.quartz-max-concurrency}") int maxConcurrency,
+            @Value("${hiperium.city.tasks.scheduler.shards:1}") int shards,
+            @Value("${hiperium.city.tasks.scheduler.engine:QUARTZ}") SchedulingEngineEnum schedulingEngine) {
+        return schedulerFactoryBean -> {
+            schedulerFactoryBean.setQuartzProperties(getQuartzProperties(quartzProperties, executionMode, maxConcurrency));
+            if (shards > 1 || schedulingEngine == SchedulingEngineEnum.TIMING_WHEEL) {
+                schedulerFactoryBean.setAutoStartup(false);
+            }
+        };
+    }
+
+    public static Properties getQuartzProperties(QuartzProperties quartzProperties, ExecutionModeEnum executionMode,
+                                                 int maxConcurrency) {
+        Properties properties = new Properties();
+        properties.putAll(quartzProperties.getProperties());
+        if (quartzProperties.getJobStoreType() == JobStoreType.MEMORY) {
+            setRamJobStore(properties);
+        }
+        if (executionMode == ExecutionModeEnum.VIRTUAL) {
+            setVirtualThreadPool(properties, maxConcurrency);
+        }
+        return properties;
+    }
+
+    /**
+     * The JDBC Job Store properties are removed, because the RAM Job Store fails with the ones it does not have.
+     * The Jobs and Triggers are rebuilt from the Tasks table when the application starts.
+     */
+    private static void setRamJobStore(Properties properties) {
+        properties.stringPropertyNames().stream()
+                .filter(name -> (name.startsWith(JOB_STORE_PREFIX) && !name.equals(MISFIRE_THRESHOLD_PROPERTY))
+                        || name.startsWith(DATA_SOURCE_PREFIX))
+                .forEach(properties::remove);
+        properties.setProperty(JOB_STORE_PREFIX + "class", RAMJobStore.class.getName());
+        LOGGER.info("Using the Quartz RAM Job Store.");
+    }
+
+    private static void setVirtualThreadPool(Properties properties, int maxConcurrency) {
+        if (!VirtualThreadsUtil.isSupported()) {
+            LOGGER.warn("Virtual threads are not supported by the running JVM. Using the Quartz default Thread Pool.");
+            return;
+        }
+        properties.setProperty("org.quartz.threadPool.class", VirtualThreadPool.class.getName());
+        properties.setProperty("org.quartz.threadPool.threadCount", String.valueOf(maxConcurrency));
+    }
+}
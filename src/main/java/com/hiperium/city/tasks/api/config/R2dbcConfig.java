@@ -0,0 +1,60 @@
+package com.hiperium.city.tasks.api.config;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import java.util.Objects;
+
+@Configuration
+@ConditionalOnProperty(name = "hiperium.city.tasks.persistence.mode", havingValue = "r2dbc")
+public class R2dbcConfig {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(R2dbcConfig.class);
+    private static final String JDBC_URL_PREFIX = "jdbc:";
+    private static final String R2DBC_URL_PREFIX = "r2dbc:";
+
+    private ConnectionPool connectionPool;
+
+    @Bean
+    public DatabaseClient databaseClient(@Value("${spring.datasource.url}") String jdbcUrl,
+                                         @Value("${spring.datasource.username}") String username,
+                                         @Value("${spring.datasource.password}") String password,
+                                         @Value("${hiperium.city.tasks.persistence.r2dbc.pool.max-size}") int poolMaxSize) {
+        String r2dbcUrl = getR2dbcUrl(jdbcUrl);
+        LOGGER.info("R2DBC Connection: {}", r2dbcUrl);
+        ConnectionFactoryOptions options = ConnectionFactoryOptions.parse(r2dbcUrl).mutate()
+                .option(ConnectionFactoryOptions.USER, username)
+                .option(ConnectionFactoryOptions.PASSWORD, password)
+                .build();
+        // The pool is not registered as a bean on purpose. A ConnectionFactory bean makes Spring Boot
+        // back off the JDBC DataSource that Hibernate, Flyway and Quartz still need.
+        this.connectionPool = new ConnectionPool(ConnectionPoolConfiguration
+                .builder(ConnectionFactories.get(options))
+                .maxSize(poolMaxSize)
+                .build());
+        return DatabaseClient.create(this.connectionPool);
+    }
+
+    @PreDestroy
+    public void dispose() {
+        if (Objects.nonNull(this.connectionPool)) {
+            this.connectionPool.dispose();
+        }
+    }
+
+    private static String getR2dbcUrl(String jdbcUrl) {
+        String r2dbcUrl = R2DBC_URL_PREFIX.concat(jdbcUrl.substring(JDBC_URL_PREFIX.length()));
+        int queryIndex = r2dbcUrl.indexOf('?');
+        return queryIndex < 0 ? r2dbcUrl : r2dbcUrl.substring(0, queryIndex);
+    }
+}
@@ -0,0 +1,22 @@
+package com.hiperium.city.tasks.api.config.hints;
+
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+
+public class CaffeineRuntimeHints implements RuntimeHintsRegistrar {
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        // Generated classes for the bounded, expire-after-write and stats-recording Device cache.
+        hints.reflection().registerType(TypeReference.of("com.github.benmanes.caffeine.cache.SSSMSW"),
+                MemberCategory.INVOKE_DECLARED_CONSTRUCTORS);
+        hints.reflection().registerType(TypeReference.of("com.github.benmanes.caffeine.cache.PSWMS"),
+                MemberCategory.INVOKE_DECLARED_CONSTRUCTORS);
+        // JCache provider of the Hibernate second-level cache, loaded by name, and the configuration of its regions.
+        hints.reflection().registerType(TypeReference.of("com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider"),
+                MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+        hints.resources().registerPattern("application.conf");
+    }
+}
@@ -1,9 +1,11 @@
 package com.hiperium.city.tasks.api.config.hints;
 
+import com.hiperium.city.tasks.api.job.VirtualThreadPool;
 import org.quartz.impl.StdSchedulerFactory;
 import org.quartz.impl.jdbcjobstore.JobStoreSupport;
 import org.quartz.impl.jdbcjobstore.JobStoreTX;
 import org.quartz.impl.jdbcjobstore.PostgreSQLDelegate;
+import org.quartz.simpl.RAMJobStore;
 import org.quartz.utils.HikariCpPoolingConnectionProvider;
 import org.springframework.aot.hint.MemberCategory;
 import org.springframework.aot.hint.RuntimeHints;
@@ -18,5 +20,7 @@ public class QuartzRuntimeHints implements RuntimeHintsRegistrar {
         hints.reflection().registerType(StdSchedulerFactory.class, MemberCategory.values());
         hints.reflection().registerType(HikariCpPoolingConnectionProvider.class, MemberCategory.values());
         hints.reflection().registerType(PostgreSQLDelegate.class, MemberCategory.values());
+        hints.reflection().registerType(VirtualThreadPool.class, MemberCategory.values());
+        hints.reflection().registerType(RAMJobStore.class, MemberCategory.values());
     }
 }
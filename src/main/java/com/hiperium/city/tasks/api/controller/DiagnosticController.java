@@ -0,0 +1,65 @@
+package com.hiperium.city.tasks.api.controller;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.hiperium.city.tasks.api.job.SchedulerRouter;
+import com.hiperium.city.tasks.api.job.SchedulerTelemetry;
+import com.hiperium.city.tasks.api.job.TaskDispatcher;
+import com.hiperium.city.tasks.api.repository.DeviceCache;
+import com.hiperium.city.tasks.api.repository.TaskCache;
+import com.hiperium.city.tasks.api.utils.TasksUtil;
+import com.hiperium.city.tasks.api.vo.CacheStatsVO;
+import com.hiperium.city.tasks.api.vo.DispatcherStatsVO;
+import com.hiperium.city.tasks.api.vo.SchedulerShardsVO;
+import com.hiperium.city.tasks.api.vo.SchedulerStatsVO;
+import com.hiperium.city.tasks.api.vo.TaskCacheStatsVO;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping(TasksUtil.DIAGNOSTICS_PATH)
+public class DiagnosticController {
+
+    private final DeviceCache deviceCache;
+    private final TaskCache taskCache;
+    private final TaskDispatcher taskDispatcher;
+    private final SchedulerTelemetry schedulerTelemetry;
+    private final SchedulerRouter schedulerRouter;
+
+    public DiagnosticController(DeviceCache deviceCache, TaskCache taskCache, TaskDispatcher taskDispatcher,
+                                SchedulerTelemetry schedulerTelemetry, SchedulerRouter schedulerRouter) {
+        this.deviceCache = deviceCache;
+        this.taskCache = taskCache;
+        this.taskDispatcher = taskDispatcher;
+        this.schedulerTelemetry = schedulerTelemetry;
+        this.schedulerRouter = schedulerRouter;
+    }
+
+    @GetMapping("/device-cache")
+    public Mono<CacheStatsVO> getDeviceCacheStats() {
+        CacheStats stats = this.deviceCache.stats();
+        return Mono.just(new CacheStatsVO(this.deviceCache.size(), stats.hitCount(), stats.missCount(),
+                stats.hitRate(), stats.evictionCount()));
+    }
+
+    @GetMapping("/task-cache")
+    public Mono<TaskCacheStatsVO> getTaskCacheStats() {
+        return Mono.just(this.taskCache.getStats());
+    }
+
+    @GetMapping("/dispatcher")
+    public Mono<DispatcherStatsVO> getDispatcherStats() {
+        return Mono.just(this.taskDispatcher.getStats());
+    }
+
+    @GetMapping("/scheduler")
+    public Mono<SchedulerStatsVO> getSchedulerStats() {
+        return Mono.just(this.schedulerTelemetry.getStats());
+    }
+
+    @GetMapping("/scheduler/shards")
+    public Mono<SchedulerShardsVO> getSchedulerShards() {
+        return Mono.just(this.schedulerRouter.getShardsStats());
+    }
+}
@@ -1,16 +1,25 @@
 package com.hiperium.city.tasks.api.controller;
 
 import com.hiperium.city.tasks.api.model.Task;
+import com.hiperium.city.tasks.api.model.TaskExecution;
 import com.hiperium.city.tasks.api.service.TaskService;
 import com.hiperium.city.tasks.api.utils.TasksUtil;
+import com.hiperium.city.tasks.api.utils.enums.TaskFieldEnum;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Supplier;
+
 @RestController
 @RequestMapping(TasksUtil.TASKS_PATH)
 public class TaskController {
@@ -30,17 +39,83 @@ public class TaskController {
         return this.taskService.create(task);
     }
 
+    @PostMapping("/bulk")
+    @ResponseStatus(HttpStatus.CREATED)
+    public Flux<Task> createAll(@RequestBody Flux<Task> tasks) {
+        LOGGER.debug("createAll() - START");
+        return this.taskService.createAll(tasks);
+    }
+
+    /**
+     * Conditional requests validate the ETag with the Task version, and only load the Task when it changed.
+     */
     @GetMapping("{id}")
-    public Mono<ResponseEntity<Task>> findById(@PathVariable("id") Long taskId) {
+    public Mono<ResponseEntity<Task>> findById(@PathVariable("id") Long taskId, ServerWebExchange exchange) {
         LOGGER.debug("findById(): {}", taskId);
-        return this.taskService.findById(taskId)
-                .map(ResponseEntity::ok);
+        return getIfModified(exchange,
+                () -> this.taskService.findVersionById(taskId)
+                        .map(version -> TasksUtil.getETag(version.id(), version.updatedAt())),
+                () -> this.taskService.findById(taskId).map(task -> ResponseEntity.ok()
+                        .eTag(TasksUtil.getETag(task.getId(), task.getUpdatedAt()))
+                        .body(task)));
+    }
+
+    /**
+     * Returns only the requested fields of the Task, like "id,name,hour,minute".
+     */
+    @GetMapping(value = "{id}", params = "fields")
+    public Mono<ResponseEntity<Map<String, Object>>> findFieldsById(@PathVariable("id") Long taskId,
+                                                                    @RequestParam("fields") String fields,
+                                                                    ServerWebExchange exchange) {
+        LOGGER.debug("findFieldsById(): {} - {}", taskId, fields);
+        final Set<TaskFieldEnum> taskFields = TaskFieldEnum.fromFields(fields);
+        return getIfModified(exchange,
+                () -> this.taskService.findVersionById(taskId)
+                        .map(version -> TasksUtil.getETag(version.id(), version.updatedAt(), taskFields)),
+                () -> this.taskService.findById(taskId, taskFields).map(task -> ResponseEntity.ok()
+                        .eTag(TasksUtil.getETag(task.getId(), task.getUpdatedAt(), taskFields))
+                        .body(TasksUtil.toFieldsMap(task, taskFields))));
     }
 
     @GetMapping
-    public Flux<Task> getAll() {
+    public Mono<ResponseEntity<List<Task>>> getAll(@RequestParam(value = "pageToken", required = false) String pageToken,
+                                                   @RequestParam(value = "size", required = false) Integer size,
+                                                   @RequestParam(value = "deviceId", required = false) String deviceId,
+                                                   @RequestParam(value = "executionDays", required = false) String executionDays,
+                                                   ServerWebExchange exchange) {
         LOGGER.debug("getAll() - START");
-        return this.taskService.findAll();
+        return getIfModified(exchange,
+                () -> this.taskService.findPageETag(pageToken, size, deviceId, executionDays, null),
+                () -> this.taskService.findPage(pageToken, size, deviceId, executionDays)
+                        .map(taskPage -> toResponseEntity(taskPage.tasks(), taskPage.nextPageToken(),
+                                TasksUtil.getTasksPageETag(taskPage.tasks()))));
+    }
+
+    @GetMapping(params = "fields")
+    public Mono<ResponseEntity<List<Map<String, Object>>>> getAllFields(@RequestParam("fields") String fields,
+                                                                        @RequestParam(value = "pageToken", required = false) String pageToken,
+                                                                        @RequestParam(value = "size", required = false) Integer size,
+                                                                        @RequestParam(value = "deviceId", required = false) String deviceId,
+                                                                        @RequestParam(value = "executionDays", required = false) String executionDays,
+                                                                        ServerWebExchange exchange) {
+        LOGGER.debug("getAllFields(): {}", fields);
+        final Set<TaskFieldEnum> taskFields = TaskFieldEnum.fromFields(fields);
+        return getIfModified(exchange,
+                () -> this.taskService.findPageETag(pageToken, size, deviceId, executionDays, taskFields),
+                () -> this.taskService.findPage(pageToken, size, deviceId, executionDays, taskFields)
+                        .map(taskPage -> toResponseEntity(taskPage.tasks().stream()
+                                        .map(task -> TasksUtil.toFieldsMap(task, taskFields))
+                                        .toList(), taskPage.nextPageToken(),
+                                TasksUtil.getTasksPageETag(taskPage.tasks(), taskFields))));
+    }
+
+    @GetMapping("{id}/executions")
+    public Mono<ResponseEntity<List<TaskExecution>>> getExecutions(@PathVariable("id") Long taskId,
+                                                                   @RequestParam(value = "pageToken", required = false) String pageToken,
+                                                                   @RequestParam(value = "size", required = false) Integer size) {
+        LOGGER.debug("getExecutions(): {}", taskId);
+        return this.taskService.findExecutionsPage(taskId, pageToken, size)
+                .map(executionsPage -> toResponseEntity(executionsPage.executions(), executionsPage.nextPageToken(), null));
     }
 
     @PutMapping("{id}")
@@ -70,4 +145,33 @@ public class TaskController {
                 .deviceAction("ACTIVATE")
                 .build();
     }
+
+    /**
+     * Answers Not Modified when the ETag matches the If-None-Match header, without loading the response body.
+     */
+    private static <T> Mono<ResponseEntity<T>> getIfModified(ServerWebExchange exchange,
+                                                             Supplier<Mono<String>> eTagSupplier,
+                                                             Supplier<Mono<ResponseEntity<T>>> responseSupplier) {
+        Mono<Boolean> notModified = hasIfNoneMatch(exchange)
+                ? eTagSupplier.get().map(exchange::checkNotModified)
+                : Mono.just(false);
+        return notModified.flatMap(isNotModified -> isNotModified
+                ? Mono.just(ResponseEntity.status(HttpStatus.NOT_MODIFIED).<T>build())
+                : responseSupplier.get());
+    }
+
+    private static boolean hasIfNoneMatch(ServerWebExchange exchange) {
+        return !exchange.getRequest().getHeaders().getIfNoneMatch().isEmpty();
+    }
+
+    private static <T> ResponseEntity<List<T>> toResponseEntity(List<T> items, String nextPageToken, String eTag) {
+        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.ok();
+        if (Objects.nonNull(nextPageToken)) {
+            responseBuilder.header(TasksUtil.NEXT_PAGE_TOKEN_HEADER, nextPageToken);
+        }
+        if (Objects.nonNull(eTag)) {
+            responseBuilder.eTag(eTag);
+        }
+        return responseBuilder.body(items);
+    }
 }
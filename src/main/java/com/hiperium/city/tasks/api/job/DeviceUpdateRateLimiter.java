@@ -0,0 +1,72 @@
+package com.hiperium.city.tasks.api.job;
+
+import com.hiperium.city.tasks.api.exception.TaskScheduleException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket for outbound Device updates, implemented as a generic cell rate algorithm: a single
+ * atomic holds the theoretical arrival time of the next permit, and callers over the burst are delayed instead
+ * of rejected. The delay is bounded by the maximum wait, and the callers that would wait longer are rejected
+ * without taking a permit.
+ */
+@Component
+public class DeviceUpdateRateLimiter {
+
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final long maxWaitNanos;
+    private final AtomicLong theoreticalArrivalTime = new AtomicLong(System.nanoTime());
+
+    public DeviceUpdateRateLimiter(@Value("${hiperium.city.tasks.dispatch.rate-limit.permits-per-second}") int permitsPerSecond,
+                                   @Value("${hiperium.city.tasks.dispatch.rate-limit.burst}") int burst,
+                                   @Value("${hiperium.city.tasks.dispatch.rate-limit.max-wait-millis}") long maxWaitMillis) {
+        if (permitsPerSecond < 1 || burst < 1) {
+            throw new IllegalArgumentException("Rate limit permits per second and burst must be greater than zero.");
+        }
+        if (maxWaitMillis < 0) {
+            throw new IllegalArgumentException("Rate limit maximum wait cannot be negative.");
+        }
+        this.emissionIntervalNanos = TimeUnit.SECONDS.toNanos(1) / permitsPerSecond;
+        this.burstToleranceNanos = this.emissionIntervalNanos * (burst - 1);
+        this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(maxWaitMillis);
+    }
+
+    /**
+     * Completes when a permit is available, or fails with a {@link TaskScheduleException} when the wait for the
+     * permit would be longer than the maximum wait.
+     */
+    public Mono<Void> acquire() {
+        return Mono.defer(() -> {
+            long delayNanos = this.reserve();
+            if (delayNanos < 0) {
+                return Mono.error(new TaskScheduleException("Device update rate limit exceeded."));
+            }
+            return delayNanos > 0 ? Mono.delay(Duration.ofNanos(delayNanos)).then() : Mono.empty();
+        });
+    }
+
+    /**
+     * Reserves the next permit and returns how long the caller must wait for it, in nanoseconds, or -1 without
+     * reserving it when the wait would be longer than the maximum wait.
+     */
+    long reserve() {
+        while (true) {
+            long now = System.nanoTime();
+            long current = this.theoreticalArrivalTime.get();
+            long arrivalTime = Math.max(current, now);
+            long delayNanos = Math.max(0L, arrivalTime - this.burstToleranceNanos - now);
+            if (delayNanos > this.maxWaitNanos) {
+                return -1L;
+            }
+            if (this.theoreticalArrivalTime.compareAndSet(current, arrivalTime + this.emissionIntervalNanos)) {
+                return delayNanos;
+            }
+        }
+    }
+}
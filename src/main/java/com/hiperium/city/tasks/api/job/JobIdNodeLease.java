@@ -0,0 +1,106 @@
+package com.hiperium.city.tasks.api.job;
+
+import com.hiperium.city.tasks.api.repository.JobIdNodeRepository;
+import com.hiperium.city.tasks.api.utils.EnvironmentUtil;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * Node ID of the Job ID generator. It is given by the HIPERIUM_CITY_TASKS_NODE_ID variable, or leased from the
+ * database, so two running nodes never share it. The node fails to start when no node ID is free.
+ */
+@Component
+public class JobIdNodeLease {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(JobIdNodeLease.class);
+
+    private final JobIdNodeRepository jobIdNodeRepository;
+    private final reactor.core.scheduler.Scheduler blockingScheduler;
+    private final long heartbeatSeconds;
+    private final long leaseSeconds;
+    private final String nodeName = EnvironmentUtil.getNodeName();
+    private final int nodeId;
+    private final boolean leased;
+
+    private Disposable leaseRenewal;
+
+    public JobIdNodeLease(JobIdNodeRepository jobIdNodeRepository,
+                          reactor.core.scheduler.Scheduler blockingScheduler,
+                          @Value("${hiperium.city.tasks.scheduler.heartbeat-seconds}") long heartbeatSeconds,
+                          @Value("${hiperium.city.tasks.job-id.lease-seconds}") long leaseSeconds) {
+        if (leaseSeconds <= heartbeatSeconds) {
+            throw new IllegalArgumentException("The Job ID node lease must be longer than the heartbeat.");
+        }
+        this.jobIdNodeRepository = jobIdNodeRepository;
+        this.blockingScheduler = blockingScheduler;
+        this.heartbeatSeconds = heartbeatSeconds;
+        this.leaseSeconds = leaseSeconds;
+        Integer configuredNodeId = EnvironmentUtil.getNodeId();
+        if (Objects.nonNull(configuredNodeId)) {
+            this.nodeId = configuredNodeId;
+            this.leased = false;
+            return;
+        }
+        Integer leasedNodeId = this.jobIdNodeRepository.acquire(this.nodeName, leaseSeconds);
+        if (Objects.isNull(leasedNodeId)) {
+            throw new IllegalStateException("All the Job ID node IDs are leased. Set HIPERIUM_CITY_TASKS_NODE_ID, "
+                    + "or wait for the leases of the stopped nodes to expire.");
+        }
+        LOGGER.info("Leased the Job ID node ID {} for node: {}", leasedNodeId, this.nodeName);
+        this.nodeId = leasedNodeId;
+        this.leased = true;
+    }
+
+    public int getNodeId() {
+        return this.nodeId;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!this.leased) {
+            return;
+        }
+        this.leaseRenewal = Flux.interval(Duration.ofSeconds(this.heartbeatSeconds))
+                .onBackpressureDrop()
+                .concatMap(tick -> Mono.fromRunnable(this::renew)
+                        .subscribeOn(this.blockingScheduler)
+                        .onErrorResume(error -> {
+                            LOGGER.warn("Cannot renew the Job ID node lease: {}", error.getMessage());
+                            return Mono.empty();
+                        }))
+                .subscribe();
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (!this.leased) {
+            return;
+        }
+        if (Objects.nonNull(this.leaseRenewal)) {
+            this.leaseRenewal.dispose();
+        }
+        try {
+            this.jobIdNodeRepository.release(this.nodeName, this.nodeId);
+        } catch (RuntimeException e) {
+            LOGGER.warn("Cannot release the Job ID node ID {}: {}", this.nodeId, e.getMessage());
+        }
+    }
+
+    private void renew() {
+        if (!this.jobIdNodeRepository.renew(this.nodeName, this.nodeId, this.leaseSeconds)) {
+            // Only possible after a pause longer than the lease, the Job IDs of both nodes can collide.
+            LOGGER.error("The Job ID node ID {} was leased by another node.", this.nodeId);
+        }
+    }
+}
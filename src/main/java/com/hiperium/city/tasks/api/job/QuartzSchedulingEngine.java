@@ -0,0 +1,120 @@
+package com.hiperium.city.tasks.api.job;
+
+import com.hiperium.city.tasks.api.exception.TaskScheduleException;
+import com.hiperium.city.tasks.api.model.Task;
+import com.hiperium.city.tasks.api.utils.JobsUtil;
+import org.quartz.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+@Component
+@ConditionalOnProperty(name = "hiperium.city.tasks.scheduler.engine", havingValue = "QUARTZ", matchIfMissing = true)
+public class QuartzSchedulingEngine implements TaskSchedulingEngine {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(QuartzSchedulingEngine.class);
+
+    private final SchedulerRouter schedulerRouter;
+    private final String zoneId;
+
+    public QuartzSchedulingEngine(SchedulerRouter schedulerRouter,
+                                  @Value("${hiperium.city.tasks.time.zone.id}") String zoneId) {
+        this.schedulerRouter = schedulerRouter;
+        this.zoneId = zoneId;
+    }
+
+    @Override
+    public void schedule(Task task) {
+        JobDetail job = JobsUtil.createJobDetailFromTask(task);
+        Trigger trigger = JobsUtil.createCronTriggerFromTask(task, this.zoneId);
+        try {
+            this.schedulerRouter.getScheduler(task.getJobId()).scheduleJob(job, trigger);
+        } catch (SchedulerException e) {
+            throw new TaskScheduleException(e.getMessage());
+        }
+    }
+
+    @Override
+    public void scheduleAll(List<Task> tasks) {
+        Map<JobDetail, Set<? extends Trigger>> triggersAndJobs = new LinkedHashMap<>();
+        for (Task task : tasks) {
+            triggersAndJobs.put(JobsUtil.createJobDetailFromTask(task),
+                    Set.of(JobsUtil.createCronTriggerFromTask(task, this.zoneId)));
+        }
+        this.scheduleJobs(triggersAndJobs, false);
+    }
+
+    @Override
+    public void reschedule(Task actualTask, Task task) {
+        // Replacing the Job and its Trigger in a single call keeps the Task data in the Job in sync.
+        JobDetail job = JobsUtil.createJobDetailFromTask(task);
+        Trigger newTrigger = JobsUtil.createCronTriggerFromTask(task, this.zoneId);
+        try {
+            this.schedulerRouter.getScheduler(task.getJobId()).scheduleJob(job, Set.of(newTrigger), true);
+            LOGGER.debug("Successfully rescheduled trigger for Task ID: {}", task.getId());
+            LOGGER.debug("The next fire date for Task ID: {} will be: {}", task.getId(), newTrigger.getNextFireTime());
+        } catch (SchedulerException e) {
+            throw new TaskScheduleException("Cannot reschedule the Trigger for the Task ID: " + task.getId()
+                    + ". " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void unschedule(Task task) {
+        // The Trigger key is derived from the Job ID, so there is no need to look it up first.
+        TriggerKey triggerKey = JobsUtil.getTriggerKey(task.getJobId());
+        try {
+            boolean unscheduledJob = this.schedulerRouter.getScheduler(task.getJobId()).unscheduleJob(triggerKey);
+            if (unscheduledJob) {
+                LOGGER.debug("Job unscheduled for Task: {}", task.getId());
+            } else {
+                LOGGER.warn("No Scheduled Job found for Task: {}", task.getId());
+            }
+        } catch (SchedulerException e) {
+            LOGGER.error("Error deleting the Scheduled Job for Task: {}", task.getId());
+            LOGGER.error(e.getMessage());
+        }
+    }
+
+    /**
+     * Tasks whose Trigger will never fire again are skipped, because Quartz rejects the whole batch otherwise.
+     */
+    @Override
+    public long restore(List<Task> tasks) {
+        final Date now = new Date();
+        Map<JobDetail, Set<? extends Trigger>> triggersAndJobs = new LinkedHashMap<>();
+        for (Task task : tasks) {
+            try {
+                Trigger trigger = JobsUtil.createCronTriggerFromTask(task, this.zoneId);
+                if (Objects.isNull(trigger.getFireTimeAfter(now))) {
+                    LOGGER.debug("The Trigger of Task ID: {} will never fire again.", task.getId());
+                    continue;
+                }
+                triggersAndJobs.put(JobsUtil.createJobDetailFromTask(task), Set.of(trigger));
+            } catch (IllegalArgumentException e) {
+                LOGGER.warn("Cannot rebuild the Trigger of Task ID: {}. {}", task.getId(), e.getMessage());
+            }
+        }
+        this.scheduleJobs(triggersAndJobs, true);
+        return triggersAndJobs.size();
+    }
+
+    private void scheduleJobs(Map<JobDetail, Set<? extends Trigger>> triggersAndJobs, boolean replace) {
+        // One call per Scheduler shard.
+        Map<Scheduler, Map<JobDetail, Set<? extends Trigger>>> shardsTriggersAndJobs = new LinkedHashMap<>();
+        triggersAndJobs.forEach((job, triggers) -> shardsTriggersAndJobs
+                .computeIfAbsent(this.schedulerRouter.getScheduler(job.getKey().getName()), scheduler -> new LinkedHashMap<>())
+                .put(job, triggers));
+        try {
+            for (Map.Entry<Scheduler, Map<JobDetail, Set<? extends Trigger>>> entry : shardsTriggersAndJobs.entrySet()) {
+                entry.getKey().scheduleJobs(entry.getValue(), replace);
+            }
+        } catch (SchedulerException e) {
+            throw new TaskScheduleException(e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.hiperium.city.tasks.api.job;
+
+import com.hiperium.city.tasks.api.vo.SchedulerShardsVO;
+import org.quartz.Scheduler;
+
+import java.util.List;
+
+/**
+ * Finds the Quartz Scheduler that stores the Job of a Task.
+ */
+public interface SchedulerRouter {
+
+    Scheduler getScheduler(String jobId);
+
+    List<Scheduler> getSchedulers();
+
+    SchedulerShardsVO getShardsStats();
+}
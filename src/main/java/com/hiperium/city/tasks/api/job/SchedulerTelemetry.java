@@ -0,0 +1,204 @@
+package com.hiperium.city.tasks.api.job;
+
+import com.hiperium.city.tasks.api.utils.JobsUtil;
+import com.hiperium.city.tasks.api.utils.enums.SchedulingEngineEnum;
+import com.hiperium.city.tasks.api.vo.SchedulerStatsVO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.quartz.*;
+import org.quartz.listeners.SchedulerListenerSupport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Global Trigger listener that measures how late the Quartz Triggers fire:
+ * <ul>
+ *     <li>Acquisition lag: from the scheduled fire time until the Job Store fired the Trigger.</li>
+ *     <li>Fire lag: from the scheduled fire time until a worker thread starts the Job.</li>
+ * </ul>
+ * It also counts misfires and running Jobs, and periodically counts the Triggers due in the next minute. The thread
+ * pool size adds the Schedulers running in the node, which are the owned shards when the shards are enabled. The
+ * gauges are not registered with the timing wheel engine, because it does not start any Scheduler.
+ */
+@Component
+public class SchedulerTelemetry implements TriggerListener {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SchedulerTelemetry.class);
+    private static final String LISTENER_NAME = "SchedulerTelemetry";
+    private static final String NEXT_MINUTE_BACKLOG_QUERY = """
+            SELECT COUNT(*) FROM QRTZ_TRIGGERS
+            WHERE (SCHED_NAME = ? OR SCHED_NAME LIKE ?) AND TRIGGER_STATE = 'WAITING' AND NEXT_FIRE_TIME BETWEEN ? AND ?
+            """;
+
+    private final ObjectProvider<SchedulerRouter> schedulerRouter;
+    private final ObjectProvider<JdbcTemplate> jdbcTemplate;
+    private final reactor.core.scheduler.Scheduler blockingScheduler;
+    private final String schedulerName;
+    private final String jobStoreType;
+    private final SchedulingEngineEnum schedulingEngine;
+    private final long backlogRefreshSeconds;
+
+    private final Timer fireLagTimer;
+    private final Timer acquisitionLagTimer;
+    private final Counter misfiresCounter;
+    private final Counter schedulerErrorsCounter;
+    private final AtomicInteger runningJobs = new AtomicInteger();
+    private final AtomicLong nextMinuteBacklog = new AtomicLong();
+
+    private Disposable backlogRefresh;
+
+    public SchedulerTelemetry(ObjectProvider<SchedulerRouter> schedulerRouter, ObjectProvider<JdbcTemplate> jdbcTemplate,
+                              reactor.core.scheduler.Scheduler blockingScheduler, MeterRegistry meterRegistry,
+                              @Value("${spring.quartz.scheduler-name:quartzScheduler}") String schedulerName,
+                              @Value("${spring.quartz.job-store-type:memory}") String jobStoreType,
+                              @Value("${hiperium.city.tasks.scheduler.engine:QUARTZ}") SchedulingEngineEnum schedulingEngine,
+                              @Value("${hiperium.city.tasks.scheduler.backlog-refresh-seconds}") long backlogRefreshSeconds) {
+        this.schedulerRouter = schedulerRouter;
+        this.jdbcTemplate = jdbcTemplate;
+        this.blockingScheduler = blockingScheduler;
+        this.schedulerName = schedulerName;
+        this.jobStoreType = jobStoreType;
+        this.schedulingEngine = schedulingEngine;
+        this.backlogRefreshSeconds = backlogRefreshSeconds;
+        this.fireLagTimer = Timer.builder("city.tasks.quartz.fire.lag")
+                .description("Time from the scheduled fire time until the Job starts running.")
+                .register(meterRegistry);
+        this.acquisitionLagTimer = Timer.builder("city.tasks.quartz.acquisition.lag")
+                .description("Time from the scheduled fire time until the Job Store fired the Trigger.")
+                .register(meterRegistry);
+        this.misfiresCounter = Counter.builder("city.tasks.quartz.misfires")
+                .description("Triggers that missed their fire time.")
+                .register(meterRegistry);
+        this.schedulerErrorsCounter = Counter.builder("city.tasks.quartz.errors")
+                .description("Errors reported by the Quartz Scheduler.")
+                .register(meterRegistry);
+        if (schedulingEngine != SchedulingEngineEnum.TIMING_WHEEL) {
+            meterRegistry.gauge("city.tasks.quartz.jobs.running", this.runningJobs);
+            meterRegistry.gauge("city.tasks.quartz.thread.pool.size", this, SchedulerTelemetry::getThreadPoolSize);
+            meterRegistry.gauge("city.tasks.quartz.backlog.next.minute", this.nextMinuteBacklog);
+        }
+    }
+
+    /**
+     * Starts when the application is ready, so the Scheduler beans are not requested while the context is created.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        // The backlog is counted in the Quartz tables, that are not used by the RAM Job Store.
+        if (this.schedulingEngine == SchedulingEngineEnum.TIMING_WHEEL || !"jdbc".equalsIgnoreCase(this.jobStoreType)) {
+            return;
+        }
+        this.backlogRefresh = Flux.interval(Duration.ZERO, Duration.ofSeconds(this.backlogRefreshSeconds))
+                .onBackpressureDrop()
+                .concatMap(tick -> Mono.fromRunnable(this::refreshBacklog)
+                        .subscribeOn(this.blockingScheduler)
+                        .onErrorResume(error -> {
+                            LOGGER.warn("Cannot refresh the Triggers backlog: {}", error.getMessage());
+                            return Mono.empty();
+                        }))
+                .subscribe();
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (Objects.nonNull(this.backlogRefresh)) {
+            this.backlogRefresh.dispose();
+        }
+    }
+
+    public SchedulerListener getSchedulerListener() {
+        return new SchedulerListenerSupport() {
+            @Override
+            public void schedulerError(String msg, SchedulerException cause) {
+                SchedulerTelemetry.this.schedulerErrorsCounter.increment();
+            }
+        };
+    }
+
+    @Override
+    public String getName() {
+        return LISTENER_NAME;
+    }
+
+    @Override
+    public void triggerFired(Trigger trigger, JobExecutionContext context) {
+        this.runningJobs.incrementAndGet();
+        if (Objects.isNull(context.getScheduledFireTime())) {
+            return;
+        }
+        long scheduledFireTime = context.getScheduledFireTime().getTime();
+        this.fireLagTimer.record(Math.max(0L, System.currentTimeMillis() - scheduledFireTime), TimeUnit.MILLISECONDS);
+        this.acquisitionLagTimer.record(Math.max(0L, context.getFireTime().getTime() - scheduledFireTime), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public boolean vetoJobExecution(Trigger trigger, JobExecutionContext context) {
+        return false;
+    }
+
+    @Override
+    public void triggerMisfired(Trigger trigger) {
+        this.misfiresCounter.increment();
+        LOGGER.debug("triggerMisfired(): {}", trigger.getKey());
+    }
+
+    @Override
+    public void triggerComplete(Trigger trigger, JobExecutionContext context,
+                                Trigger.CompletedExecutionInstruction triggerInstructionCode) {
+        this.runningJobs.decrementAndGet();
+    }
+
+    public SchedulerStatsVO getStats() {
+        return new SchedulerStatsVO(this.schedulerName, this.getThreadPoolSize(), this.runningJobs.get(),
+                this.nextMinuteBacklog.get(), (long) this.misfiresCounter.count(), this.fireLagTimer.count(),
+                this.fireLagTimer.mean(TimeUnit.MILLISECONDS), this.fireLagTimer.max(TimeUnit.MILLISECONDS),
+                this.acquisitionLagTimer.mean(TimeUnit.MILLISECONDS), this.acquisitionLagTimer.max(TimeUnit.MILLISECONDS));
+    }
+
+    private int getThreadPoolSize() {
+        SchedulerRouter router = this.schedulerRouter.getIfAvailable();
+        if (Objects.isNull(router)) {
+            return 0;
+        }
+        int size = 0;
+        for (Scheduler scheduler : router.getSchedulers()) {
+            try {
+                if (scheduler.isStarted() && !scheduler.isInStandbyMode() && !scheduler.isShutdown()) {
+                    size += scheduler.getMetaData().getThreadPoolSize();
+                }
+            } catch (SchedulerException e) {
+                LOGGER.warn("Cannot read the Scheduler metadata: {}", e.getMessage());
+            }
+        }
+        return size;
+    }
+
+    private void refreshBacklog() {
+        JdbcTemplate template = this.jdbcTemplate.getIfAvailable();
+        if (Objects.isNull(template)) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        Long backlog = template.queryForObject(NEXT_MINUTE_BACKLOG_QUERY, Long.class,
+                this.schedulerName, this.schedulerName + JobsUtil.SHARD_SCHEDULER_SUFFIX + "%",
+                now, now + TimeUnit.MINUTES.toMillis(1));
+        this.nextMinuteBacklog.set(Objects.isNull(backlog) ? 0L : backlog);
+    }
+}
@@ -0,0 +1,217 @@
+package com.hiperium.city.tasks.api.job;
+
+import com.hiperium.city.tasks.api.config.QuartzConfig;
+import com.hiperium.city.tasks.api.repository.SchedulerNodeRepository;
+import com.hiperium.city.tasks.api.utils.EnvironmentUtil;
+import com.hiperium.city.tasks.api.utils.JobsUtil;
+import com.hiperium.city.tasks.api.utils.enums.ExecutionModeEnum;
+import com.hiperium.city.tasks.api.vo.SchedulerShardsVO;
+import jakarta.annotation.PreDestroy;
+import org.quartz.*;
+import org.quartz.impl.StdSchedulerFactory;
+import org.quartz.impl.matchers.GroupMatcher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.quartz.JobStoreType;
+import org.springframework.boot.autoconfigure.quartz.QuartzProperties;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.quartz.SpringBeanJobFactory;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.*;
+
+/**
+ * Partitions the Jobs across N clustered Quartz Schedulers, one per shard, with their own SCHED_NAME and
+ * QRTZ_LOCKS rows, so the nodes do not compete for the same Trigger lock. The shard of a Job is given by its ID.
+ * <p>
+ * Every node can schedule Jobs in any shard, but only starts the Schedulers of the shards it owns. The owners are
+ * computed with rendezvous hashing over the nodes with a recent heartbeat, so the shards are rebalanced when the
+ * nodes join or leave. A shard can run on two nodes for one heartbeat during a rebalance, which is safe because
+ * each shard is still a Quartz cluster.
+ */
+@Component
+@ConditionalOnExpression("${hiperium.city.tasks.scheduler.shards:1} > 1 and '${hiperium.city.tasks.scheduler.engine:QUARTZ}' != 'TIMING_WHEEL'")
+public class ShardedSchedulerRouter implements SchedulerRouter {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ShardedSchedulerRouter.class);
+    private static final String DATA_SOURCE_PROPERTY = StdSchedulerFactory.PROP_JOB_STORE_PREFIX + ".dataSource";
+
+    private final Scheduler legacyScheduler;
+    private final SchedulerNodeRepository schedulerNodeRepository;
+    private final reactor.core.scheduler.Scheduler blockingScheduler;
+    private final boolean waitForJobsToComplete;
+    private final long heartbeatSeconds;
+    private final long nodeTimeoutSeconds;
+    private final String nodeName = EnvironmentUtil.getNodeName();
+    private final List<Scheduler> shardSchedulers = new ArrayList<>();
+
+    private volatile List<String> liveNodes = List.of();
+    private volatile List<Integer> ownedShards = List.of();
+    private Disposable heartbeat;
+
+    public ShardedSchedulerRouter(Scheduler quartzScheduler, QuartzProperties quartzProperties,
+                                  ApplicationContext applicationContext, SchedulerTelemetry schedulerTelemetry,
+                                  SchedulerNodeRepository schedulerNodeRepository,
+                                  reactor.core.scheduler.Scheduler blockingScheduler,
+                                  @Value("${hiperium.city.tasks.execution.mode}") ExecutionModeEnum executionMode,
+                                  @Value("${hiperium.city.tasks.execution.virtual.quartz-max-concurrency}") int maxConcurrency,
+                                  @Value("${spring.quartz.scheduler-name:quartzScheduler}") String schedulerName,
+                                  @Value("${hiperium.city.tasks.scheduler.shards}") int shards,
+                                  @Value("${hiperium.city.tasks.scheduler.heartbeat-seconds}") long heartbeatSeconds,
+                                  @Value("${hiperium.city.tasks.scheduler.node-timeout-seconds}") long nodeTimeoutSeconds)
+            throws SchedulerException {
+        if (quartzProperties.getJobStoreType() != JobStoreType.JDBC) {
+            throw new IllegalStateException("The scheduler shards require the JDBC Job Store.");
+        }
+        this.legacyScheduler = quartzScheduler;
+        this.schedulerNodeRepository = schedulerNodeRepository;
+        this.blockingScheduler = blockingScheduler;
+        this.waitForJobsToComplete = quartzProperties.isWaitForJobsToCompleteOnShutdown();
+        this.heartbeatSeconds = heartbeatSeconds;
+        this.nodeTimeoutSeconds = nodeTimeoutSeconds;
+        SpringBeanJobFactory jobFactory = new SpringBeanJobFactory();
+        jobFactory.setApplicationContext(applicationContext);
+        for (int shard = 0; shard < shards; shard++) {
+            Properties properties = QuartzConfig.getQuartzProperties(quartzProperties, executionMode, maxConcurrency);
+            String shardName = JobsUtil.getShardSchedulerName(schedulerName, shard);
+            properties.setProperty(StdSchedulerFactory.PROP_SCHED_INSTANCE_NAME, shardName);
+            setShardDataSource(properties, shardName);
+            properties.setProperty(StdSchedulerFactory.PROP_SCHED_INSTANCE_ID, StdSchedulerFactory.AUTO_GENERATE_INSTANCE_ID);
+            Scheduler scheduler = new StdSchedulerFactory(properties).getScheduler();
+            scheduler.setJobFactory(jobFactory);
+            scheduler.getListenerManager().addTriggerListener(schedulerTelemetry);
+            scheduler.getListenerManager().addSchedulerListener(schedulerTelemetry.getSchedulerListener());
+            this.shardSchedulers.add(scheduler);
+        }
+    }
+
+    @Override
+    public Scheduler getScheduler(String jobId) {
+        return this.shardSchedulers.get(JobsUtil.getShard(jobId, this.shardSchedulers.size()));
+    }
+
+    @Override
+    public List<Scheduler> getSchedulers() {
+        return Collections.unmodifiableList(this.shardSchedulers);
+    }
+
+    @Override
+    public SchedulerShardsVO getShardsStats() {
+        return new SchedulerShardsVO(this.nodeName, this.shardSchedulers.size(), this.ownedShards, this.liveNodes);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        LOGGER.info("Starting the scheduler shards heartbeat for node: {}", this.nodeName);
+        this.moveLegacyJobs();
+        this.heartbeat = Flux.interval(Duration.ZERO, Duration.ofSeconds(this.heartbeatSeconds))
+                .onBackpressureDrop()
+                .concatMap(tick -> Mono.fromRunnable(this::rebalance)
+                        .subscribeOn(this.blockingScheduler)
+                        .onErrorResume(error -> {
+                            LOGGER.warn("Cannot rebalance the scheduler shards: {}", error.getMessage());
+                            return Mono.empty();
+                        }))
+                .subscribe();
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (Objects.nonNull(this.heartbeat)) {
+            this.heartbeat.dispose();
+        }
+        for (Scheduler scheduler : this.shardSchedulers) {
+            try {
+                scheduler.shutdown(this.waitForJobsToComplete);
+            } catch (SchedulerException e) {
+                LOGGER.error("Cannot shut down the Scheduler shard: {}", e.getMessage());
+            }
+        }
+        try {
+            this.schedulerNodeRepository.delete(this.nodeName);
+        } catch (RuntimeException e) {
+            LOGGER.warn("Cannot delete the heartbeat of node {}: {}", this.nodeName, e.getMessage());
+        }
+    }
+
+    private void rebalance() {
+        this.schedulerNodeRepository.heartbeat(this.nodeName);
+        List<String> nodes = this.schedulerNodeRepository.findLiveNodes(this.nodeTimeoutSeconds);
+        if (!nodes.contains(this.nodeName)) {
+            nodes = new ArrayList<>(nodes);
+            nodes.add(this.nodeName);
+        }
+        List<Integer> shards = new ArrayList<>();
+        for (int shard = 0; shard < this.shardSchedulers.size(); shard++) {
+            Scheduler scheduler = this.shardSchedulers.get(shard);
+            try {
+                if (this.nodeName.equals(JobsUtil.getShardOwner(shard, nodes))) {
+                    shards.add(shard);
+                    if (!scheduler.isStarted() || scheduler.isInStandbyMode()) {
+                        LOGGER.info("Starting the Scheduler shard: {}", scheduler.getSchedulerName());
+                        scheduler.start();
+                    }
+                } else if (scheduler.isStarted() && !scheduler.isInStandbyMode()) {
+                    LOGGER.info("Releasing the Scheduler shard: {}", scheduler.getSchedulerName());
+                    scheduler.standby();
+                }
+            } catch (SchedulerException e) {
+                LOGGER.error("Cannot rebalance the Scheduler shard {}: {}", shard, e.getMessage());
+            }
+        }
+        this.liveNodes = List.copyOf(nodes);
+        this.ownedShards = List.copyOf(shards);
+    }
+
+    /**
+     * Quartz keeps the connection pools in a singleton by data source name, so every shard needs its own name.
+     */
+    private static void setShardDataSource(Properties properties, String shardName) {
+        String dataSourceName = properties.getProperty(DATA_SOURCE_PROPERTY);
+        if (Objects.isNull(dataSourceName)) {
+            return;
+        }
+        String shardDataSourceName = dataSourceName + "_" + shardName;
+        String prefix = StdSchedulerFactory.PROP_DATASOURCE_PREFIX + "." + dataSourceName + ".";
+        for (String name : properties.stringPropertyNames()) {
+            if (name.startsWith(prefix)) {
+                properties.setProperty(StdSchedulerFactory.PROP_DATASOURCE_PREFIX + "." + shardDataSourceName + "."
+                        + name.substring(prefix.length()), properties.getProperty(name));
+                properties.remove(name);
+            }
+        }
+        properties.setProperty(DATA_SOURCE_PROPERTY, shardDataSourceName);
+    }
+
+    /**
+     * Moves the Jobs scheduled before the shards were enabled to their shards. Every node runs it, so the Jobs
+     * are replaced in the shard before they are deleted from the legacy Scheduler.
+     */
+    private void moveLegacyJobs() {
+        try {
+            // Task Jobs, and shared schedule Jobs.
+            Set<JobKey> jobKeys = this.legacyScheduler.getJobKeys(GroupMatcher.anyJobGroup());
+            for (JobKey jobKey : jobKeys) {
+                JobDetail jobDetail = this.legacyScheduler.getJobDetail(jobKey);
+                List<? extends Trigger> triggers = this.legacyScheduler.getTriggersOfJob(jobKey);
+                if (Objects.nonNull(jobDetail) && !triggers.isEmpty()) {
+                    this.getScheduler(jobKey.getName()).scheduleJob(jobDetail, new HashSet<>(triggers), true);
+                }
+                this.legacyScheduler.deleteJob(jobKey);
+            }
+            if (!jobKeys.isEmpty()) {
+                LOGGER.info("Moved {} Jobs to the scheduler shards.", jobKeys.size());
+            }
+        } catch (SchedulerException e) {
+            LOGGER.error("Cannot move the Jobs to the scheduler shards: {}", e.getMessage());
+        }
+    }
+}
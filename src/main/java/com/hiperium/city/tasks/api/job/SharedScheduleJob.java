@@ -0,0 +1,92 @@
+package com.hiperium.city.tasks.api.job;
+
+import com.hiperium.city.tasks.api.model.Task;
+import com.hiperium.city.tasks.api.model.TaskExecution;
+import com.hiperium.city.tasks.api.repository.TaskScheduleRepository;
+import com.hiperium.city.tasks.api.utils.JobsUtil;
+import org.quartz.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Fan-out Job of a shared Trigger: dispatches every Task with the schedule of the Trigger. The Tasks are found when
+ * the Job fires, so creating, updating or deleting a Task does not change the Job. A Job without Tasks to fire
+ * deletes itself, unless it was scheduled again recently by a Task that may not be stored yet.
+ */
+@Component
+@DisallowConcurrentExecution
+public class SharedScheduleJob implements Job {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SharedScheduleJob.class);
+    private static final long UNUSED_JOB_GRACE_MILLIS = Duration.ofHours(1).toMillis();
+
+    private final TaskDispatcher taskDispatcher;
+    private final TaskScheduleRepository taskScheduleRepository;
+    private final ZoneId zoneId;
+
+    public SharedScheduleJob(TaskDispatcher taskDispatcher, TaskScheduleRepository taskScheduleRepository,
+                             @Value("${hiperium.city.tasks.time.zone.id}") String zoneId) {
+        this.taskDispatcher = taskDispatcher;
+        this.taskScheduleRepository = taskScheduleRepository;
+        this.zoneId = ZoneId.of(zoneId);
+    }
+
+    @Override
+    public void execute(JobExecutionContext context) throws JobExecutionException {
+        LOGGER.debug("execute() - START: {}", context.getJobDetail().getKey().getName());
+        final JobDataMap jobDataMap = context.getMergedJobDataMap();
+        final List<Task> tasks = this.taskScheduleRepository.findBySchedule(
+                jobDataMap.getIntValueFromString(JobsUtil.SCHEDULE_HOUR_DATA_KEY),
+                jobDataMap.getIntValueFromString(JobsUtil.SCHEDULE_MINUTE_DATA_KEY),
+                jobDataMap.getIntValueFromString(JobsUtil.SCHEDULE_DAYS_MASK_DATA_KEY));
+        final long scheduledMillis = context.getScheduledFireTime().getTime();
+        final long now = System.currentTimeMillis();
+        final ZonedDateTime scheduledFireTime = JobsUtil.toZonedDateTime(context.getScheduledFireTime());
+        final ZonedDateTime fireTime = JobsUtil.toZonedDateTime(context.getFireTime());
+        boolean firesAgain = false;
+        int dispatched = 0;
+        int rejected = 0;
+        for (Task task : tasks) {
+            long executeUntilMillis = JobsUtil.getExecuteUntilMillis(task.getExecuteUntil(), this.zoneId);
+            firesAgain |= executeUntilMillis > now;
+            if (executeUntilMillis < scheduledMillis) {
+                continue;
+            }
+            if (this.taskDispatcher.dispatch(new TaskExecution(task.getJobId(), scheduledFireTime, fireTime), task)) {
+                dispatched++;
+            } else {
+                rejected++;
+            }
+        }
+        LOGGER.debug("execute() - Dispatched {} Tasks.", dispatched);
+        if (!firesAgain) {
+            this.deleteUnusedJob(context, now);
+        }
+        if (rejected > 0) {
+            throw new JobExecutionException("Task dispatcher is saturated. Tasks not dispatched: " + rejected);
+        }
+    }
+
+    private void deleteUnusedJob(JobExecutionContext context, long now) {
+        final JobKey jobKey = context.getJobDetail().getKey();
+        try {
+            JobDetail jobDetail = context.getScheduler().getJobDetail(jobKey);
+            if (Objects.isNull(jobDetail) || now - Long.parseLong(jobDetail.getJobDataMap()
+                    .getString(JobsUtil.SCHEDULE_UPDATED_AT_DATA_KEY)) < UNUSED_JOB_GRACE_MILLIS) {
+                return;
+            }
+            context.getScheduler().deleteJob(jobKey);
+            LOGGER.info("Deleted the shared schedule Job without Tasks: {}", jobKey.getName());
+        } catch (SchedulerException | NumberFormatException e) {
+            LOGGER.warn("Cannot delete the shared schedule Job {}: {}", jobKey.getName(), e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.hiperium.city.tasks.api.job;
+
+import com.hiperium.city.tasks.api.exception.TaskScheduleException;
+import com.hiperium.city.tasks.api.model.Task;
+import com.hiperium.city.tasks.api.repository.TaskScheduleRepository;
+import com.hiperium.city.tasks.api.utils.JobsUtil;
+import org.quartz.*;
+import org.quartz.impl.matchers.GroupMatcher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.ZoneId;
+import java.util.*;
+
+/**
+ * Schedules one Quartz Job and Trigger per distinct execution time and days, shared by all the Tasks with that
+ * schedule. The {@link SharedScheduleJob} finds the Tasks of the schedule when it fires, so the Tasks table is the
+ * only record of the membership, and deleting a Task does not touch Quartz.
+ */
+@Component
+@ConditionalOnProperty(name = "hiperium.city.tasks.scheduler.engine", havingValue = "QUARTZ_SHARED_TRIGGERS")
+public class SharedTriggerSchedulingEngine implements TaskSchedulingEngine {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SharedTriggerSchedulingEngine.class);
+
+    private final SchedulerRouter schedulerRouter;
+    private final TaskScheduleRepository taskScheduleRepository;
+    private final String zoneId;
+
+    public SharedTriggerSchedulingEngine(SchedulerRouter schedulerRouter, TaskScheduleRepository taskScheduleRepository,
+                                         @Value("${hiperium.city.tasks.time.zone.id}") String zoneId) {
+        this.schedulerRouter = schedulerRouter;
+        this.taskScheduleRepository = taskScheduleRepository;
+        this.zoneId = zoneId;
+    }
+
+    /**
+     * The shared Job is replaced to renew its update time, so it is not deleted before the Task is stored.
+     */
+    @Override
+    public void schedule(Task task) {
+        this.scheduleSharedJobs(List.of(task));
+    }
+
+    @Override
+    public void scheduleAll(List<Task> tasks) {
+        this.scheduleSharedJobs(tasks);
+    }
+
+    /**
+     * The shared Job is replaced even when the schedule did not change, because it may have deleted itself while
+     * every Task of the schedule was expired.
+     */
+    @Override
+    public void reschedule(Task actualTask, Task task) {
+        this.scheduleSharedJobs(List.of(task));
+    }
+
+    /**
+     * The shared Job of the Task deletes itself when it fires without Tasks.
+     */
+    @Override
+    public void unschedule(Task task) {
+        LOGGER.debug("Task {} removed from the shared schedule: {}", task.getId(),
+                JobsUtil.getScheduleKey(task.getHour(), task.getMinute(), task.getExecutionDaysMask()));
+    }
+
+    @Override
+    public long restore(List<Task> tasks) {
+        final long now = System.currentTimeMillis();
+        final ZoneId zone = ZoneId.of(this.zoneId);
+        List<Task> activeTasks = tasks.stream()
+                .filter(task -> JobsUtil.getExecuteUntilMillis(task.getExecuteUntil(), zone) > now)
+                .toList();
+        this.scheduleSharedJobs(activeTasks);
+        return activeTasks.size();
+    }
+
+    /**
+     * Replaces the Jobs of every Task by the shared Jobs of their schedules. The Jobs of the shared schedules are
+     * created before the Task Jobs are deleted, so no fire is lost if the node stops in between.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void moveTaskJobs() {
+        try {
+            boolean sharedJobsCreated = false;
+            for (Scheduler scheduler : this.schedulerRouter.getSchedulers()) {
+                Set<JobKey> jobKeys = scheduler.getJobKeys(GroupMatcher.jobGroupEquals(JobsUtil.TASK_GROUP_NAME));
+                if (jobKeys.isEmpty()) {
+                    continue;
+                }
+                if (!sharedJobsCreated) {
+                    this.scheduleSharedJobs(this.taskScheduleRepository.findSchedules());
+                    sharedJobsCreated = true;
+                }
+                scheduler.deleteJobs(new ArrayList<>(jobKeys));
+                LOGGER.info("Replaced {} Task Jobs by shared schedule Jobs.", jobKeys.size());
+            }
+        } catch (SchedulerException e) {
+            LOGGER.error("Cannot replace the Task Jobs by shared schedule Jobs: {}", e.getMessage());
+        }
+    }
+
+    private void scheduleSharedJobs(List<Task> tasks) {
+        // One Job per distinct schedule, and one call per Scheduler shard.
+        Map<String, Task> tasksBySchedule = new LinkedHashMap<>();
+        for (Task task : tasks) {
+            tasksBySchedule.putIfAbsent(JobsUtil.getScheduleKey(task.getHour(), task.getMinute(),
+                    task.getExecutionDaysMask()), task);
+        }
+        Map<Scheduler, Map<JobDetail, Set<? extends Trigger>>> shardsTriggersAndJobs = new LinkedHashMap<>();
+        tasksBySchedule.forEach((scheduleKey, task) -> shardsTriggersAndJobs
+                .computeIfAbsent(this.schedulerRouter.getScheduler(scheduleKey), scheduler -> new LinkedHashMap<>())
+                .put(JobsUtil.createSharedJobDetailFromTask(task),
+                        Set.of(JobsUtil.createSharedCronTriggerFromTask(task, this.zoneId))));
+        try {
+            for (Map.Entry<Scheduler, Map<JobDetail, Set<? extends Trigger>>> entry : shardsTriggersAndJobs.entrySet()) {
+                entry.getKey().scheduleJobs(entry.getValue(), true);
+            }
+        } catch (SchedulerException e) {
+            throw new TaskScheduleException(e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.hiperium.city.tasks.api.job;
+
+import com.hiperium.city.tasks.api.vo.SchedulerShardsVO;
+import org.quartz.Scheduler;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+@ConditionalOnExpression("${hiperium.city.tasks.scheduler.shards:1} <= 1 or '${hiperium.city.tasks.scheduler.engine:QUARTZ}' == 'TIMING_WHEEL'")
+public class SingleSchedulerRouter implements SchedulerRouter {
+
+    private final Scheduler quartzScheduler;
+
+    public SingleSchedulerRouter(Scheduler quartzScheduler) {
+        this.quartzScheduler = quartzScheduler;
+    }
+
+    @Override
+    public Scheduler getScheduler(String jobId) {
+        return this.quartzScheduler;
+    }
+
+    @Override
+    public List<Scheduler> getSchedulers() {
+        return List.of(this.quartzScheduler);
+    }
+
+    @Override
+    public SchedulerShardsVO getShardsStats() {
+        return new SchedulerShardsVO(null, 1, List.of(0), List.of());
+    }
+}
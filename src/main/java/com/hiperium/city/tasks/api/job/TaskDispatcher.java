@@ -0,0 +1,257 @@
+package com.hiperium.city.tasks.api.job;
+
+import com.hiperium.city.tasks.api.exception.ResourceNotFoundException;
+import com.hiperium.city.tasks.api.exception.TaskScheduleException;
+import com.hiperium.city.tasks.api.model.Task;
+import com.hiperium.city.tasks.api.model.TaskExecution;
+import com.hiperium.city.tasks.api.repository.DeviceRepository;
+import com.hiperium.city.tasks.api.repository.ReactiveTaskRepository;
+import com.hiperium.city.tasks.api.repository.TaskExecutionWriter;
+import com.hiperium.city.tasks.api.utils.JobsUtil;
+import com.hiperium.city.tasks.api.utils.TasksUtil;
+import com.hiperium.city.tasks.api.utils.enums.DeviceUpdateResultEnum;
+import com.hiperium.city.tasks.api.utils.enums.DispatchModeEnum;
+import com.hiperium.city.tasks.api.utils.enums.ExecutionOutcomeEnum;
+import com.hiperium.city.tasks.api.vo.DispatcherStatsVO;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Executes the Task fires received from the Quartz Jobs with a maximum concurrency. Fires waiting for a free slot
+ * are bounded by the queue capacity: when the queue is full, the Quartz worker threads block in {@link #dispatch},
+ * so the Scheduler stops acquiring new Triggers until the pipeline catches up.
+ * <p>
+ * In SPREAD mode, the fires waiting for their jittered fire time are bounded separately by the maximum of delayed
+ * fires, so a fire storm spread over the jitter window does not fill the queue while the fires are only waiting.
+ */
+@Component
+public class TaskDispatcher {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TaskDispatcher.class);
+    private static final long STOP_TIMEOUT_MILLIS = 30_000L;
+
+    private final ReactiveTaskRepository taskRepository;
+    private final DeviceRepository deviceRepository;
+    private final DeviceUpdateRateLimiter rateLimiter;
+    private final TaskExecutionWriter taskExecutionWriter;
+    private final DispatchModeEnum dispatchMode;
+    private final long jitterWindowMillis;
+    private final int maxConcurrency;
+    private final int queueCapacity;
+    private final int maxDelayedFires;
+    private final long offerTimeoutMillis;
+    private final Semaphore permits;
+    private final Semaphore delayedPermits;
+
+    private final AtomicLong delayed = new AtomicLong();
+    private final AtomicLong queued = new AtomicLong();
+    private final AtomicLong inFlight = new AtomicLong();
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+
+    private FluxSink<TaskFire> sink;
+    private Disposable pipeline;
+    private volatile boolean accepting = true;
+
+    public TaskDispatcher(ReactiveTaskRepository taskRepository, DeviceRepository deviceRepository,
+                          DeviceUpdateRateLimiter rateLimiter, TaskExecutionWriter taskExecutionWriter,
+                          @Value("${hiperium.city.tasks.dispatch.mode}") DispatchModeEnum dispatchMode,
+                          @Value("${hiperium.city.tasks.dispatch.jitter-window-millis}") long jitterWindowMillis,
+                          @Value("${hiperium.city.tasks.dispatch.max-concurrency}") int maxConcurrency,
+                          @Value("${hiperium.city.tasks.dispatch.queue-capacity}") int queueCapacity,
+                          @Value("${hiperium.city.tasks.dispatch.max-delayed-fires}") int maxDelayedFires,
+                          @Value("${hiperium.city.tasks.dispatch.offer-timeout-millis}") long offerTimeoutMillis) {
+        this.taskRepository = taskRepository;
+        this.deviceRepository = deviceRepository;
+        this.rateLimiter = rateLimiter;
+        this.taskExecutionWriter = taskExecutionWriter;
+        this.dispatchMode = dispatchMode;
+        this.jitterWindowMillis = jitterWindowMillis;
+        this.maxConcurrency = maxConcurrency;
+        this.queueCapacity = queueCapacity;
+        this.maxDelayedFires = maxDelayedFires;
+        this.offerTimeoutMillis = offerTimeoutMillis;
+        this.permits = new Semaphore(queueCapacity + maxConcurrency);
+        this.delayedPermits = new Semaphore(maxDelayedFires);
+    }
+
+    @PostConstruct
+    public void start() {
+        this.pipeline = Flux.<TaskFire>create(fluxSink -> this.sink = fluxSink)
+                .flatMap(this::process, this.maxConcurrency)
+                .subscribe();
+    }
+
+    /**
+     * Stops accepting fires, and gives the queued and delayed fires a chance to complete before the repositories are
+     * closed. The pipeline is completed only then, so the delayed fires are not emitted into a completed sink.
+     */
+    @PreDestroy
+    public void stop() {
+        this.accepting = false;
+        final long timeoutMillis = this.dispatchMode == DispatchModeEnum.SPREAD
+                ? STOP_TIMEOUT_MILLIS + this.jitterWindowMillis : STOP_TIMEOUT_MILLIS;
+        final long deadline = System.currentTimeMillis() + timeoutMillis;
+        try {
+            if (!this.permits.tryAcquire(this.queueCapacity + this.maxConcurrency, timeoutMillis, TimeUnit.MILLISECONDS)
+                    || !this.delayedPermits.tryAcquire(this.maxDelayedFires,
+                    Math.max(0L, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS)) {
+                LOGGER.warn("Task dispatcher stopped with {} fires in progress.",
+                        this.delayed.get() + this.queued.get() + this.inFlight.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        this.sink.complete();
+        this.pipeline.dispose();
+    }
+
+    /**
+     * Enqueues a Task fire, blocking the caller while the queue, or the delayed fires in SPREAD mode, are full.
+     *
+     * @param execution the execution record of the fire, with the Job ID and the fire times.
+     * @param task      the Task snapshot stored in the Job, or null to find the Task by its Job ID.
+     * @return FALSE if the queue stayed full during the offer timeout, or the dispatcher is stopping.
+     */
+    public boolean dispatch(TaskExecution execution, Task task) {
+        final String jobId = execution.getJobId();
+        final long delayMillis = this.dispatchMode == DispatchModeEnum.SPREAD ? this.getSpreadDelayMillis(execution) : 0L;
+        // Delayed fires hold a delayed permit until they complete, and take neither a queue permit nor a concurrency
+        // slot while waiting. The fires of the sink buffer are then bounded by both limits.
+        final Semaphore firePermits = delayMillis > 0L ? this.delayedPermits : this.permits;
+        try {
+            if (!this.accepting || !firePermits.tryAcquire(this.offerTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                this.rejected.incrementAndGet();
+                return false;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            this.rejected.incrementAndGet();
+            return false;
+        }
+        // The dispatcher started to stop while the caller was waiting for the permit.
+        if (!this.accepting) {
+            firePermits.release();
+            this.rejected.incrementAndGet();
+            return false;
+        }
+        TaskFire taskFire = new TaskFire(execution, task, firePermits);
+        if (delayMillis > 0L) {
+            LOGGER.debug("dispatch() - Delaying Job {} by {} ms.", jobId, delayMillis);
+            this.delayed.incrementAndGet();
+            Mono.delay(Duration.ofMillis(delayMillis)).subscribe(tick -> {
+                this.delayed.decrementAndGet();
+                this.queued.incrementAndGet();
+                this.sink.next(taskFire);
+            });
+        } else {
+            this.queued.incrementAndGet();
+            this.sink.next(taskFire);
+        }
+        return true;
+    }
+
+    public DispatcherStatsVO getStats() {
+        return new DispatcherStatsVO(this.maxConcurrency, this.queueCapacity, this.maxDelayedFires, this.delayed.get(),
+                this.queued.get(), this.inFlight.get(), this.completed.get(), this.failed.get(), this.rejected.get());
+    }
+
+    private long getSpreadDelayMillis(TaskExecution execution) {
+        final long nowMillis = System.currentTimeMillis();
+        final long scheduledFireMillis = Objects.isNull(execution.getScheduledFireTime())
+                ? nowMillis : execution.getScheduledFireTime().toInstant().toEpochMilli();
+        return JobsUtil.getSpreadDelayMillis(execution.getJobId(), this.jitterWindowMillis, scheduledFireMillis, nowMillis);
+    }
+
+    private Mono<Void> process(TaskFire taskFire) {
+        final TaskExecution execution = taskFire.execution();
+        return Mono.defer(() -> {
+                    this.queued.decrementAndGet();
+                    this.inFlight.incrementAndGet();
+                    final long start = System.nanoTime();
+                    return this.execute(taskFire)
+                            .doOnTerminate(() -> execution.setTotalMicros(TasksUtil.elapsedMicros(start)));
+                })
+                .then(Mono.fromRunnable(() -> this.complete(taskFire, null)))
+                .onErrorResume(error -> Mono.fromRunnable(() -> this.complete(taskFire, error)))
+                .then();
+    }
+
+    private void complete(TaskFire taskFire, Throwable error) {
+        final TaskExecution execution = taskFire.execution();
+        if (Objects.isNull(error)) {
+            LOGGER.debug("complete() - Job executed successfully: {}", execution.getJobId());
+        } else {
+            LOGGER.error("complete() - Error executing Job {}: {}", execution.getJobId(), error.getMessage());
+            if (Objects.isNull(execution.getOutcome())) {
+                execution.setOutcome(error instanceof ResourceNotFoundException
+                        ? ExecutionOutcomeEnum.DEVICE_NOT_FOUND : ExecutionOutcomeEnum.ERROR);
+            }
+            execution.setErrorMessage(error.getMessage());
+        }
+        this.taskExecutionWriter.record(execution);
+        this.inFlight.decrementAndGet();
+        taskFire.permits().release();
+        if (Objects.isNull(error)) {
+            this.completed.incrementAndGet();
+        } else {
+            this.failed.incrementAndGet();
+        }
+    }
+
+    private Mono<Void> execute(TaskFire taskFire) {
+        final TaskExecution execution = taskFire.execution();
+        return Mono.justOrEmpty(taskFire.task())
+                .switchIfEmpty(Mono.defer(() -> {
+                    LOGGER.debug("execute() - No Task data found in the Job. Finding Task by Job ID: {}", execution.getJobId());
+                    final long start = System.nanoTime();
+                    return this.taskRepository.findByJobId(execution.getJobId())
+                            .doOnTerminate(() -> execution.setTaskLookupMicros(TasksUtil.elapsedMicros(start)));
+                }))
+                .switchIfEmpty(Mono.error(() -> {
+                    execution.setOutcome(ExecutionOutcomeEnum.TASK_NOT_FOUND);
+                    return new ResourceNotFoundException("Task not found with Job ID: " + execution.getJobId() + ".");
+                }))
+                .doOnNext(task -> {
+                    execution.setTaskId(task.getId());
+                    execution.setDeviceId(task.getDeviceId());
+                    execution.setDeviceAction(task.getDeviceAction());
+                })
+                .delayUntil(task -> this.dispatchMode == DispatchModeEnum.SPREAD ? this.rateLimiter.acquire()
+                        .doOnError(error -> execution.setOutcome(ExecutionOutcomeEnum.RATE_LIMITED)) : Mono.empty())
+                .flatMap(task -> this.deviceRepository.updateStatusByTask(task, execution))
+                .doOnNext(result -> execution.setOutcome(ExecutionOutcomeEnum.valueOf(result.name())))
+                .flatMap(this::validateDeviceUpdate);
+    }
+
+    private Mono<Void> validateDeviceUpdate(DeviceUpdateResultEnum result) {
+        if (result == DeviceUpdateResultEnum.FAILED) {
+            return Mono.error(new TaskScheduleException("Device Status was not updated."));
+        }
+        if (result == DeviceUpdateResultEnum.UNCHANGED) {
+            LOGGER.debug("validateDeviceUpdate() - Device was already in the requested status.");
+        }
+        return Mono.empty();
+    }
+
+    private record TaskFire(TaskExecution execution, Task task, Semaphore permits) {
+        private TaskFire {
+            Objects.requireNonNull(execution.getJobId());
+        }
+    }
+}
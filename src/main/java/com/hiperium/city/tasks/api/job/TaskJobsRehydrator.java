@@ -0,0 +1,37 @@
+package com.hiperium.city.tasks.api.job;
+
+import com.hiperium.city.tasks.api.service.TaskService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rebuilds the Jobs and Triggers of the RAM Job Store from the Tasks table when the application starts.
+ */
+@Component
+@ConditionalOnProperty(name = "spring.quartz.job-store-type", havingValue = "memory")
+public class TaskJobsRehydrator {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TaskJobsRehydrator.class);
+
+    private final TaskService taskService;
+
+    public TaskJobsRehydrator(TaskService taskService) {
+        this.taskService = taskService;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rehydrate() {
+        LOGGER.info("Rebuilding the Quartz Jobs from the Tasks table...");
+        long start = System.nanoTime();
+        Long scheduledJobs = this.taskService.rehydrateJobs().block(Duration.ofMinutes(10));
+        LOGGER.info("Rebuilt {} Quartz Jobs in {} ms.", scheduledJobs,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+}
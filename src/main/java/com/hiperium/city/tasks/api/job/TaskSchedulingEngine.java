@@ -0,0 +1,28 @@
+package com.hiperium.city.tasks.api.job;
+
+import com.hiperium.city.tasks.api.model.Task;
+
+import java.util.List;
+
+/**
+ * Schedules the weekly executions of the Tasks. The Tasks must have a Job ID.
+ */
+public interface TaskSchedulingEngine {
+
+    void schedule(Task task);
+
+    /**
+     * Schedules new Tasks with as few calls as possible.
+     */
+    void scheduleAll(List<Task> tasks);
+
+    void reschedule(Task actualTask, Task task);
+
+    void unschedule(Task task);
+
+    /**
+     * Schedules again stored Tasks, replacing their current schedules. Tasks that will never run again are skipped.
+     * Returns the number of scheduled Tasks.
+     */
+    long restore(List<Task> tasks);
+}
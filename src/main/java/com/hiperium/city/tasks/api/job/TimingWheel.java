@@ -0,0 +1,221 @@
+package com.hiperium.city.tasks.api.job;
+
+import com.hiperium.city.tasks.api.model.Task;
+import com.hiperium.city.tasks.api.utils.enums.DaysEnum;
+
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * Hashed timing wheel with one bucket per minute of the week. A Task is added to the bucket of each of its
+ * execution days, so finding the Tasks to fire is a single array lookup per minute, whatever the number of Tasks.
+ * <p>
+ * The entries only keep the data needed to fire the Task, and the device IDs and actions are shared between
+ * entries, to keep the heap used per Task in the low hundreds of bytes.
+ */
+public final class TimingWheel {
+
+    public static final int MINUTES_PER_DAY = 24 * 60;
+    public static final int MINUTES_PER_WEEK = 7 * MINUTES_PER_DAY;
+
+    private static final Entry[] NO_ENTRIES = new Entry[0];
+
+    private final Bucket[] buckets = new Bucket[MINUTES_PER_WEEK];
+    private final Map<String, Entry> entriesByJobId = new ConcurrentHashMap<>();
+    private final Map<String, String> sharedValues = new ConcurrentHashMap<>();
+
+    public TimingWheel() {
+        for (int i = 0; i < MINUTES_PER_WEEK; i++) {
+            this.buckets[i] = new Bucket();
+        }
+    }
+
+    /**
+     * The week starts on Monday, like the Task execution days.
+     */
+    public static int getMinuteOfWeek(ZonedDateTime dateTime) {
+        return (dateTime.getDayOfWeek().getValue() - 1) * MINUTES_PER_DAY + dateTime.getHour() * 60 + dateTime.getMinute();
+    }
+
+    public static int getMinuteOfWeek(DaysEnum day, int hour, int minute) {
+        return day.ordinal() * MINUTES_PER_DAY + hour * 60 + minute;
+    }
+
+    public static void validateSchedule(int hour, int minute, int executionDaysMask) {
+        if (hour < 0 || hour > 23 || minute < 0 || minute > 59) {
+            throw new IllegalArgumentException("Invalid execution time: " + hour + ":" + minute + ".");
+        }
+        if (executionDaysMask <= 0 || executionDaysMask > DaysEnum.ALL_DAYS_MASK) {
+            throw new IllegalArgumentException("You must specify at least one day of week.");
+        }
+    }
+
+    /**
+     * Adds the Task to the buckets of its execution days, replacing the previous schedule of the same Job ID.
+     */
+    public void add(String jobId, String deviceId, String deviceAction, long executeUntilMillis,
+                    int hour, int minute, int executionDaysMask) {
+        validateSchedule(hour, minute, executionDaysMask);
+        final Entry entry = new Entry(jobId, this.share(deviceId), this.share(deviceAction), executeUntilMillis,
+                hour * 60 + minute, executionDaysMask);
+        this.entriesByJobId.compute(jobId, (key, previous) -> {
+            if (Objects.nonNull(previous)) {
+                this.removeFromBuckets(previous);
+            }
+            this.addToBuckets(entry);
+            return entry;
+        });
+    }
+
+    public boolean remove(String jobId) {
+        final boolean[] removed = new boolean[1];
+        this.entriesByJobId.computeIfPresent(jobId, (key, previous) -> {
+            this.removeFromBuckets(previous);
+            removed[0] = true;
+            return null;
+        });
+        return removed[0];
+    }
+
+    /**
+     * Removes the Tasks that match the filter. Used when the partitions of the Tasks are released, so each
+     * affected bucket is rebuilt in a single pass instead of scanning it once per removed entry.
+     */
+    public void removeIf(Predicate<Entry> filter) {
+        final Set<Entry> removed = Collections.newSetFromMap(new IdentityHashMap<>());
+        final BitSet affectedBuckets = new BitSet(MINUTES_PER_WEEK);
+        for (Entry entry : this.entriesByJobId.values()) {
+            if (!filter.test(entry)) {
+                continue;
+            }
+            // An entry replaced by a concurrent add is already out of its buckets, so only this instance is removed.
+            this.entriesByJobId.computeIfPresent(entry.jobId(), (key, current) -> {
+                if (current == entry) {
+                    removed.add(entry);
+                    return null;
+                }
+                return current;
+            });
+            if (removed.contains(entry)) {
+                for (DaysEnum day : DaysEnum.values()) {
+                    if ((entry.executionDaysMask() & day.getMask()) != 0) {
+                        affectedBuckets.set(day.ordinal() * MINUTES_PER_DAY + entry.minuteOfDay());
+                    }
+                }
+            }
+        }
+        for (int i = affectedBuckets.nextSetBit(0); i >= 0; i = affectedBuckets.nextSetBit(i + 1)) {
+            this.buckets[i].removeAll(removed);
+        }
+    }
+
+    /**
+     * Returns a snapshot of the entries of the bucket, so the caller can fire them without holding its lock.
+     */
+    public Entry[] getEntries(int minuteOfWeek) {
+        return this.buckets[minuteOfWeek].snapshot();
+    }
+
+    /**
+     * Number of entries in the bucket, without copying them.
+     */
+    public int count(int minuteOfWeek) {
+        return this.buckets[minuteOfWeek].count();
+    }
+
+    /**
+     * Number of Tasks in the wheel.
+     */
+    public int size() {
+        return this.entriesByJobId.size();
+    }
+
+    private void addToBuckets(Entry entry) {
+        for (DaysEnum day : DaysEnum.values()) {
+            if ((entry.executionDaysMask() & day.getMask()) != 0) {
+                this.buckets[day.ordinal() * MINUTES_PER_DAY + entry.minuteOfDay()].add(entry);
+            }
+        }
+    }
+
+    private void removeFromBuckets(Entry entry) {
+        for (DaysEnum day : DaysEnum.values()) {
+            if ((entry.executionDaysMask() & day.getMask()) != 0) {
+                this.buckets[day.ordinal() * MINUTES_PER_DAY + entry.minuteOfDay()].remove(entry);
+            }
+        }
+    }
+
+    private String share(String value) {
+        return Objects.isNull(value) ? null : this.sharedValues.computeIfAbsent(value, key -> key);
+    }
+
+    public record Entry(String jobId, String deviceId, String deviceAction, long executeUntilMillis,
+                        int minuteOfDay, int executionDaysMask) {
+
+        /**
+         * Minimal Task for the dispatcher, that finds the Task by its Job ID when the device data is missing.
+         */
+        public Task toTask() {
+            if (Objects.isNull(this.deviceId) || Objects.isNull(this.deviceAction)) {
+                return null;
+            }
+            return Task.builder()
+                    .jobId(this.jobId)
+                    .deviceId(this.deviceId)
+                    .deviceAction(this.deviceAction)
+                    .build();
+        }
+    }
+
+    private static final class Bucket {
+
+        private Entry[] entries = NO_ENTRIES;
+        private int count;
+
+        synchronized void add(Entry entry) {
+            if (this.count == this.entries.length) {
+                this.entries = Arrays.copyOf(this.entries, Math.max(4, this.count + (this.count >> 1)));
+            }
+            this.entries[this.count++] = entry;
+        }
+
+        // The order of the entries does not matter, so the last entry takes the place of the removed one.
+        synchronized void remove(Entry entry) {
+            for (int i = 0; i < this.count; i++) {
+                if (this.entries[i] == entry) {
+                    this.entries[i] = this.entries[--this.count];
+                    this.entries[this.count] = null;
+                    return;
+                }
+            }
+        }
+
+        synchronized void removeAll(Set<Entry> removed) {
+            int kept = 0;
+            for (int i = 0; i < this.count; i++) {
+                if (!removed.contains(this.entries[i])) {
+                    this.entries[kept++] = this.entries[i];
+                }
+            }
+            Arrays.fill(this.entries, kept, this.count, null);
+            this.count = kept;
+        }
+
+        synchronized int count() {
+            return this.count;
+        }
+
+        synchronized Entry[] snapshot() {
+            return this.count == 0 ? NO_ENTRIES : Arrays.copyOf(this.entries, this.count);
+        }
+    }
+}
@@ -0,0 +1,477 @@
+package com.hiperium.city.tasks.api.job;
+
+import com.hiperium.city.tasks.api.model.Task;
+import com.hiperium.city.tasks.api.model.TaskExecution;
+import com.hiperium.city.tasks.api.repository.ReactiveTaskRepository;
+import com.hiperium.city.tasks.api.repository.SchedulerLeaseRepository;
+import com.hiperium.city.tasks.api.repository.SchedulerNodeRepository;
+import com.hiperium.city.tasks.api.repository.TaskScheduleRepository;
+import com.hiperium.city.tasks.api.utils.EnvironmentUtil;
+import com.hiperium.city.tasks.api.utils.JobsUtil;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fires the Tasks from a {@link TimingWheel} instead of Quartz. The Tasks are split in partitions by their Job ID,
+ * and every node loads from the Tasks table the partitions it holds a lease for, so each Task fires on one node.
+ * The nodes take a fair share of the partitions, computed from the nodes with a recent heartbeat.
+ * <p>
+ * A trigger on the Tasks table publishes the Job ID of every changed schedule with a PostgreSQL notification when
+ * the transaction commits, and the node that owns the partition of the Task reads it again. The owned partitions are
+ * loaded again when the notifications connection is lost, and the notifications received during a load are applied
+ * once it ends, so the load cannot add back a Task deleted in the meantime.
+ * <p>
+ * The ticker only takes the bucket of every minute, and a drainer thread dispatches its Tasks, so a saturated
+ * dispatcher delays the fires of the bucket but never the next ticks.
+ */
+@Component
+@ConditionalOnProperty(name = "hiperium.city.tasks.scheduler.engine", havingValue = "TIMING_WHEEL")
+public class TimingWheelSchedulingEngine implements TaskSchedulingEngine {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TimingWheelSchedulingEngine.class);
+    private static final long MINUTE_MILLIS = 60_000L;
+    private static final int MAX_CATCH_UP_MINUTES = 5;
+    private static final int LISTEN_TIMEOUT_MILLIS = 1000;
+    private static final long RECONNECT_DELAY_MILLIS = 5000L;
+
+    private final TimingWheel timingWheel = new TimingWheel();
+    private final TaskDispatcher taskDispatcher;
+    private final ReactiveTaskRepository taskRepository;
+    private final SchedulerLeaseRepository schedulerLeaseRepository;
+    private final SchedulerNodeRepository schedulerNodeRepository;
+    private final TaskScheduleRepository taskScheduleRepository;
+    private final DataSource dataSource;
+    private final reactor.core.scheduler.Scheduler blockingScheduler;
+    private final ZoneId zoneId;
+    private final int partitions;
+    private final int loadPageSize;
+    private final long leaseSeconds;
+    private final long heartbeatSeconds;
+    private final long nodeTimeoutSeconds;
+    private final String nodeName = EnvironmentUtil.getNodeName();
+    private final Timer fireLagTimer;
+    private final Counter skippedFiresCounter;
+    private final Counter rejectedFiresCounter;
+    private final Set<String> pendingJobIds = new HashSet<>();
+
+    private volatile Set<Integer> ownedPartitions = Set.of();
+    private volatile boolean running;
+    private long lastFiredMinute;
+    private int loadsInProgress;
+    private ScheduledExecutorService ticker;
+    private ExecutorService drainer;
+    private Thread listener;
+    private Disposable leaseRenewal;
+
+    public TimingWheelSchedulingEngine(TaskDispatcher taskDispatcher, ReactiveTaskRepository taskRepository,
+                                       SchedulerLeaseRepository schedulerLeaseRepository,
+                                       SchedulerNodeRepository schedulerNodeRepository,
+                                       TaskScheduleRepository taskScheduleRepository, DataSource dataSource,
+                                       reactor.core.scheduler.Scheduler blockingScheduler, MeterRegistry meterRegistry,
+                                       @Value("${hiperium.city.tasks.time.zone.id}") String zoneId,
+                                       @Value("${hiperium.city.tasks.scheduler.wheel.partitions}") int partitions,
+                                       @Value("${hiperium.city.tasks.scheduler.wheel.lease-seconds}") long leaseSeconds,
+                                       @Value("${hiperium.city.tasks.page.max-size}") int loadPageSize,
+                                       @Value("${hiperium.city.tasks.scheduler.heartbeat-seconds}") long heartbeatSeconds,
+                                       @Value("${hiperium.city.tasks.scheduler.node-timeout-seconds}") long nodeTimeoutSeconds) {
+        if (leaseSeconds <= heartbeatSeconds) {
+            throw new IllegalStateException("The timing wheel lease must be longer than the heartbeat interval.");
+        }
+        this.taskDispatcher = taskDispatcher;
+        this.taskRepository = taskRepository;
+        this.schedulerLeaseRepository = schedulerLeaseRepository;
+        this.schedulerNodeRepository = schedulerNodeRepository;
+        this.taskScheduleRepository = taskScheduleRepository;
+        this.dataSource = dataSource;
+        this.blockingScheduler = blockingScheduler;
+        this.zoneId = ZoneId.of(zoneId);
+        this.partitions = partitions;
+        this.leaseSeconds = leaseSeconds;
+        this.loadPageSize = loadPageSize;
+        this.heartbeatSeconds = heartbeatSeconds;
+        this.nodeTimeoutSeconds = nodeTimeoutSeconds;
+        this.fireLagTimer = Timer.builder("city.tasks.wheel.fire.lag")
+                .description("Time from the scheduled fire time until the Task is dispatched.")
+                .register(meterRegistry);
+        this.skippedFiresCounter = Counter.builder("city.tasks.wheel.fires.skipped")
+                .description("Fires skipped because the timing wheel was more than the catch-up window late.")
+                .register(meterRegistry);
+        this.rejectedFiresCounter = Counter.builder("city.tasks.wheel.fires.rejected")
+                .description("Fires rejected because the Task dispatcher stayed full during the offer timeout.")
+                .register(meterRegistry);
+        Gauge.builder("city.tasks.wheel.tasks", this.timingWheel, TimingWheel::size)
+                .description("Tasks loaded in the timing wheel of this node.")
+                .register(meterRegistry);
+        Gauge.builder("city.tasks.wheel.partitions", this, engine -> engine.ownedPartitions.size())
+                .description("Timing wheel partitions owned by this node.")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Only validates the schedule, because the Task is added to the wheel when its row is committed.
+     */
+    @Override
+    public void schedule(Task task) {
+        TimingWheel.validateSchedule(task.getHour(), task.getMinute(), task.getExecutionDaysMask());
+    }
+
+    @Override
+    public void scheduleAll(List<Task> tasks) {
+        tasks.forEach(this::schedule);
+    }
+
+    @Override
+    public void reschedule(Task actualTask, Task task) {
+        this.schedule(task);
+    }
+
+    /**
+     * The Task is removed from the wheel when its deletion is committed.
+     */
+    @Override
+    public void unschedule(Task task) {
+        LOGGER.debug("Task {} will be removed from the timing wheel.", task.getId());
+    }
+
+    /**
+     * Only the Tasks of the partitions owned by this node are added.
+     */
+    @Override
+    public long restore(List<Task> tasks) {
+        return this.addTasks(tasks, this.ownedPartitions);
+    }
+
+    public int getScheduledTasks() {
+        return this.timingWheel.size();
+    }
+
+    public Set<Integer> getOwnedPartitions() {
+        return this.ownedPartitions;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        LOGGER.info("Starting the timing wheel with {} partitions for node: {}", this.partitions, this.nodeName);
+        this.running = true;
+        this.schedulerLeaseRepository.createPartitions(this.partitions);
+        this.listener = new Thread(this::listen, "timing-wheel-listener");
+        this.listener.setDaemon(true);
+        this.listener.start();
+        this.leaseRenewal = Flux.interval(Duration.ZERO, Duration.ofSeconds(this.heartbeatSeconds))
+                .onBackpressureDrop()
+                .concatMap(tick -> Mono.fromRunnable(this::renewLeases)
+                        .subscribeOn(this.blockingScheduler)
+                        .onErrorResume(error -> {
+                            LOGGER.warn("Cannot renew the timing wheel leases: {}", error.getMessage());
+                            return Mono.empty();
+                        }))
+                .subscribe();
+        this.ticker = Executors.newSingleThreadScheduledExecutor(runnable -> newDaemonThread(runnable, "timing-wheel-ticker"));
+        this.drainer = Executors.newSingleThreadExecutor(runnable -> newDaemonThread(runnable, "timing-wheel-drainer"));
+        // The minute in progress is not fired, because the node did not own any partition when it started.
+        this.lastFiredMinute = Math.floorDiv(System.currentTimeMillis(), MINUTE_MILLIS);
+        this.scheduleNextTick();
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (!this.running) {
+            return;
+        }
+        this.running = false;
+        this.leaseRenewal.dispose();
+        this.ticker.shutdownNow();
+        this.drainer.shutdownNow();
+        this.listener.interrupt();
+        try {
+            this.schedulerLeaseRepository.releaseAll(this.nodeName);
+            this.schedulerNodeRepository.delete(this.nodeName);
+        } catch (RuntimeException e) {
+            LOGGER.warn("Cannot release the timing wheel leases of node {}: {}", this.nodeName, e.getMessage());
+        }
+    }
+
+    // The delay is computed again on every tick, so the ticker does not drift from the minute boundaries.
+    private void scheduleNextTick() {
+        long delay = MINUTE_MILLIS - Math.floorMod(System.currentTimeMillis(), MINUTE_MILLIS);
+        this.ticker.schedule(this::tick, delay, TimeUnit.MILLISECONDS);
+    }
+
+    private void tick() {
+        try {
+            final long currentMinute = Math.floorDiv(System.currentTimeMillis(), MINUTE_MILLIS);
+            if (currentMinute - this.lastFiredMinute > MAX_CATCH_UP_MINUTES) {
+                this.skipMinutes(currentMinute - MAX_CATCH_UP_MINUTES);
+            }
+            for (long minute = this.lastFiredMinute + 1; minute <= currentMinute; minute++) {
+                final long epochMinute = minute;
+                final TimingWheel.Entry[] entries = this.timingWheel.getEntries(this.getMinuteOfWeek(epochMinute));
+                if (entries.length > 0) {
+                    this.drainer.execute(() -> this.fire(epochMinute, entries));
+                }
+                this.lastFiredMinute = minute;
+            }
+        } catch (RuntimeException e) {
+            LOGGER.error("Error firing the timing wheel: {}", e.getMessage());
+        } finally {
+            if (this.running) {
+                this.scheduleNextTick();
+            }
+        }
+    }
+
+    /**
+     * Counts the Tasks of the minutes that are not fired, up to the last minute before the given one.
+     */
+    private void skipMinutes(long lastSkippedMinute) {
+        long skippedFires = 0L;
+        final long lastCountedMinute = Math.min(lastSkippedMinute, this.lastFiredMinute + TimingWheel.MINUTES_PER_WEEK);
+        for (long minute = this.lastFiredMinute + 1; minute <= lastCountedMinute; minute++) {
+            skippedFires += this.timingWheel.count(this.getMinuteOfWeek(minute));
+        }
+        LOGGER.warn("The timing wheel is {} minutes late. Only the last {} minutes are fired, skipping {} fires.",
+                lastSkippedMinute + MAX_CATCH_UP_MINUTES - this.lastFiredMinute, MAX_CATCH_UP_MINUTES, skippedFires);
+        this.skippedFiresCounter.increment(skippedFires);
+        this.lastFiredMinute = lastSkippedMinute;
+    }
+
+    /**
+     * Dispatches the Tasks of a bucket, blocking while the dispatcher is full. The fires still waiting when the bucket
+     * is more than the catch-up window late are skipped.
+     */
+    void fire(long epochMinute, TimingWheel.Entry[] entries) {
+        final long scheduledMillis = epochMinute * MINUTE_MILLIS;
+        final ZonedDateTime scheduledFireTime = ZonedDateTime.ofInstant(Instant.ofEpochMilli(scheduledMillis),
+                ZoneId.systemDefault());
+        for (int i = 0; i < entries.length && !Thread.currentThread().isInterrupted(); i++) {
+            final TimingWheel.Entry entry = entries[i];
+            if (entry.executeUntilMillis() < scheduledMillis) {
+                continue;
+            }
+            final long now = System.currentTimeMillis();
+            if (now - scheduledMillis > MAX_CATCH_UP_MINUTES * MINUTE_MILLIS) {
+                LOGGER.warn("The timing wheel is more than {} minutes late. Skipping {} fires.", MAX_CATCH_UP_MINUTES,
+                        entries.length - i);
+                this.skippedFiresCounter.increment(entries.length - i);
+                return;
+            }
+            this.fireLagTimer.record(now - scheduledMillis, TimeUnit.MILLISECONDS);
+            TaskExecution execution = new TaskExecution(entry.jobId(), scheduledFireTime,
+                    ZonedDateTime.ofInstant(Instant.ofEpochMilli(now), ZoneId.systemDefault()));
+            if (!this.taskDispatcher.dispatch(execution, entry.toTask())) {
+                this.rejectedFiresCounter.increment();
+                LOGGER.error("Task dispatcher is saturated. Job not dispatched: {}", entry.jobId());
+            }
+        }
+    }
+
+    private int getMinuteOfWeek(long epochMinute) {
+        return TimingWheel.getMinuteOfWeek(Instant.ofEpochMilli(epochMinute * MINUTE_MILLIS).atZone(this.zoneId));
+    }
+
+    /**
+     * Renews the held leases, and releases or acquires leases to hold a fair share of the partitions.
+     */
+    private void renewLeases() {
+        this.schedulerNodeRepository.heartbeat(this.nodeName);
+        int liveNodes = Math.max(1, this.schedulerNodeRepository.findLiveNodes(this.nodeTimeoutSeconds).size());
+        int fairShare = (this.partitions + liveNodes - 1) / liveNodes;
+        List<Integer> partitionIds = new ArrayList<>(
+                this.schedulerLeaseRepository.renew(this.nodeName, this.partitions, this.leaseSeconds));
+        if (partitionIds.size() > fairShare) {
+            Collections.sort(partitionIds);
+            List<Integer> releasedIds = new ArrayList<>(partitionIds.subList(fairShare, partitionIds.size()));
+            partitionIds.removeAll(releasedIds);
+            // The Tasks are removed from the wheel before other nodes can acquire their partitions.
+            this.setOwnedPartitions(partitionIds);
+            this.schedulerLeaseRepository.release(this.nodeName, releasedIds);
+        } else if (partitionIds.size() < fairShare) {
+            partitionIds.addAll(this.schedulerLeaseRepository.acquire(this.nodeName, this.partitions,
+                    fairShare - partitionIds.size(), this.leaseSeconds));
+        }
+        this.setOwnedPartitions(partitionIds);
+    }
+
+    private void setOwnedPartitions(Collection<Integer> partitionIds) {
+        final Set<Integer> owned = Set.copyOf(partitionIds);
+        final Set<Integer> previous = this.ownedPartitions;
+        if (owned.equals(previous)) {
+            return;
+        }
+        this.ownedPartitions = owned;
+        this.timingWheel.removeIf(entry -> !owned.contains(JobsUtil.getShard(entry.jobId(), this.partitions)));
+        Set<Integer> acquired = new HashSet<>(owned);
+        acquired.removeAll(previous);
+        LOGGER.info("Timing wheel partitions owned by node {}: {}", this.nodeName, owned.size());
+        if (!acquired.isEmpty()) {
+            this.loadPartitions(acquired);
+        }
+    }
+
+    /**
+     * Scans the Tasks table one keyset page at a time, adding the Tasks of the given partitions. The Tasks changed
+     * during the scan are read again when it ends, because the scan may have read them before the change.
+     */
+    private void loadPartitions(Set<Integer> partitionIds) {
+        synchronized (this.pendingJobIds) {
+            this.loadsInProgress++;
+        }
+        long loaded = 0L;
+        try {
+            long afterId = 0L;
+            List<Task> tasks;
+            do {
+                tasks = this.taskRepository.findPage(afterId, null, 0, this.loadPageSize).collectList().block();
+                if (Objects.isNull(tasks) || tasks.isEmpty()) {
+                    break;
+                }
+                loaded += this.addTasks(tasks, partitionIds);
+                afterId = tasks.get(tasks.size() - 1).getId();
+            } while (tasks.size() == this.loadPageSize);
+        } finally {
+            List<String> changedJobIds = List.of();
+            synchronized (this.pendingJobIds) {
+                if (--this.loadsInProgress == 0 && !this.pendingJobIds.isEmpty()) {
+                    changedJobIds = new ArrayList<>(this.pendingJobIds);
+                    this.pendingJobIds.clear();
+                }
+            }
+            if (!changedJobIds.isEmpty()) {
+                this.refreshTasks(changedJobIds);
+            }
+        }
+        LOGGER.info("Loaded {} Tasks of {} timing wheel partitions.", loaded, partitionIds.size());
+    }
+
+    /**
+     * Reads the changed Tasks again, replacing their entries, or removing them when they were deleted.
+     */
+    private void refreshTasks(Collection<String> jobIds) {
+        List<Task> tasks = this.taskScheduleRepository.findByJobIds(jobIds);
+        Set<String> deletedJobIds = new HashSet<>(jobIds);
+        tasks.forEach(task -> deletedJobIds.remove(task.getJobId()));
+        deletedJobIds.forEach(this.timingWheel::remove);
+        this.addTasks(tasks, this.ownedPartitions);
+    }
+
+    private long addTasks(List<Task> tasks, Set<Integer> partitionIds) {
+        final long now = System.currentTimeMillis();
+        long added = 0L;
+        for (Task task : tasks) {
+            if (Objects.isNull(task.getJobId()) || !partitionIds.contains(JobsUtil.getShard(task.getJobId(), this.partitions))) {
+                continue;
+            }
+            long executeUntilMillis = JobsUtil.getExecuteUntilMillis(task.getExecuteUntil(), this.zoneId);
+            if (executeUntilMillis < now) {
+                LOGGER.debug("The Task ID: {} will never fire again.", task.getId());
+                this.timingWheel.remove(task.getJobId());
+                continue;
+            }
+            try {
+                this.timingWheel.add(task.getJobId(), task.getDeviceId(), task.getDeviceAction(), executeUntilMillis,
+                        task.getHour(), task.getMinute(), task.getExecutionDaysMask());
+                added++;
+            } catch (IllegalArgumentException e) {
+                LOGGER.warn("Cannot add the Task ID: {} to the timing wheel. {}", task.getId(), e.getMessage());
+            }
+        }
+        return added;
+    }
+
+    /**
+     * Listens to the schedule events with a dedicated connection, reconnecting when the connection is lost.
+     */
+    private void listen() {
+        while (this.running) {
+            try (Connection connection = this.dataSource.getConnection()) {
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + TaskScheduleRepository.CHANNEL);
+                }
+                // The events published while the node was not listening are lost.
+                if (!this.ownedPartitions.isEmpty()) {
+                    this.loadPartitions(this.ownedPartitions);
+                }
+                while (this.running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(LISTEN_TIMEOUT_MILLIS);
+                    if (Objects.nonNull(notifications) && notifications.length > 0) {
+                        this.onScheduleChanges(notifications);
+                    }
+                }
+            } catch (SQLException | RuntimeException e) {
+                if (this.running) {
+                    LOGGER.warn("Schedule events connection lost: {}", e.getMessage());
+                    this.sleep();
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads again the changed Tasks of the owned partitions in one query, or keeps them for the end of the load in
+     * progress.
+     */
+    private void onScheduleChanges(PGNotification[] notifications) {
+        final Set<Integer> owned = this.ownedPartitions;
+        Set<String> changedJobIds = new HashSet<>();
+        for (PGNotification notification : notifications) {
+            String jobId = notification.getParameter();
+            if (owned.contains(JobsUtil.getShard(jobId, this.partitions))) {
+                changedJobIds.add(jobId);
+            }
+        }
+        if (changedJobIds.isEmpty()) {
+            return;
+        }
+        synchronized (this.pendingJobIds) {
+            if (this.loadsInProgress > 0) {
+                this.pendingJobIds.addAll(changedJobIds);
+                return;
+            }
+        }
+        this.refreshTasks(changedJobIds);
+    }
+
+    private static Thread newDaemonThread(Runnable runnable, String name) {
+        Thread thread = new Thread(runnable, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    private void sleep() {
+        try {
+            Thread.sleep(RECONNECT_DELAY_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.hiperium.city.tasks.api.job;
+
+import com.hiperium.city.tasks.api.utils.VirtualThreadsUtil;
+import org.quartz.SchedulerConfigException;
+import org.quartz.spi.ThreadPool;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Quartz Thread Pool that runs every Job in a new virtual thread. The number of concurrent Jobs is still bounded
+ * by the "threadCount" property, so Quartz does not acquire more Triggers than it can execute.
+ */
+public class VirtualThreadPool implements ThreadPool {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(VirtualThreadPool.class);
+
+    private int threadCount = 10;
+    private String instanceName = "QuartzScheduler";
+    private Semaphore permits;
+    private ExecutorService executorService;
+    private volatile boolean isShutdown;
+
+    public int getThreadCount() {
+        return this.threadCount;
+    }
+
+    public void setThreadCount(int threadCount) {
+        this.threadCount = threadCount;
+    }
+
+    @Override
+    public void initialize() throws SchedulerConfigException {
+        if (this.threadCount <= 0) {
+            throw new SchedulerConfigException("Thread count must be greater than zero.");
+        }
+        if (!VirtualThreadsUtil.isSupported()) {
+            throw new SchedulerConfigException("Virtual threads are not supported by the running JVM.");
+        }
+        this.permits = new Semaphore(this.threadCount);
+        this.executorService = VirtualThreadsUtil.newThreadPerTaskExecutor(this.instanceName + "_VirtualWorker-");
+        LOGGER.info("Virtual Thread Pool initialized with a maximum of {} concurrent Jobs.", this.threadCount);
+    }
+
+    @Override
+    public boolean runInThread(Runnable runnable) {
+        if (this.isShutdown) {
+            return false;
+        }
+        try {
+            this.permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+        try {
+            this.executorService.execute(() -> {
+                try {
+                    runnable.run();
+                } finally {
+                    this.permits.release();
+                }
+            });
+            return true;
+        } catch (RejectedExecutionException e) {
+            this.permits.release();
+            return false;
+        }
+    }
+
+    @Override
+    public int blockForAvailableThreads() {
+        try {
+            this.permits.acquire();
+            this.permits.release();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return 0;
+        }
+        return Math.max(1, this.permits.availablePermits());
+    }
+
+    @Override
+    public void shutdown(boolean waitForJobsToComplete) {
+        this.isShutdown = true;
+        this.executorService.shutdown();
+        if (waitForJobsToComplete) {
+            try {
+                while (!this.executorService.awaitTermination(1, TimeUnit.SECONDS)) {
+                    LOGGER.debug("Waiting for the running Jobs to complete.");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public int getPoolSize() {
+        return this.threadCount;
+    }
+
+    @Override
+    public void setInstanceId(String schedInstId) {
+        // Not used.
+    }
+
+    @Override
+    public void setInstanceName(String schedName) {
+        this.instanceName = schedName;
+    }
+}
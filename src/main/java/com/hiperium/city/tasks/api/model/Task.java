@@ -1,32 +1,59 @@
 package com.hiperium.city.tasks.api.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.hiperium.city.tasks.api.utils.enums.DaysEnum;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.LazyGroup;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
 import java.time.ZonedDateTime;
 
 @Data
 @Builder
 @Entity
+@Cacheable
 @NoArgsConstructor
 @AllArgsConstructor
 @Table(name = "HIP_CTY_TASKS")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Task.CACHE_REGION)
+@NaturalIdCache(region = Task.JOB_ID_CACHE_REGION)
 public class Task {
 
+    public static final String CACHE_REGION = "tasks";
+    public static final String JOB_ID_CACHE_REGION = "task-job-ids";
+
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "HIP_CTY_TASKS_SEQ")
-    @SequenceGenerator(name = "HIP_CTY_TASKS_SEQ", sequenceName = "HIP_CTY_TASKS_SEQ", allocationSize = 1)
+    @SequenceGenerator(name = "HIP_CTY_TASKS_SEQ", sequenceName = "HIP_CTY_TASKS_SEQ", allocationSize = 50)
     private Long id;
 
     @Column(name = "name", length = 30, nullable = false)
     private String name;
 
+    /**
+     * The description and the execution command are the largest columns, and they are not needed to fire the Task,
+     * so they are loaded together only when they are read.
+     */
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    @LazyGroup("details")
+    @Basic(fetch = FetchType.LAZY)
     @Column(name = "description")
     private String description;
 
+    /**
+     * The Job ID is assigned once when the Task is created, so the Tasks fired by Quartz are found by its natural ID.
+     */
+    @NaturalId
     @Column(name = "job_id", length = 30, nullable = false)
     private String jobId;
 
@@ -39,6 +66,17 @@ public class Task {
     @Column(name = "execution_days", length = 30, nullable = false)
     private String executionDays;
 
+    /**
+     * Execution days as a {@link DaysEnum} bitmask. It is derived from the execution days, so it is not exposed.
+     */
+    @JsonIgnore
+    @Column(name = "execution_days_mask", nullable = false)
+    private int executionDaysMask;
+
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    @LazyGroup("details")
+    @Basic(fetch = FetchType.LAZY)
     @Column(name = "execution_command", nullable = false)
     private String executionCommand;
 
@@ -56,4 +94,18 @@ public class Task {
 
     @Column(name = "updated_at", nullable = false)
     private ZonedDateTime updatedAt;
+
+    public void setExecutionDays(String executionDays) {
+        this.executionDays = executionDays;
+        this.executionDaysMask = DaysEnum.toMask(executionDays);
+    }
+
+    public static class TaskBuilder {
+
+        public TaskBuilder executionDays(String executionDays) {
+            this.executionDays = executionDays;
+            this.executionDaysMask = DaysEnum.toMask(executionDays);
+            return this;
+        }
+    }
 }
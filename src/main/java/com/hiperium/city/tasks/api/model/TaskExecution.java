@@ -0,0 +1,36 @@
+package com.hiperium.city.tasks.api.model;
+
+import com.hiperium.city.tasks.api.utils.enums.ExecutionOutcomeEnum;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.ZonedDateTime;
+
+/**
+ * Execution record of a Task fire. The stage latencies are in microseconds, and are null for the stages that
+ * were not executed.
+ */
+@Data
+@NoArgsConstructor
+public class TaskExecution {
+
+    private Long id;
+    private Long taskId;
+    private String jobId;
+    private String deviceId;
+    private String deviceAction;
+    private ZonedDateTime scheduledFireTime;
+    private ZonedDateTime actualFireTime;
+    private ExecutionOutcomeEnum outcome;
+    private String errorMessage;
+    private Long taskLookupMicros;
+    private Long deviceReadMicros;
+    private Long deviceWriteMicros;
+    private Long totalMicros;
+
+    public TaskExecution(String jobId, ZonedDateTime scheduledFireTime, ZonedDateTime actualFireTime) {
+        this.jobId = jobId;
+        this.scheduledFireTime = scheduledFireTime;
+        this.actualFireTime = actualFireTime;
+    }
+}
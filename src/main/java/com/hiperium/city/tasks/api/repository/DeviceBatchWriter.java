@@ -0,0 +1,148 @@
+package com.hiperium.city.tasks.api.repository;
+
+import com.hiperium.city.tasks.api.model.Device;
+import com.hiperium.city.tasks.api.utils.DevicesUtil;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
+import software.amazon.awssdk.services.dynamodb.model.WriteRequest;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Coalesces Device writes over a short window and flushes them with BatchWriteItem.
+ * Several changes to the same Device inside one window are collapsed into its final state.
+ */
+@Component
+@ConditionalOnProperty(name = "hiperium.city.tasks.devices.update.mode", havingValue = "BATCH_WRITE")
+public class DeviceBatchWriter {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DeviceBatchWriter.class);
+    private static final int MAX_BATCH_WRITE_ITEMS = 25;
+    private static final long BASE_RETRY_DELAY_MILLIS = 50L;
+
+    private final DynamoDbAsyncClient dynamoDbAsyncClient;
+    private final long windowMillis;
+    private final int maxRetries;
+    private final Map<String, PendingWrite> pendingWrites = new ConcurrentHashMap<>();
+
+    private Disposable flushLoop;
+
+    public DeviceBatchWriter(DynamoDbAsyncClient dynamoDbAsyncClient,
+                             @Value("${hiperium.city.tasks.devices.batch-write.window-millis}") long windowMillis,
+                             @Value("${hiperium.city.tasks.devices.batch-write.max-retries}") int maxRetries) {
+        this.dynamoDbAsyncClient = dynamoDbAsyncClient;
+        this.windowMillis = windowMillis;
+        this.maxRetries = maxRetries;
+    }
+
+    @PostConstruct
+    public void start() {
+        LOGGER.info("Device batch writer started with a window of {} ms.", this.windowMillis);
+        this.flushLoop = Flux.interval(Duration.ofMillis(this.windowMillis))
+                .onBackpressureDrop()
+                .concatMap(tick -> this.flush())
+                .subscribe();
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (Objects.nonNull(this.flushLoop)) {
+            this.flushLoop.dispose();
+        }
+        this.flush().block(Duration.ofSeconds(10));
+    }
+
+    /**
+     * Emits TRUE when the final state of the Device has been written, or FALSE when DynamoDB kept the item
+     * unprocessed after all the retries.
+     */
+    public Mono<Boolean> write(Device device) {
+        return Mono.defer(() -> this.pendingWrites.compute(device.getId(), (id, pendingWrite) -> {
+            if (Objects.isNull(pendingWrite)) {
+                return new PendingWrite(device);
+            }
+            pendingWrite.device = device;
+            return pendingWrite;
+        }).result.asMono());
+    }
+
+    private Mono<Void> flush() {
+        if (this.pendingWrites.isEmpty()) {
+            return Mono.empty();
+        }
+        List<PendingWrite> writes = new ArrayList<>();
+        for (String deviceId : this.pendingWrites.keySet()) {
+            PendingWrite pendingWrite = this.pendingWrites.remove(deviceId);
+            if (Objects.nonNull(pendingWrite)) {
+                writes.add(pendingWrite);
+            }
+        }
+        LOGGER.debug("flush(): {} Devices", writes.size());
+        List<List<PendingWrite>> batches = new ArrayList<>();
+        for (int i = 0; i < writes.size(); i += MAX_BATCH_WRITE_ITEMS) {
+            batches.add(writes.subList(i, Math.min(i + MAX_BATCH_WRITE_ITEMS, writes.size())));
+        }
+        return Flux.fromIterable(batches)
+                .flatMap(this::writeBatch)
+                .then();
+    }
+
+    private Mono<Void> writeBatch(List<PendingWrite> batch) {
+        List<WriteRequest> writeRequests = batch.stream()
+                .map(pendingWrite -> DevicesUtil.putDeviceWriteRequest(pendingWrite.device))
+                .toList();
+        return this.batchWriteItems(writeRequests, 0)
+                .doOnNext(unprocessedItems -> {
+                    Set<String> unprocessedIds = unprocessedItems.stream()
+                            .map(DevicesUtil::getDeviceId)
+                            .collect(Collectors.toSet());
+                    if (!unprocessedIds.isEmpty()) {
+                        LOGGER.error("Devices not written after {} retries: {}", this.maxRetries, unprocessedIds);
+                    }
+                    batch.forEach(pendingWrite -> pendingWrite.result
+                            .tryEmitValue(!unprocessedIds.contains(pendingWrite.device.getId())));
+                })
+                .doOnError(error -> {
+                    LOGGER.error("Error writing Devices batch: {}", error.getMessage());
+                    batch.forEach(pendingWrite -> pendingWrite.result.tryEmitError(error));
+                })
+                .onErrorResume(error -> Mono.empty())
+                .then();
+    }
+
+    private Mono<List<WriteRequest>> batchWriteItems(List<WriteRequest> writeRequests, int attempt) {
+        return Mono.fromFuture(() -> this.dynamoDbAsyncClient.batchWriteItem(DevicesUtil.batchWriteDevicesRequest(writeRequests)))
+                .flatMap(response -> {
+                    List<WriteRequest> unprocessedItems = response.unprocessedItems()
+                            .getOrDefault(Device.TABLE_NAME, Collections.emptyList());
+                    if (unprocessedItems.isEmpty() || attempt >= this.maxRetries) {
+                        return Mono.just(unprocessedItems);
+                    }
+                    LOGGER.debug("Retrying {} unprocessed Devices. Attempt: {}", unprocessedItems.size(), attempt + 1);
+                    return Mono.delay(Duration.ofMillis(BASE_RETRY_DELAY_MILLIS << attempt))
+                            .then(Mono.defer(() -> this.batchWriteItems(unprocessedItems, attempt + 1)));
+                });
+    }
+
+    private static final class PendingWrite {
+        private final Sinks.One<Boolean> result = Sinks.one();
+        private volatile Device device;
+
+        private PendingWrite(Device device) {
+            this.device = device;
+        }
+    }
+}
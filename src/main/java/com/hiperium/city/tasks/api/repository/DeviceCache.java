@@ -0,0 +1,62 @@
+package com.hiperium.city.tasks.api.repository;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.hiperium.city.tasks.api.model.Device;
+import com.hiperium.city.tasks.api.utils.DevicesUtil;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * Bounded in-process cache of Devices. It stores copies, so callers can change the returned Devices freely.
+ */
+@Component
+public class DeviceCache {
+
+    private final Cache<String, Device> cache;
+
+    public DeviceCache(@Value("${hiperium.city.tasks.devices.cache.max-size}") long maxSize,
+                       @Value("${hiperium.city.tasks.devices.cache.ttl-seconds}") long ttlSeconds) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+    }
+
+    public Device get(String id) {
+        Device device = this.cache.getIfPresent(id);
+        return Objects.isNull(device) ? null : DevicesUtil.copyDevice(device);
+    }
+
+    public void put(Device device) {
+        this.cache.put(device.getId(), DevicesUtil.copyDevice(device));
+    }
+
+    /**
+     * Write-through of a status change. Devices not already cached are left for the next read.
+     */
+    public void updateStatus(String id, String status) {
+        this.cache.asMap().computeIfPresent(id, (key, device) -> {
+            Device updatedDevice = DevicesUtil.copyDevice(device);
+            updatedDevice.setStatus(status);
+            return updatedDevice;
+        });
+    }
+
+    public void invalidate(String id) {
+        this.cache.invalidate(id);
+    }
+
+    public long size() {
+        return this.cache.estimatedSize();
+    }
+
+    public CacheStats stats() {
+        return this.cache.stats();
+    }
+}
@@ -3,38 +3,195 @@ package com.hiperium.city.tasks.api.repository;
 import com.hiperium.city.tasks.api.exception.ResourceNotFoundException;
 import com.hiperium.city.tasks.api.model.Device;
 import com.hiperium.city.tasks.api.model.Task;
+import com.hiperium.city.tasks.api.model.TaskExecution;
 import com.hiperium.city.tasks.api.utils.DevicesUtil;
+import com.hiperium.city.tasks.api.utils.TasksUtil;
+import com.hiperium.city.tasks.api.utils.enums.DeviceUpdateModeEnum;
+import com.hiperium.city.tasks.api.utils.enums.DeviceUpdateResultEnum;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Repository;
 import reactor.core.publisher.Mono;
 import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
+import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
+
+import java.util.*;
+import java.util.function.LongConsumer;
+import java.util.function.Supplier;
 
 @Repository
 public class DeviceRepository {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(DeviceRepository.class);
+    private static final String FIND_TIMER_NAME = "city.tasks.device.find";
+    private static final String UPDATE_TIMER_NAME = "city.tasks.device.update";
+    private static final String OUTCOME_TAG = "outcome";
+    private static final String SUCCESS_OUTCOME = "SUCCESS";
+    private static final String NOT_FOUND_OUTCOME = "NOT_FOUND";
+    private static final String ERROR_OUTCOME = "ERROR";
 
     private final DynamoDbAsyncClient dynamoDbAsyncClient;
+    private final DeviceUpdateModeEnum updateMode;
+    private final DeviceBatchWriter deviceBatchWriter;
+    private final DeviceCache deviceCache;
+
+    // Timers are registered up front, so the hot paths never look them up in the registry.
+    private final Map<String, Timer> findTimers = new HashMap<>();
+    private final Map<String, Timer> updateTimers = new HashMap<>();
 
-    public DeviceRepository(DynamoDbAsyncClient dynamoDbAsyncClient) {
+    public DeviceRepository(DynamoDbAsyncClient dynamoDbAsyncClient,
+                            @Value("${hiperium.city.tasks.devices.update.mode}") DeviceUpdateModeEnum updateMode,
+                            ObjectProvider<DeviceBatchWriter> deviceBatchWriter,
+                            DeviceCache deviceCache,
+                            MeterRegistry meterRegistry) {
         this.dynamoDbAsyncClient = dynamoDbAsyncClient;
+        this.updateMode = updateMode;
+        this.deviceBatchWriter = deviceBatchWriter.getIfAvailable();
+        this.deviceCache = deviceCache;
+        for (String outcome : List.of(SUCCESS_OUTCOME, NOT_FOUND_OUTCOME, ERROR_OUTCOME)) {
+            this.findTimers.put(outcome, Timer.builder(FIND_TIMER_NAME)
+                    .description("Time to find a Device by its ID.")
+                    .tag(OUTCOME_TAG, outcome)
+                    .register(meterRegistry));
+        }
+        List<String> updateOutcomes = new ArrayList<>(List.of(NOT_FOUND_OUTCOME, ERROR_OUTCOME));
+        Arrays.stream(DeviceUpdateResultEnum.values()).forEach(result -> updateOutcomes.add(result.name()));
+        for (String outcome : updateOutcomes) {
+            this.updateTimers.put(outcome, Timer.builder(UPDATE_TIMER_NAME)
+                    .description("Time to update the status of a Device.")
+                    .tag(OUTCOME_TAG, outcome)
+                    .tag("mode", updateMode.name())
+                    .register(meterRegistry));
+        }
+    }
+
+    public Mono<DeviceUpdateResultEnum> updateStatusByTask(Task task) {
+        return this.updateStatusByTask(task, new TaskExecution());
     }
 
-    public Mono<Boolean> updateStatusByTask(Task task) {
+    /**
+     * Updates the Device status, recording the latency of the Device read and write in the given execution.
+     */
+    public Mono<DeviceUpdateResultEnum> updateStatusByTask(Task task, TaskExecution execution) {
         LOGGER.debug("updateStatusByTask(): {} - {}", task.getDeviceId(), task.getDeviceAction());
-        return this.findById(task.getDeviceId())
-                .map(deviceFound -> DevicesUtil.changeDeviceStatus(deviceFound, task))
-                .flatMap(deviceUpdated -> Mono.fromFuture(this.dynamoDbAsyncClient.putItem(DevicesUtil.putDeviceRequest(deviceUpdated))))
-                .map(putItemResponse -> putItemResponse.sdkHttpResponse().isSuccessful());
+        return Mono.defer(() -> {
+            final Timer.Sample sample = Timer.start();
+            return this.changeStatus(task, execution)
+                    .doOnSuccess(result -> sample.stop(this.updateTimers.get(result.name())))
+                    .doOnError(error -> sample.stop(this.updateTimers.get(getErrorOutcome(error))));
+        });
     }
 
     public Mono<Device> findById(String id) {
         LOGGER.debug("findById(): {}", id);
+        return Mono.defer(() -> {
+            final Timer.Sample sample = Timer.start();
+            return Mono.justOrEmpty(this.deviceCache.get(id))
+                    .switchIfEmpty(Mono.defer(() -> this.getDevice(id)))
+                    .doOnSuccess(device -> sample.stop(this.findTimers.get(SUCCESS_OUTCOME)))
+                    .doOnError(error -> sample.stop(this.findTimers.get(getErrorOutcome(error))));
+        });
+    }
+
+    /**
+     * The cache is local to each node, and the Device can be changed from other nodes or outside this application, so
+     * a cached Device is only trusted through a status-only write conditioned on its cached status. When the condition
+     * fails, or the Device is not cached, the write decision is made on a fresh read.
+     */
+    private Mono<DeviceUpdateResultEnum> changeStatus(Task task, TaskExecution execution) {
+        final String status = DevicesUtil.getDeviceStatus(task);
+        Mono<DeviceUpdateResultEnum> updateResult;
+        if (this.updateMode == DeviceUpdateModeEnum.UPDATE_ITEM) {
+            updateResult = timed(() -> this.updateStatus(task.getDeviceId(), status), execution::setDeviceWriteMicros);
+        } else {
+            final Device cachedDevice = this.deviceCache.get(task.getDeviceId());
+            Mono<DeviceUpdateResultEnum> freshUpdateResult = Mono.defer(() -> this.readAndWriteStatus(task, status, execution));
+            updateResult = Objects.isNull(cachedDevice) || Objects.isNull(cachedDevice.getStatus())
+                    ? freshUpdateResult
+                    : timed(() -> this.updateCachedStatus(cachedDevice, status), execution::setDeviceWriteMicros)
+                            .switchIfEmpty(freshUpdateResult);
+        }
+        return updateResult.doOnNext(result -> {
+            if (result == DeviceUpdateResultEnum.FAILED) {
+                this.deviceCache.invalidate(task.getDeviceId());
+            } else {
+                this.deviceCache.updateStatus(task.getDeviceId(), status);
+            }
+        });
+    }
+
+    private Mono<DeviceUpdateResultEnum> readAndWriteStatus(Task task, String status, TaskExecution execution) {
+        return timed(() -> this.getDevice(task.getDeviceId()), execution::setDeviceReadMicros)
+                .flatMap(deviceFound -> {
+                    if (status.equals(deviceFound.getStatus())) {
+                        return Mono.just(DeviceUpdateResultEnum.UNCHANGED);
+                    }
+                    return timed(() -> this.putDevice(DevicesUtil.changeDeviceStatus(deviceFound, task)), execution::setDeviceWriteMicros)
+                            .map(result -> result ? DeviceUpdateResultEnum.CHANGED : DeviceUpdateResultEnum.FAILED);
+                });
+    }
+
+    /**
+     * Completes empty when the Device is no longer in its cached status, so the caller falls back to a fresh read.
+     * A Device already cached in the new status is still written, to check that it really is in that status.
+     */
+    private Mono<DeviceUpdateResultEnum> updateCachedStatus(Device cachedDevice, String status) {
+        final String id = cachedDevice.getId();
+        final DeviceUpdateResultEnum changedResult = status.equals(cachedDevice.getStatus())
+                ? DeviceUpdateResultEnum.UNCHANGED : DeviceUpdateResultEnum.CHANGED;
+        return Mono.fromFuture(() -> this.dynamoDbAsyncClient.updateItem(
+                        DevicesUtil.updateDeviceStatusRequest(id, status, cachedDevice.getStatus())))
+                .map(updateItemResponse -> updateItemResponse.sdkHttpResponse().isSuccessful()
+                        ? changedResult : DeviceUpdateResultEnum.FAILED)
+                .onErrorResume(ConditionalCheckFailedException.class, exception -> {
+                    this.deviceCache.invalidate(id);
+                    return Mono.empty();
+                });
+    }
+
+    private Mono<Device> getDevice(String id) {
         return Mono.fromFuture(this.dynamoDbAsyncClient.getItem(DevicesUtil.getDeviceRequest(id)))
                 .doOnNext(itemResponse -> {
-                    if(!itemResponse.hasItem()) throw new ResourceNotFoundException("Device not found with ID: " + id);
+                    if(!itemResponse.hasItem()) {
+                        this.deviceCache.invalidate(id);
+                        throw new ResourceNotFoundException("Device not found with ID: " + id);
+                    }
                 })
-                .map(DevicesUtil::getFromItemResponse);
+                .map(DevicesUtil::getFromItemResponse)
+                .doOnNext(this.deviceCache::put);
+    }
+
+    private Mono<DeviceUpdateResultEnum> updateStatus(String id, String status) {
+        return Mono.fromFuture(() -> this.dynamoDbAsyncClient.updateItem(DevicesUtil.updateDeviceStatusRequest(id, status)))
+                .map(updateItemResponse -> updateItemResponse.sdkHttpResponse().isSuccessful()
+                        ? DeviceUpdateResultEnum.CHANGED : DeviceUpdateResultEnum.FAILED)
+                // The condition failed: the Device is already in the new status or does not exist at all.
+                .onErrorResume(ConditionalCheckFailedException.class, exception -> this.getDevice(id)
+                        .thenReturn(DeviceUpdateResultEnum.UNCHANGED));
+    }
+
+    private Mono<Boolean> putDevice(Device device) {
+        if (this.updateMode == DeviceUpdateModeEnum.BATCH_WRITE) {
+            return this.deviceBatchWriter.write(device);
+        }
+        return Mono.fromFuture(this.dynamoDbAsyncClient.putItem(DevicesUtil.putDeviceRequest(device)))
+                .map(putItemResponse -> putItemResponse.sdkHttpResponse().isSuccessful());
+    }
+
+    private static String getErrorOutcome(Throwable error) {
+        return error instanceof ResourceNotFoundException ? NOT_FOUND_OUTCOME : ERROR_OUTCOME;
+    }
+
+    private static <T> Mono<T> timed(Supplier<Mono<T>> operation, LongConsumer elapsedMicrosConsumer) {
+        return Mono.defer(() -> {
+            final long start = System.nanoTime();
+            return operation.get()
+                    .doOnSuccess(result -> elapsedMicrosConsumer.accept(TasksUtil.elapsedMicros(start)))
+                    .doOnError(error -> elapsedMicrosConsumer.accept(TasksUtil.elapsedMicros(start)));
+        });
     }
 }
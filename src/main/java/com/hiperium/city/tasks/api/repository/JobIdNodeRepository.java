@@ -0,0 +1,56 @@
+package com.hiperium.city.tasks.api.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Leases of the Job ID generator node IDs. The database clock is used, so the clocks of the nodes do not need to
+ * be in sync. A node generates Job IDs with a leased node ID only while it holds its lease.
+ */
+@Repository
+public class JobIdNodeRepository {
+
+    private static final String ACQUIRE_LEASE = """
+            UPDATE HIP_CTY_JOB_ID_NODES SET owner = ?, expires_at = now() + make_interval(secs => ?)
+            WHERE node_id = (
+                SELECT node_id FROM HIP_CTY_JOB_ID_NODES
+                WHERE owner IS NULL OR expires_at <= now()
+                ORDER BY node_id LIMIT 1 FOR UPDATE SKIP LOCKED)
+            RETURNING node_id
+            """;
+    private static final String RENEW_LEASE = """
+            UPDATE HIP_CTY_JOB_ID_NODES SET owner = ?, expires_at = now() + make_interval(secs => ?)
+            WHERE node_id = ? AND (owner = ? OR owner IS NULL OR expires_at <= now())
+            """;
+    private static final String RELEASE_LEASE = """
+            UPDATE HIP_CTY_JOB_ID_NODES SET owner = NULL, expires_at = NULL WHERE owner = ? AND node_id = ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public JobIdNodeRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Acquires the lowest free or expired node ID, or returns null when all of them are leased. Nodes acquiring
+     * at the same time skip the rows locked by each other.
+     */
+    public Integer acquire(String owner, long leaseSeconds) {
+        List<Integer> nodeIds = this.jdbcTemplate.queryForList(ACQUIRE_LEASE, Integer.class, owner, (double) leaseSeconds);
+        return nodeIds.isEmpty() ? null : nodeIds.get(0);
+    }
+
+    /**
+     * Extends the lease of the node ID, taking it back when it expired and no other node acquired it.
+     */
+    public boolean renew(String owner, int nodeId, long leaseSeconds) {
+        return this.jdbcTemplate.update(RENEW_LEASE, owner, (double) leaseSeconds, nodeId, owner) > 0;
+    }
+
+    public void release(String owner, int nodeId) {
+        this.jdbcTemplate.update(RELEASE_LEASE, owner, nodeId);
+    }
+}
@@ -0,0 +1,146 @@
+package com.hiperium.city.tasks.api.repository;
+
+import com.hiperium.city.tasks.api.model.Task;
+import com.hiperium.city.tasks.api.utils.TasksUtil;
+import com.hiperium.city.tasks.api.utils.enums.TaskFieldEnum;
+import com.hiperium.city.tasks.api.vo.TaskVersionVO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.sql.Timestamp;
+import java.util.*;
+
+@Repository
+@ConditionalOnProperty(name = "hiperium.city.tasks.persistence.mode", havingValue = "jpa", matchIfMissing = true)
+public class JpaReactiveTaskRepository implements ReactiveTaskRepository {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(JpaReactiveTaskRepository.class);
+    private static final String SELECT_VERSIONS = "SELECT id, updated_at FROM HIP_CTY_TASKS";
+
+    private final TaskRepository taskRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final Scheduler blockingScheduler;
+
+    /**
+     * The pages and the versions are read with plain JDBC, because JPQL has no bitwise operators for the days
+     * filter, and the selected columns depend on the requested fields. The pages also need the lazy details of
+     * the Tasks, that Hibernate would load with one more query per Task.
+     */
+    public JpaReactiveTaskRepository(TaskRepository taskRepository, JdbcTemplate jdbcTemplate,
+                                     Scheduler blockingScheduler) {
+        this.taskRepository = taskRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.blockingScheduler = blockingScheduler;
+    }
+
+    @Override
+    public Mono<Task> save(Task task) {
+        LOGGER.debug("save(): {}", task.getName());
+        return Mono.fromCallable(() -> this.taskRepository.save(task))
+                .subscribeOn(this.blockingScheduler);
+    }
+
+    @Override
+    public Flux<Task> saveAll(List<Task> tasks) {
+        LOGGER.debug("saveAll(): {}", tasks.size());
+        return Flux.defer(() -> Flux.fromIterable(this.taskRepository.saveAll(tasks)))
+                .subscribeOn(this.blockingScheduler);
+    }
+
+    @Override
+    public Mono<Task> findById(Long id) {
+        LOGGER.debug("findById(): {}", id);
+        return Mono.fromCallable(() -> this.taskRepository.findWithDetailsById(id))
+                .subscribeOn(this.blockingScheduler);
+    }
+
+    @Override
+    public Mono<Task> findByJobId(String jobId) {
+        LOGGER.debug("findByJobId(): {}", jobId);
+        return Mono.fromCallable(() -> this.taskRepository.findByJobId(jobId))
+                .subscribeOn(this.blockingScheduler);
+    }
+
+    @Override
+    public Flux<Task> findPage(long afterId, String deviceId, int daysMask, int size) {
+        LOGGER.debug("findPage(): {} - {} - {} - {}", afterId, deviceId, daysMask, size);
+        final Set<TaskFieldEnum> allFields = EnumSet.allOf(TaskFieldEnum.class);
+        return Flux.defer(() -> Flux.fromIterable(this.findRows(TasksUtil.getSelect(allFields),
+                        (resultSet, rowNum) -> TasksUtil.getFromResultSet(resultSet, allFields), afterId, deviceId,
+                        daysMask, size)))
+                .subscribeOn(this.blockingScheduler);
+    }
+
+    @Override
+    public Mono<Task> findFieldsById(Long id, Set<TaskFieldEnum> fields) {
+        LOGGER.debug("findFieldsById(): {} - {}", id, fields);
+        final Set<TaskFieldEnum> selectedFields = TaskFieldEnum.withKeys(fields);
+        return Mono.fromCallable(() -> this.jdbcTemplate.query(TasksUtil.getSelect(selectedFields) + " WHERE id = ?",
+                                (resultSet, rowNum) -> TasksUtil.getFromResultSet(resultSet, selectedFields), id)
+                        .stream().findFirst().orElse(null))
+                .subscribeOn(this.blockingScheduler);
+    }
+
+    @Override
+    public Flux<Task> findFieldsPage(long afterId, String deviceId, int daysMask, int size, Set<TaskFieldEnum> fields) {
+        LOGGER.debug("findFieldsPage(): {} - {} - {} - {} - {}", afterId, deviceId, daysMask, size, fields);
+        final Set<TaskFieldEnum> selectedFields = TaskFieldEnum.withKeys(fields);
+        return Flux.defer(() -> Flux.fromIterable(this.findRows(TasksUtil.getSelect(selectedFields),
+                        (resultSet, rowNum) -> TasksUtil.getFromResultSet(resultSet, selectedFields), afterId, deviceId,
+                        daysMask, size)))
+                .subscribeOn(this.blockingScheduler);
+    }
+
+    @Override
+    public Mono<TaskVersionVO> findVersionById(Long id) {
+        LOGGER.debug("findVersionById(): {}", id);
+        return Mono.fromCallable(() -> this.jdbcTemplate.query(SELECT_VERSIONS + " WHERE id = ?", VERSION_ROW_MAPPER, id)
+                        .stream().findFirst().orElse(null))
+                .subscribeOn(this.blockingScheduler);
+    }
+
+    @Override
+    public Flux<TaskVersionVO> findVersionsPage(long afterId, String deviceId, int daysMask, int size) {
+        LOGGER.debug("findVersionsPage(): {} - {} - {} - {}", afterId, deviceId, daysMask, size);
+        return Flux.defer(() -> Flux.fromIterable(this.findRows(SELECT_VERSIONS, VERSION_ROW_MAPPER, afterId, deviceId,
+                        daysMask, size)))
+                .subscribeOn(this.blockingScheduler);
+    }
+
+    @Override
+    public Mono<Void> delete(Task task) {
+        LOGGER.debug("delete(): {}", task.getId());
+        return Mono.<Void>fromRunnable(() -> this.taskRepository.delete(task))
+                .subscribeOn(this.blockingScheduler);
+    }
+
+    private <T> List<T> findRows(String select, RowMapper<T> rowMapper, long afterId, String deviceId, int daysMask,
+                                 int size) {
+        StringBuilder sql = new StringBuilder(select).append(" WHERE id > ?");
+        List<Object> parameters = new ArrayList<>(List.of(afterId));
+        if (Objects.nonNull(deviceId)) {
+            sql.append(" AND device_id = ?");
+            parameters.add(deviceId);
+        }
+        if (daysMask != 0) {
+            sql.append(" AND (execution_days_mask & ?) <> 0");
+            parameters.add(daysMask);
+        }
+        sql.append(" ORDER BY id LIMIT ?");
+        parameters.add(size);
+        return this.jdbcTemplate.query(sql.toString(), rowMapper, parameters.toArray());
+    }
+
+    private static final RowMapper<TaskVersionVO> VERSION_ROW_MAPPER = (resultSet, rowNum) -> {
+        Timestamp updatedAt = resultSet.getTimestamp("updated_at");
+        return new TaskVersionVO(resultSet.getLong("id"),
+                Objects.isNull(updatedAt) ? null : TasksUtil.toZonedDateTime(updatedAt.toLocalDateTime()));
+    };
+}
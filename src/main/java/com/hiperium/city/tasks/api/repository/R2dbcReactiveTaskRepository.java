@@ -0,0 +1,236 @@
+package com.hiperium.city.tasks.api.repository;
+
+import com.hiperium.city.tasks.api.model.Task;
+import com.hiperium.city.tasks.api.utils.TasksUtil;
+import com.hiperium.city.tasks.api.utils.enums.TaskFieldEnum;
+import com.hiperium.city.tasks.api.vo.TaskVersionVO;
+import io.r2dbc.spi.Row;
+import io.r2dbc.spi.Statement;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+@Repository
+@ConditionalOnProperty(name = "hiperium.city.tasks.persistence.mode", havingValue = "r2dbc")
+public class R2dbcReactiveTaskRepository implements ReactiveTaskRepository {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(R2dbcReactiveTaskRepository.class);
+
+    private static final String SELECT_TASKS = "SELECT id, name, description, job_id, task_hour, task_minute, " +
+            "execution_days, execution_days_mask, execution_command, execute_until, device_id, device_action, " +
+            "created_at, updated_at FROM HIP_CTY_TASKS";
+    private static final String INSERT_TASK = "INSERT INTO HIP_CTY_TASKS (id, name, description, job_id, task_hour, " +
+            "task_minute, execution_days, execution_days_mask, execution_command, execute_until, device_id, " +
+            "device_action, created_at, updated_at) VALUES (nextval('HIP_CTY_TASKS_SEQ'), :name, :description, :jobId, " +
+            ":hour, :minute, :executionDays, :executionDaysMask, :executionCommand, :executeUntil, :deviceId, " +
+            ":deviceAction, :createdAt, :updatedAt)";
+    private static final String INSERT_TASK_BATCH = "INSERT INTO HIP_CTY_TASKS (id, name, description, job_id, " +
+            "task_hour, task_minute, execution_days, execution_command, execute_until, device_id, device_action, " +
+            "created_at, updated_at, execution_days_mask) VALUES (nextval('HIP_CTY_TASKS_SEQ'), $1, $2, $3, $4, $5, $6, " +
+            "$7, $8, $9, $10, $11, $12, $13)";
+    private static final String UPDATE_TASK = "UPDATE HIP_CTY_TASKS SET name = :name, description = :description, " +
+            "job_id = :jobId, task_hour = :hour, task_minute = :minute, execution_days = :executionDays, " +
+            "execution_days_mask = :executionDaysMask, execution_command = :executionCommand, execute_until = :executeUntil, device_id = :deviceId, " +
+            "device_action = :deviceAction, created_at = :createdAt, updated_at = :updatedAt WHERE id = :id";
+    private static final String SELECT_VERSIONS = "SELECT id, updated_at FROM HIP_CTY_TASKS";
+    private static final String DELETE_TASK = "DELETE FROM HIP_CTY_TASKS WHERE id = :id";
+
+    private final DatabaseClient databaseClient;
+
+    public R2dbcReactiveTaskRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    @Override
+    public Mono<Task> save(Task task) {
+        LOGGER.debug("save(): {}", task.getName());
+        if (Objects.isNull(task.getId())) {
+            return this.bindTask(this.databaseClient.sql(INSERT_TASK), task)
+                    .filter(statement -> statement.returnGeneratedValues("id"))
+                    .map((row, metadata) -> row.get("id", Long.class))
+                    .one()
+                    .map(id -> {
+                        task.setId(id);
+                        return task;
+                    });
+        }
+        return this.bindTask(this.databaseClient.sql(UPDATE_TASK), task)
+                .bind("id", task.getId())
+                .fetch()
+                .rowsUpdated()
+                .thenReturn(task);
+    }
+
+    @Override
+    public Flux<Task> saveAll(List<Task> tasks) {
+        LOGGER.debug("saveAll(): {}", tasks.size());
+        if (tasks.isEmpty()) {
+            return Flux.empty();
+        }
+        return this.databaseClient.inConnectionMany(connection -> {
+            Statement statement = connection.createStatement(INSERT_TASK_BATCH).returnGeneratedValues("id");
+            for (int i = 0; i < tasks.size(); i++) {
+                if (i > 0) {
+                    statement.add();
+                }
+                bindTask(statement, tasks.get(i));
+            }
+            return Flux.from(statement.execute())
+                    .concatMap(result -> result.map((row, metadata) -> row.get("id", Long.class)))
+                    .index()
+                    .map(indexAndId -> {
+                        Task task = tasks.get(indexAndId.getT1().intValue());
+                        task.setId(indexAndId.getT2());
+                        return task;
+                    });
+        });
+    }
+
+    @Override
+    public Mono<Task> findById(Long id) {
+        LOGGER.debug("findById(): {}", id);
+        return this.databaseClient.sql(SELECT_TASKS + " WHERE id = :id")
+                .bind("id", id)
+                .map((row, metadata) -> TasksUtil.getFromRow(row))
+                .one();
+    }
+
+    @Override
+    public Mono<Task> findByJobId(String jobId) {
+        LOGGER.debug("findByJobId(): {}", jobId);
+        return this.databaseClient.sql(SELECT_TASKS + " WHERE job_id = :jobId")
+                .bind("jobId", jobId)
+                .map((row, metadata) -> TasksUtil.getFromRow(row))
+                .first();
+    }
+
+    @Override
+    public Flux<Task> findPage(long afterId, String deviceId, int daysMask, int size) {
+        LOGGER.debug("findPage(): {} - {} - {} - {}", afterId, deviceId, daysMask, size);
+        return this.pageSpec(SELECT_TASKS, afterId, deviceId, daysMask, size)
+                .map((row, metadata) -> TasksUtil.getFromRow(row))
+                .all();
+    }
+
+    @Override
+    public Mono<Task> findFieldsById(Long id, Set<TaskFieldEnum> fields) {
+        LOGGER.debug("findFieldsById(): {} - {}", id, fields);
+        final Set<TaskFieldEnum> selectedFields = TaskFieldEnum.withKeys(fields);
+        return this.databaseClient.sql(TasksUtil.getSelect(selectedFields) + " WHERE id = :id")
+                .bind("id", id)
+                .map((row, metadata) -> TasksUtil.getFromRow(row, selectedFields))
+                .one();
+    }
+
+    @Override
+    public Flux<Task> findFieldsPage(long afterId, String deviceId, int daysMask, int size, Set<TaskFieldEnum> fields) {
+        LOGGER.debug("findFieldsPage(): {} - {} - {} - {} - {}", afterId, deviceId, daysMask, size, fields);
+        final Set<TaskFieldEnum> selectedFields = TaskFieldEnum.withKeys(fields);
+        return this.pageSpec(TasksUtil.getSelect(selectedFields), afterId, deviceId, daysMask, size)
+                .map((row, metadata) -> TasksUtil.getFromRow(row, selectedFields))
+                .all();
+    }
+
+    @Override
+    public Mono<TaskVersionVO> findVersionById(Long id) {
+        LOGGER.debug("findVersionById(): {}", id);
+        return this.databaseClient.sql(SELECT_VERSIONS + " WHERE id = :id")
+                .bind("id", id)
+                .map((row, metadata) -> getVersionFromRow(row))
+                .one();
+    }
+
+    @Override
+    public Flux<TaskVersionVO> findVersionsPage(long afterId, String deviceId, int daysMask, int size) {
+        LOGGER.debug("findVersionsPage(): {} - {} - {} - {}", afterId, deviceId, daysMask, size);
+        return this.pageSpec(SELECT_VERSIONS, afterId, deviceId, daysMask, size)
+                .map((row, metadata) -> getVersionFromRow(row))
+                .all();
+    }
+
+    @Override
+    public Mono<Void> delete(Task task) {
+        LOGGER.debug("delete(): {}", task.getId());
+        return this.databaseClient.sql(DELETE_TASK)
+                .bind("id", task.getId())
+                .fetch()
+                .rowsUpdated()
+                .then();
+    }
+
+    private DatabaseClient.GenericExecuteSpec pageSpec(String select, long afterId, String deviceId, int daysMask,
+                                                       int size) {
+        String daysFilter = daysMask == 0 ? "" : " AND (execution_days_mask & :daysMask) <> 0";
+        DatabaseClient.GenericExecuteSpec spec;
+        if (Objects.isNull(deviceId)) {
+            spec = this.databaseClient.sql(select + " WHERE id > :afterId" + daysFilter + " ORDER BY id LIMIT :size");
+        } else {
+            spec = this.databaseClient.sql(select + " WHERE device_id = :deviceId AND id > :afterId" + daysFilter
+                            + " ORDER BY id LIMIT :size")
+                    .bind("deviceId", deviceId);
+        }
+        if (daysMask != 0) {
+            spec = spec.bind("daysMask", daysMask);
+        }
+        return spec.bind("afterId", afterId)
+                .bind("size", size);
+    }
+
+    private static TaskVersionVO getVersionFromRow(Row row) {
+        return new TaskVersionVO(row.get("id", Long.class),
+                TasksUtil.toZonedDateTime(row.get("updated_at", LocalDateTime.class)));
+    }
+
+    private static void bindTask(Statement statement, Task task) {
+        statement.bind("$1", task.getName())
+                .bind("$3", task.getJobId())
+                .bind("$4", task.getHour())
+                .bind("$5", task.getMinute())
+                .bind("$6", task.getExecutionDays())
+                .bind("$7", task.getExecutionCommand())
+                .bind("$9", task.getDeviceId())
+                .bind("$10", task.getDeviceAction())
+                .bind("$11", TasksUtil.toLocalDateTime(task.getCreatedAt()))
+                .bind("$12", TasksUtil.toLocalDateTime(task.getUpdatedAt()))
+                .bind("$13", task.getExecutionDaysMask());
+        if (Objects.isNull(task.getDescription())) {
+            statement.bindNull("$2", String.class);
+        } else {
+            statement.bind("$2", task.getDescription());
+        }
+        if (Objects.isNull(task.getExecuteUntil())) {
+            statement.bindNull("$8", LocalDateTime.class);
+        } else {
+            statement.bind("$8", TasksUtil.toLocalDateTime(task.getExecuteUntil()));
+        }
+    }
+
+    private DatabaseClient.GenericExecuteSpec bindTask(DatabaseClient.GenericExecuteSpec spec, Task task) {
+        spec = spec.bind("name", task.getName())
+                .bind("jobId", task.getJobId())
+                .bind("hour", task.getHour())
+                .bind("minute", task.getMinute())
+                .bind("executionDays", task.getExecutionDays())
+                .bind("executionDaysMask", task.getExecutionDaysMask())
+                .bind("executionCommand", task.getExecutionCommand())
+                .bind("deviceId", task.getDeviceId())
+                .bind("deviceAction", task.getDeviceAction())
+                .bind("createdAt", TasksUtil.toLocalDateTime(task.getCreatedAt()))
+                .bind("updatedAt", TasksUtil.toLocalDateTime(task.getUpdatedAt()));
+        spec = Objects.isNull(task.getDescription())
+                ? spec.bindNull("description", String.class)
+                : spec.bind("description", task.getDescription());
+        return Objects.isNull(task.getExecuteUntil())
+                ? spec.bindNull("executeUntil", LocalDateTime.class)
+                : spec.bind("executeUntil", TasksUtil.toLocalDateTime(task.getExecuteUntil()));
+    }
+}
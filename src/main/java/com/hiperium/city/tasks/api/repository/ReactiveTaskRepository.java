@@ -0,0 +1,50 @@
+package com.hiperium.city.tasks.api.repository;
+
+import com.hiperium.city.tasks.api.model.Task;
+import com.hiperium.city.tasks.api.utils.enums.TaskFieldEnum;
+import com.hiperium.city.tasks.api.vo.TaskVersionVO;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Set;
+
+public interface ReactiveTaskRepository {
+
+    Mono<Task> save(Task task);
+
+    /**
+     * Inserts new tasks using batched statements. Tasks are emitted in the same order they were given.
+     */
+    Flux<Task> saveAll(List<Task> tasks);
+
+    Mono<Task> findById(Long id);
+
+    Mono<Task> findByJobId(String jobId);
+
+    /**
+     * Keyset page ordered by ID: returns up to {@code size} tasks with an ID greater than {@code afterId}.
+     * The device filter is optional. The days filter returns the tasks executed on any day of the given
+     * DaysEnum mask, and it is ignored when the mask is zero.
+     */
+    Flux<Task> findPage(long afterId, String deviceId, int daysMask, int size);
+
+    /**
+     * Task with only the given fields, selecting only their columns.
+     */
+    Mono<Task> findFieldsById(Long id, Set<TaskFieldEnum> fields);
+
+    /**
+     * Same page of {@link #findPage}, selecting only the columns of the given fields.
+     */
+    Flux<Task> findFieldsPage(long afterId, String deviceId, int daysMask, int size, Set<TaskFieldEnum> fields);
+
+    Mono<TaskVersionVO> findVersionById(Long id);
+
+    /**
+     * Same page of {@link #findPage}, only with the fields that identify the version of each Task.
+     */
+    Flux<TaskVersionVO> findVersionsPage(long afterId, String deviceId, int daysMask, int size);
+
+    Mono<Void> delete(Task task);
+}
@@ -0,0 +1,73 @@
+package com.hiperium.city.tasks.api.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Leases of the timing wheel partitions. The database clock is used, so the clocks of the nodes do not need to
+ * be in sync. A node fires the Tasks of a partition only while it holds its lease.
+ */
+@Repository
+public class SchedulerLeaseRepository {
+
+    private static final String INSERT_PARTITIONS = """
+            INSERT INTO HIP_CTY_SCHEDULER_LEASES (partition_id) SELECT generate_series(0, ? - 1)
+            ON CONFLICT (partition_id) DO NOTHING
+            """;
+    private static final String RENEW_LEASES = """
+            UPDATE HIP_CTY_SCHEDULER_LEASES SET expires_at = now() + make_interval(secs => ?)
+            WHERE owner = ? AND expires_at > now() AND partition_id < ?
+            RETURNING partition_id
+            """;
+    private static final String ACQUIRE_LEASES = """
+            UPDATE HIP_CTY_SCHEDULER_LEASES SET owner = ?, expires_at = now() + make_interval(secs => ?)
+            WHERE partition_id IN (
+                SELECT partition_id FROM HIP_CTY_SCHEDULER_LEASES
+                WHERE (owner IS NULL OR expires_at <= now()) AND partition_id < ?
+                ORDER BY partition_id LIMIT ? FOR UPDATE SKIP LOCKED)
+            RETURNING partition_id
+            """;
+    private static final String RELEASE_LEASE = """
+            UPDATE HIP_CTY_SCHEDULER_LEASES SET owner = NULL, expires_at = NULL WHERE owner = ? AND partition_id = ?
+            """;
+    private static final String RELEASE_ALL_LEASES = """
+            UPDATE HIP_CTY_SCHEDULER_LEASES SET owner = NULL, expires_at = NULL WHERE owner = ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public SchedulerLeaseRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void createPartitions(int partitions) {
+        this.jdbcTemplate.update(INSERT_PARTITIONS, partitions);
+    }
+
+    /**
+     * Extends the leases still held by the owner, and returns their partitions. Leases that expired are lost.
+     */
+    public List<Integer> renew(String owner, int partitions, long leaseSeconds) {
+        return this.jdbcTemplate.queryForList(RENEW_LEASES, Integer.class, (double) leaseSeconds, owner, partitions);
+    }
+
+    /**
+     * Acquires up to the given number of free or expired leases. Nodes acquiring at the same time skip the rows
+     * locked by each other.
+     */
+    public List<Integer> acquire(String owner, int partitions, int count, long leaseSeconds) {
+        return this.jdbcTemplate.queryForList(ACQUIRE_LEASES, Integer.class, owner, (double) leaseSeconds, partitions, count);
+    }
+
+    public void release(String owner, List<Integer> partitionIds) {
+        this.jdbcTemplate.batchUpdate(RELEASE_LEASE, partitionIds.stream()
+                .map(partitionId -> new Object[]{owner, partitionId})
+                .toList());
+    }
+
+    public void releaseAll(String owner) {
+        this.jdbcTemplate.update(RELEASE_ALL_LEASES, owner);
+    }
+}
@@ -0,0 +1,42 @@
+package com.hiperium.city.tasks.api.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Heartbeats of the nodes that share the scheduler shards. The database clock is used, so the clocks of the
+ * nodes do not need to be in sync.
+ */
+@Repository
+public class SchedulerNodeRepository {
+
+    private static final String UPSERT_HEARTBEAT = """
+            INSERT INTO HIP_CTY_SCHEDULER_NODES (node_name, heartbeat_at) VALUES (?, now())
+            ON CONFLICT (node_name) DO UPDATE SET heartbeat_at = EXCLUDED.heartbeat_at
+            """;
+    private static final String SELECT_LIVE_NODES = """
+            SELECT node_name FROM HIP_CTY_SCHEDULER_NODES
+            WHERE heartbeat_at > now() - make_interval(secs => ?) ORDER BY node_name
+            """;
+    private static final String DELETE_NODE = "DELETE FROM HIP_CTY_SCHEDULER_NODES WHERE node_name = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public SchedulerNodeRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void heartbeat(String nodeName) {
+        this.jdbcTemplate.update(UPSERT_HEARTBEAT, nodeName);
+    }
+
+    public List<String> findLiveNodes(long timeoutSeconds) {
+        return this.jdbcTemplate.queryForList(SELECT_LIVE_NODES, String.class, (double) timeoutSeconds);
+    }
+
+    public void delete(String nodeName) {
+        this.jdbcTemplate.update(DELETE_NODE, nodeName);
+    }
+}
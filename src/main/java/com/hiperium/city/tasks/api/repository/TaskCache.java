@@ -0,0 +1,152 @@
+package com.hiperium.city.tasks.api.repository;
+
+import com.hiperium.city.tasks.api.model.Task;
+import com.hiperium.city.tasks.api.vo.TaskCacheStatsVO;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps the Hibernate second-level cache of Tasks consistent between nodes. A trigger on the Tasks table publishes
+ * the ID of every updated or deleted Task with a PostgreSQL notification, and every node evicts it from its cache.
+ * The whole cache is evicted when the notifications connection is lost, because the missed changes are unknown.
+ */
+@Component
+public class TaskCache {
+
+    // Same channel of the trigger created by the V2.11.0 migration.
+    public static final String CHANNEL = "city_tasks_changes";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TaskCache.class);
+    private static final int LISTEN_TIMEOUT_MILLIS = 1000;
+    private static final long RECONNECT_DELAY_MILLIS = 5000L;
+
+    private final SessionFactory sessionFactory;
+    private final DataSource dataSource;
+    private final boolean enabled;
+    private final AtomicLong invalidationCount = new AtomicLong();
+
+    private volatile boolean running;
+    private Thread listener;
+
+    public TaskCache(EntityManagerFactory entityManagerFactory, DataSource dataSource) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        this.dataSource = dataSource;
+        this.enabled = this.sessionFactory.getSessionFactoryOptions().isSecondLevelCacheEnabled();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!this.enabled) {
+            LOGGER.info("The second-level cache is disabled, the Task changes are not listened.");
+            return;
+        }
+        this.running = true;
+        this.listener = new Thread(this::listen, "task-cache-listener");
+        this.listener.setDaemon(true);
+        this.listener.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (!this.running) {
+            return;
+        }
+        this.running = false;
+        this.listener.interrupt();
+    }
+
+    /**
+     * The natural IDs of the deleted Tasks are left in the cache, because they resolve to an evicted Task.
+     */
+    public void evict(Long id) {
+        this.sessionFactory.getCache().evictEntityData(Task.class, id);
+        this.invalidationCount.incrementAndGet();
+    }
+
+    public void evictAll() {
+        this.sessionFactory.getCache().evictEntityData(Task.class);
+        this.sessionFactory.getCache().evictNaturalIdData(Task.class);
+    }
+
+    /**
+     * The hit rates are only collected when the Hibernate statistics are enabled.
+     */
+    public TaskCacheStatsVO getStats() {
+        Statistics statistics = this.sessionFactory.getStatistics();
+        if (!this.enabled || !statistics.isStatisticsEnabled()) {
+            return new TaskCacheStatsVO(0L, 0L, 0.0, 0L, 0L, 0.0, this.invalidationCount.get());
+        }
+        CacheRegionStatistics tasksStats = statistics.getDomainDataRegionStatistics(Task.CACHE_REGION);
+        CacheRegionStatistics jobIdsStats = statistics.getDomainDataRegionStatistics(Task.JOB_ID_CACHE_REGION);
+        return new TaskCacheStatsVO(tasksStats.getHitCount(), tasksStats.getMissCount(),
+                getHitRate(tasksStats), jobIdsStats.getHitCount(), jobIdsStats.getMissCount(),
+                getHitRate(jobIdsStats), this.invalidationCount.get());
+    }
+
+    /**
+     * Listens to the Task changes with a dedicated connection, reconnecting when the connection is lost.
+     */
+    private void listen() {
+        while (this.running) {
+            try (Connection connection = this.dataSource.getConnection()) {
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+                // The changes published while the node was not listening are lost.
+                this.evictAll();
+                while (this.running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(LISTEN_TIMEOUT_MILLIS);
+                    if (Objects.nonNull(notifications)) {
+                        for (PGNotification notification : notifications) {
+                            this.onTaskChange(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException | RuntimeException e) {
+                if (this.running) {
+                    LOGGER.warn("Task changes connection lost: {}", e.getMessage());
+                    this.sleep();
+                }
+            }
+        }
+    }
+
+    private void onTaskChange(String payload) {
+        try {
+            this.evict(Long.parseLong(payload));
+        } catch (NumberFormatException e) {
+            LOGGER.error("Invalid Task change notification: {}", payload);
+        }
+    }
+
+    private static double getHitRate(CacheRegionStatistics regionStatistics) {
+        long requestCount = regionStatistics.getHitCount() + regionStatistics.getMissCount();
+        return requestCount == 0L ? 0.0 : (double) regionStatistics.getHitCount() / requestCount;
+    }
+
+    private void sleep() {
+        try {
+            Thread.sleep(RECONNECT_DELAY_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.hiperium.city.tasks.api.repository;
+
+import com.hiperium.city.tasks.api.model.Task;
+
+public interface TaskDetailsRepository {
+
+    /**
+     * Finds the Task with its lazy details, so they can be read after the session is closed.
+     */
+    Task findWithDetailsById(Long id);
+}
@@ -0,0 +1,25 @@
+package com.hiperium.city.tasks.api.repository;
+
+import com.hiperium.city.tasks.api.model.Task;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Objects;
+
+public class TaskDetailsRepositoryImpl implements TaskDetailsRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional(readOnly = true)
+    public Task findWithDetailsById(Long id) {
+        Task task = this.entityManager.find(Task.class, id);
+        if (Objects.nonNull(task)) {
+            // Reading one attribute of the lazy group loads the whole group.
+            task.getDescription();
+        }
+        return task;
+    }
+}
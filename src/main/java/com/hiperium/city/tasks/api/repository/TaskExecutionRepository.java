@@ -0,0 +1,106 @@
+package com.hiperium.city.tasks.api.repository;
+
+import com.hiperium.city.tasks.api.model.TaskExecution;
+import com.hiperium.city.tasks.api.utils.TasksUtil;
+import com.hiperium.city.tasks.api.utils.enums.ExecutionOutcomeEnum;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Objects;
+
+@Repository
+public class TaskExecutionRepository {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TaskExecutionRepository.class);
+
+    private static final String INSERT_EXECUTION = """
+            INSERT INTO HIP_CTY_TASK_EXECUTIONS (task_id, job_id, device_id, device_action, scheduled_fire_time,
+                actual_fire_time, outcome, error_message, task_lookup_micros, device_read_micros, device_write_micros,
+                total_micros)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+    private static final String SELECT_EXECUTIONS_PAGE = """
+            SELECT id, task_id, job_id, device_id, device_action, scheduled_fire_time, actual_fire_time, outcome,
+                error_message, task_lookup_micros, device_read_micros, device_write_micros, total_micros
+            FROM HIP_CTY_TASK_EXECUTIONS
+            WHERE job_id = ? AND id < ?
+            ORDER BY id DESC
+            LIMIT ?
+            """;
+    private static final int MAX_ERROR_MESSAGE_LENGTH = 255;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TaskExecutionRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Inserts the executions with JDBC batches, rewritten by the driver as multi-row inserts.
+     */
+    public void saveAll(List<TaskExecution> executions, int batchSize) {
+        LOGGER.debug("saveAll(): {}", executions.size());
+        this.jdbcTemplate.batchUpdate(INSERT_EXECUTION, executions, batchSize, TaskExecutionRepository::bindExecution);
+    }
+
+    /**
+     * Finds a page of executions of the given Job, from the newest to the oldest one.
+     */
+    public List<TaskExecution> findPage(String jobId, long beforeId, int size) {
+        LOGGER.debug("findPage(): {} - {} - {}", jobId, beforeId, size);
+        return this.jdbcTemplate.query(SELECT_EXECUTIONS_PAGE, EXECUTION_ROW_MAPPER, jobId, beforeId, size);
+    }
+
+    private static void bindExecution(PreparedStatement statement, TaskExecution execution) throws SQLException {
+        statement.setObject(1, execution.getTaskId(), Types.BIGINT);
+        statement.setString(2, execution.getJobId());
+        statement.setString(3, execution.getDeviceId());
+        statement.setString(4, execution.getDeviceAction());
+        statement.setTimestamp(5, toTimestamp(execution.getScheduledFireTime()));
+        statement.setTimestamp(6, toTimestamp(execution.getActualFireTime()));
+        statement.setString(7, execution.getOutcome().name());
+        String errorMessage = execution.getErrorMessage();
+        statement.setString(8, Objects.nonNull(errorMessage) && errorMessage.length() > MAX_ERROR_MESSAGE_LENGTH
+                ? errorMessage.substring(0, MAX_ERROR_MESSAGE_LENGTH) : errorMessage);
+        statement.setObject(9, execution.getTaskLookupMicros(), Types.BIGINT);
+        statement.setObject(10, execution.getDeviceReadMicros(), Types.BIGINT);
+        statement.setObject(11, execution.getDeviceWriteMicros(), Types.BIGINT);
+        statement.setObject(12, execution.getTotalMicros(), Types.BIGINT);
+    }
+
+    private static final RowMapper<TaskExecution> EXECUTION_ROW_MAPPER = (resultSet, rowNum) -> {
+        TaskExecution execution = new TaskExecution(resultSet.getString("job_id"),
+                toZonedDateTime(resultSet.getTimestamp("scheduled_fire_time")),
+                toZonedDateTime(resultSet.getTimestamp("actual_fire_time")));
+        execution.setId(resultSet.getLong("id"));
+        execution.setTaskId(resultSet.getObject("task_id", Long.class));
+        execution.setDeviceId(resultSet.getString("device_id"));
+        execution.setDeviceAction(resultSet.getString("device_action"));
+        execution.setOutcome(ExecutionOutcomeEnum.valueOf(resultSet.getString("outcome")));
+        execution.setErrorMessage(resultSet.getString("error_message"));
+        execution.setTaskLookupMicros(resultSet.getObject("task_lookup_micros", Long.class));
+        execution.setDeviceReadMicros(resultSet.getObject("device_read_micros", Long.class));
+        execution.setDeviceWriteMicros(resultSet.getObject("device_write_micros", Long.class));
+        execution.setTotalMicros(resultSet.getObject("total_micros", Long.class));
+        return execution;
+    };
+
+    private static Timestamp toTimestamp(ZonedDateTime dateTime) {
+        LocalDateTime localDateTime = TasksUtil.toLocalDateTime(dateTime);
+        return Objects.isNull(localDateTime) ? null : Timestamp.valueOf(localDateTime);
+    }
+
+    private static ZonedDateTime toZonedDateTime(Timestamp timestamp) {
+        return Objects.isNull(timestamp) ? null : TasksUtil.toZonedDateTime(timestamp.toLocalDateTime());
+    }
+}
@@ -0,0 +1,84 @@
+package com.hiperium.city.tasks.api.repository;
+
+import com.hiperium.city.tasks.api.model.TaskExecution;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Buffers the Task executions in a bounded queue and writes them in batches from a single background thread,
+ * so the fire path never waits for the database. When the buffer is full, new executions are dropped and counted.
+ */
+@Component
+public class TaskExecutionWriter {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TaskExecutionWriter.class);
+
+    private final TaskExecutionRepository taskExecutionRepository;
+    private final BlockingQueue<TaskExecution> buffer;
+    private final int batchSize;
+    private final long flushIntervalMillis;
+    private final AtomicLong dropped = new AtomicLong();
+    private final Scheduler writerScheduler = Schedulers.newSingle("task-executions-writer");
+
+    public TaskExecutionWriter(TaskExecutionRepository taskExecutionRepository,
+                               @Value("${hiperium.city.tasks.executions.buffer-capacity}") int bufferCapacity,
+                               @Value("${hiperium.city.tasks.executions.batch-size}") int batchSize,
+                               @Value("${hiperium.city.tasks.executions.flush-interval-millis}") long flushIntervalMillis) {
+        this.taskExecutionRepository = taskExecutionRepository;
+        this.buffer = new ArrayBlockingQueue<>(bufferCapacity);
+        this.batchSize = batchSize;
+        this.flushIntervalMillis = flushIntervalMillis;
+    }
+
+    @PostConstruct
+    public void start() {
+        this.writerScheduler.schedulePeriodically(this::flush, this.flushIntervalMillis, this.flushIntervalMillis,
+                TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        this.writerScheduler.dispose();
+        this.flush();
+    }
+
+    public void record(TaskExecution execution) {
+        if (!this.buffer.offer(execution)) {
+            long droppedCount = this.dropped.incrementAndGet();
+            LOGGER.warn("Task executions buffer is full. Execution of Job {} dropped. Total dropped: {}",
+                    execution.getJobId(), droppedCount);
+        }
+    }
+
+    public long getDroppedCount() {
+        return this.dropped.get();
+    }
+
+    /**
+     * Writes every buffered execution. Runs in the writer thread, or in the caller thread on shutdown and in tests.
+     */
+    public synchronized void flush() {
+        List<TaskExecution> executions = new ArrayList<>(this.batchSize);
+        while (this.buffer.drainTo(executions, this.batchSize) > 0) {
+            try {
+                this.taskExecutionRepository.saveAll(executions, this.batchSize);
+            } catch (RuntimeException e) {
+                LOGGER.error("Error writing {} Task executions: {}", executions.size(), e.getMessage());
+            }
+            executions.clear();
+        }
+    }
+}
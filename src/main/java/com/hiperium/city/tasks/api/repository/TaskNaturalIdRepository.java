@@ -0,0 +1,11 @@
+package com.hiperium.city.tasks.api.repository;
+
+import com.hiperium.city.tasks.api.model.Task;
+
+public interface TaskNaturalIdRepository {
+
+    /**
+     * Finds the Task by its natural ID, so the second-level cache resolves the Job ID without a query.
+     */
+    Task findByJobId(String jobId);
+}
@@ -0,0 +1,21 @@
+package com.hiperium.city.tasks.api.repository;
+
+import com.hiperium.city.tasks.api.model.Task;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+public class TaskNaturalIdRepositoryImpl implements TaskNaturalIdRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional(readOnly = true)
+    public Task findByJobId(String jobId) {
+        return this.entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(Task.class)
+                .load(jobId);
+    }
+}
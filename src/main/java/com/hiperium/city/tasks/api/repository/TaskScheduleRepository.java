@@ -0,0 +1,93 @@
+package com.hiperium.city.tasks.api.repository;
+
+import com.hiperium.city.tasks.api.model.Task;
+import com.hiperium.city.tasks.api.utils.TasksUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Finds the Tasks by their schedule for the shared Triggers and the timing wheel. The Tasks only have the fields
+ * needed to fire them.
+ */
+@Repository
+public class TaskScheduleRepository {
+
+    /**
+     * Channel of the Job IDs of the changed schedules, published by a trigger on the Tasks table.
+     */
+    public static final String CHANNEL = "city_tasks_schedules";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TaskScheduleRepository.class);
+
+    private static final String SELECT_SCHEDULES = """
+            SELECT DISTINCT task_hour, task_minute, execution_days_mask FROM HIP_CTY_TASKS
+            """;
+    private static final String SELECT_TASKS_BY_SCHEDULE = """
+            SELECT id, job_id, device_id, device_action, execute_until FROM HIP_CTY_TASKS
+            WHERE task_hour = ? AND task_minute = ? AND execution_days_mask = ?
+            """;
+    private static final String SELECT_TASKS_BY_JOB_IDS = """
+            SELECT id, job_id, device_id, device_action, execute_until, task_hour, task_minute, execution_days_mask
+            FROM HIP_CTY_TASKS WHERE job_id = ANY(?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TaskScheduleRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Returns one Task with the hour, minute and execution days of every distinct schedule.
+     */
+    public List<Task> findSchedules() {
+        LOGGER.debug("findSchedules() - START");
+        return this.jdbcTemplate.query(SELECT_SCHEDULES, SCHEDULE_ROW_MAPPER);
+    }
+
+    public List<Task> findBySchedule(int hour, int minute, int executionDaysMask) {
+        LOGGER.debug("findBySchedule(): {} - {} - {}", hour, minute, executionDaysMask);
+        return this.jdbcTemplate.query(SELECT_TASKS_BY_SCHEDULE, TASK_ROW_MAPPER, hour, minute, executionDaysMask);
+    }
+
+    /**
+     * Returns the Tasks that still exist, with their schedule.
+     */
+    public List<Task> findByJobIds(Collection<String> jobIds) {
+        LOGGER.debug("findByJobIds(): {}", jobIds.size());
+        return this.jdbcTemplate.query(SELECT_TASKS_BY_JOB_IDS, preparedStatement -> preparedStatement.setArray(1,
+                        preparedStatement.getConnection().createArrayOf("varchar", jobIds.toArray())),
+                (resultSet, rowNum) -> {
+                    Task task = TASK_ROW_MAPPER.mapRow(resultSet, rowNum);
+                    task.setHour(resultSet.getInt("task_hour"));
+                    task.setMinute(resultSet.getInt("task_minute"));
+                    task.setExecutionDaysMask(resultSet.getInt("execution_days_mask"));
+                    return task;
+                });
+    }
+
+    private static final RowMapper<Task> SCHEDULE_ROW_MAPPER = (resultSet, rowNum) -> Task.builder()
+            .hour(resultSet.getInt("task_hour"))
+            .minute(resultSet.getInt("task_minute"))
+            .executionDaysMask(resultSet.getInt("execution_days_mask"))
+            .build();
+
+    private static final RowMapper<Task> TASK_ROW_MAPPER = (resultSet, rowNum) -> {
+        Timestamp executeUntil = resultSet.getTimestamp("execute_until");
+        return Task.builder()
+                .id(resultSet.getLong("id"))
+                .jobId(resultSet.getString("job_id"))
+                .deviceId(resultSet.getString("device_id"))
+                .deviceAction(resultSet.getString("device_action"))
+                .executeUntil(Objects.isNull(executeUntil) ? null : TasksUtil.toZonedDateTime(executeUntil.toLocalDateTime()))
+                .build();
+    };
+}
@@ -1,77 +1,209 @@
 package com.hiperium.city.tasks.api.service;
 
+import com.hiperium.city.tasks.api.exception.InvalidRequestException;
 import com.hiperium.city.tasks.api.exception.ResourceNotFoundException;
 import com.hiperium.city.tasks.api.exception.TaskScheduleException;
+import com.hiperium.city.tasks.api.job.TaskSchedulingEngine;
 import com.hiperium.city.tasks.api.model.Task;
-import com.hiperium.city.tasks.api.repository.TaskRepository;
-import com.hiperium.city.tasks.api.utils.JobsUtil;
+import com.hiperium.city.tasks.api.repository.ReactiveTaskRepository;
+import com.hiperium.city.tasks.api.repository.TaskExecutionRepository;
+import com.hiperium.city.tasks.api.utils.JobIdGenerator;
 import com.hiperium.city.tasks.api.utils.TasksUtil;
-import org.quartz.*;
-import org.quartz.impl.matchers.GroupMatcher;
+import com.hiperium.city.tasks.api.utils.enums.DaysEnum;
+import com.hiperium.city.tasks.api.utils.enums.TaskFieldEnum;
+import com.hiperium.city.tasks.api.vo.TaskExecutionPageVO;
+import com.hiperium.city.tasks.api.vo.TaskPageVO;
+import com.hiperium.city.tasks.api.vo.TaskVersionVO;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
-import reactor.core.scheduler.Schedulers;
 
 import java.time.ZonedDateTime;
-import java.util.Date;
-import java.util.Objects;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.function.Function;
 
 @Service
 public class TaskService {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(TaskService.class);
 
-    @Value("${hiperium.city.tasks.time.zone.id}")
-    private String zoneId;
+    @Value("${hiperium.city.tasks.bulk.batch-size}")
+    private int bulkBatchSize;
 
-    private final Scheduler quartzScheduler;
-    private final TaskRepository taskRepository;
+    @Value("${hiperium.city.tasks.page.default-size}")
+    private int defaultPageSize;
 
-    public TaskService(Scheduler quartzScheduler, TaskRepository taskRepository) {
-        this.quartzScheduler = quartzScheduler;
+    @Value("${hiperium.city.tasks.page.max-size}")
+    private int maxPageSize;
+
+    private final TaskSchedulingEngine schedulingEngine;
+    private final ReactiveTaskRepository taskRepository;
+    private final TaskExecutionRepository taskExecutionRepository;
+    private final JobIdGenerator jobIdGenerator;
+    private final reactor.core.scheduler.Scheduler blockingScheduler;
+
+    public TaskService(TaskSchedulingEngine schedulingEngine, ReactiveTaskRepository taskRepository,
+                       TaskExecutionRepository taskExecutionRepository, JobIdGenerator jobIdGenerator,
+                       reactor.core.scheduler.Scheduler blockingScheduler) {
+        this.schedulingEngine = schedulingEngine;
         this.taskRepository = taskRepository;
+        this.taskExecutionRepository = taskExecutionRepository;
+        this.jobIdGenerator = jobIdGenerator;
+        this.blockingScheduler = blockingScheduler;
     }
 
     public Mono<Task> create(Mono<Task> task) {
         LOGGER.debug("create(): {}", task);
         return task
                 .map(TasksUtil::validateTaskId)
+                .publishOn(this.blockingScheduler)
                 .map(this::createAndScheduleJob)
-                .publishOn(Schedulers.boundedElastic())
-                .map(scheduledTask -> {
-                    scheduledTask.setCreatedAt(ZonedDateTime.now());
-                    scheduledTask.setUpdatedAt(ZonedDateTime.now());
+                .flatMap(scheduledTask -> {
+                    ZonedDateTime now = now();
+                    scheduledTask.setCreatedAt(now);
+                    scheduledTask.setUpdatedAt(now);
                     return this.taskRepository.save(scheduledTask);
                 });
     }
 
+    /**
+     * Creates tasks in batches: one scheduling call and one batched insert per batch.
+     */
+    public Flux<Task> createAll(Flux<Task> tasks) {
+        LOGGER.debug("createAll() - START");
+        return tasks
+                .map(TasksUtil::validateTaskId)
+                .buffer(this.bulkBatchSize)
+                .publishOn(this.blockingScheduler)
+                .concatMap(tasksBatch -> {
+                    this.createAndScheduleJobs(tasksBatch);
+                    ZonedDateTime now = now();
+                    tasksBatch.forEach(scheduledTask -> {
+                        scheduledTask.setCreatedAt(now);
+                        scheduledTask.setUpdatedAt(now);
+                    });
+                    return this.taskRepository.saveAll(tasksBatch);
+                });
+    }
+
     public Mono<Task> findById(Long id) {
         LOGGER.debug("findById(): {}", id);
-        return Mono.fromSupplier(() -> this.taskRepository.findById(id)
-                        .orElseThrow(() -> new ResourceNotFoundException("Task not found with ID: " + id + ".")))
-                .subscribeOn(Schedulers.boundedElastic());
+        return this.taskRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Task not found with ID: " + id + ".")));
+    }
+
+    /**
+     * Finds the Task with only the requested fields, or with every field when they are null.
+     */
+    public Mono<Task> findById(Long id, Set<TaskFieldEnum> fields) {
+        if (Objects.isNull(fields)) {
+            return this.findById(id);
+        }
+        LOGGER.debug("findById(): {} - {}", id, fields);
+        return this.taskRepository.findFieldsById(id, fields)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Task not found with ID: " + id + ".")));
+    }
+
+    /**
+     * Finds the version of a Task without loading it, to validate the ETag of conditional requests.
+     */
+    public Mono<TaskVersionVO> findVersionById(Long id) {
+        LOGGER.debug("findVersionById(): {}", id);
+        return this.taskRepository.findVersionById(id)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Task not found with ID: " + id + ".")));
+    }
+
+    /**
+     * ETag of the same page returned by {@link #findPage}, reading only the ID and update time of its Tasks.
+     */
+    public Mono<String> findPageETag(String pageToken, Integer size, String deviceId, String executionDays,
+                                     Set<TaskFieldEnum> fields) {
+        LOGGER.debug("findPageETag(): {} - {} - {} - {} - {}", pageToken, size, deviceId, executionDays, fields);
+        final long afterId = TasksUtil.decodePageToken(pageToken);
+        final int pageSize = this.getPageSize(size);
+        final int daysMask = DaysEnum.toMask(executionDays);
+        return this.taskRepository.findVersionsPage(afterId, deviceId, daysMask, pageSize)
+                .collectList()
+                .map(versions -> Objects.isNull(fields)
+                        ? TasksUtil.getPageETag(versions) : TasksUtil.getPageETag(versions, fields));
+    }
+
+    /**
+     * The execution days filter accepts the same format as the Task, and returns the Tasks executed on any of them.
+     */
+    public Mono<TaskPageVO> findPage(String pageToken, Integer size, String deviceId, String executionDays) {
+        return this.findPage(pageToken, size, deviceId, executionDays, null);
+    }
+
+    /**
+     * Only the columns of the requested fields are selected, or every column when they are null.
+     */
+    public Mono<TaskPageVO> findPage(String pageToken, Integer size, String deviceId, String executionDays,
+                                     Set<TaskFieldEnum> fields) {
+        LOGGER.debug("findPage(): {} - {} - {} - {} - {}", pageToken, size, deviceId, executionDays, fields);
+        final long afterId = TasksUtil.decodePageToken(pageToken);
+        final int pageSize = this.getPageSize(size);
+        final int daysMask = DaysEnum.toMask(executionDays);
+        return (Objects.isNull(fields)
+                ? this.taskRepository.findPage(afterId, deviceId, daysMask, pageSize)
+                : this.taskRepository.findFieldsPage(afterId, deviceId, daysMask, pageSize, fields))
+                .collectList()
+                .map(tasks -> new TaskPageVO(tasks, tasks.size() < pageSize
+                        ? null : TasksUtil.encodePageToken(tasks.get(tasks.size() - 1).getId())));
+    }
+
+    /**
+     * Finds the executions of a Task from the newest to the oldest one. The executions are related to the Task
+     * by its Job ID, because the Job data does not carry the Task ID.
+     */
+    public Mono<TaskExecutionPageVO> findExecutionsPage(Long id, String pageToken, Integer size) {
+        LOGGER.debug("findExecutionsPage(): {} - {} - {}", id, pageToken, size);
+        final long decodedId = TasksUtil.decodePageToken(pageToken);
+        final long beforeId = decodedId == 0L ? Long.MAX_VALUE : decodedId;
+        final int pageSize = this.getPageSize(size);
+        return this.findById(id)
+                .publishOn(this.blockingScheduler)
+                .map(task -> this.taskExecutionRepository.findPage(task.getJobId(), beforeId, pageSize))
+                .map(executions -> new TaskExecutionPageVO(executions, executions.size() < pageSize
+                        ? null : TasksUtil.encodePageToken(executions.get(executions.size() - 1).getId())));
     }
 
+    /**
+     * Streams every Task one keyset page at a time, so only one page is held in memory.
+     */
     public Flux<Task> findAll() {
-        return Flux.fromIterable(this.taskRepository.findAll())
-                .subscribeOn(Schedulers.boundedElastic());
+        return this.taskRepository.findPage(0L, null, 0, this.maxPageSize)
+                .collectList()
+                .expand(tasks -> tasks.size() < this.maxPageSize ? Mono.<List<Task>>empty()
+                        : this.taskRepository.findPage(tasks.get(tasks.size() - 1).getId(), null, 0, this.maxPageSize).collectList())
+                .flatMapIterable(Function.identity());
+    }
+
+    /**
+     * Schedules again every Task, one batch at a time. Used by the RAM Job Store, that loses the Jobs when the
+     * application stops. Returns the number of scheduled Tasks.
+     */
+    public Mono<Long> rehydrateJobs() {
+        LOGGER.debug("rehydrateJobs() - START");
+        return this.findAll()
+                .buffer(this.bulkBatchSize)
+                .publishOn(this.blockingScheduler)
+                .map(this.schedulingEngine::restore)
+                .reduce(0L, Long::sum);
     }
 
     public Mono<Task> update(Long id, Mono<Task> task) {
-        LOGGER.debug("update(): {}", task);
+        LOGGER.debug("update(): {}", id);
         return this.findById(id)
-                .map(this::getCurrentTrigger)
-                .switchIfEmpty(task
-                        .map(this::createAndScheduleJob)
-                        .map(this::getCurrentTrigger))
-                .publishOn(Schedulers.boundedElastic())
-                .mapNotNull(currentTrigger -> this.rescheduleJob(currentTrigger, task.block()))
-                .map(scheduledTask -> {
-                    scheduledTask.setUpdatedAt(ZonedDateTime.now());
+                .zipWith(task)
+                .publishOn(this.blockingScheduler)
+                .map(actualAndModifiedTask -> this.rescheduleJob(actualAndModifiedTask.getT1(), actualAndModifiedTask.getT2()))
+                .flatMap(scheduledTask -> {
+                    scheduledTask.setUpdatedAt(now());
                     return this.taskRepository.save(scheduledTask);
                 });
     }
@@ -79,81 +211,57 @@ public class TaskService {
     public Mono<Void> delete(final Long id) {
         LOGGER.debug("delete(): {}", id);
         return this.findById(id)
-                .publishOn(Schedulers.boundedElastic())
-                .map(task -> {
-                    this.taskRepository.delete(task);
-                    return task;
-                })
-                .publishOn(Schedulers.boundedElastic())
-                .map(this::getCurrentTrigger)
-                .map(currentTrigger -> this.unscheduleJob(id, currentTrigger))
+                .flatMap(task -> this.taskRepository.delete(task).thenReturn(task))
+                .publishOn(this.blockingScheduler)
+                .doOnNext(this::unscheduleJob)
                 .then();
     }
 
+    /**
+     * Postgres stores the timestamps in microseconds, so the returned Tasks have the same ETag once stored.
+     */
+    private static ZonedDateTime now() {
+        return ZonedDateTime.now().truncatedTo(ChronoUnit.MICROS);
+    }
+
+    private int getPageSize(Integer size) {
+        if (Objects.isNull(size)) {
+            return this.defaultPageSize;
+        }
+        if (size < 1) {
+            throw new InvalidRequestException("The page size must be greater than zero.");
+        }
+        return Math.min(size, this.maxPageSize);
+    }
+
     private Task createAndScheduleJob(final Task task) {
         LOGGER.debug("createAndScheduleJob() - BEGIN: {}", task.getName());
-        task.setJobId(TasksUtil.generateJobId());
-        JobDetail job = JobsUtil.createJobDetailFromTask(task);
-        Trigger trigger = JobsUtil.createCronTriggerFromTask(task, this.zoneId);
-        try {
-            this.quartzScheduler.scheduleJob(job, trigger);
-        } catch (SchedulerException e) {
-            throw new TaskScheduleException(e.getMessage());
-        }
+        task.setJobId(this.jobIdGenerator.nextId());
+        this.schedulingEngine.schedule(task);
         LOGGER.debug("createAndScheduleJob() - END");
         return task;
     }
 
-    private Trigger getCurrentTrigger(Task task) {
-        LOGGER.debug("getCurrentTrigger() - BEGIN: {}", task.getId());
-        if (Objects.isNull(task.getJobId())) {
-            throw new TaskScheduleException("Try to find Trigger with NULL Job ID for Task: " + task.getId() + ".");
-        }
-        Trigger trigger = null;
-        try {
-            for (JobKey jobKey : this.quartzScheduler.getJobKeys(GroupMatcher.jobGroupEquals(JobsUtil.TASK_GROUP_NAME))) {
-                LOGGER.debug("Existing JobKey found: {}", jobKey);
-                if (jobKey.getName().equals(task.getJobId())) {
-                    TriggerKey triggerKey = TriggerKey.triggerKey(task.getJobId(), JobsUtil.TASK_GROUP_NAME);
-                    LOGGER.debug("Existing TriggerKey found: {}", triggerKey);
-                    trigger = this.quartzScheduler.getTrigger(triggerKey);
-                }
-            }
-        } catch (SchedulerException e) {
-            LOGGER.error("Error getting current trigger: {}", e.getMessage());
-        }
-        LOGGER.debug("getTrigger() - END");
-        return trigger;
-    }
-
-    private Task rescheduleJob(Trigger actualTrigger, Task task) {
-        LOGGER.debug("Actual trigger to update: {}", actualTrigger);
-        Trigger newTrigger = JobsUtil.createCronTriggerFromTask(task, this.zoneId);
-        Date newTriggerFirstFire;
-        try {
-            newTriggerFirstFire = this.quartzScheduler.rescheduleJob(actualTrigger.getKey(), newTrigger);
-            if (Objects.isNull(newTriggerFirstFire)) {
-                throw new TaskScheduleException("Cannot reschedule the Trigger for the Task ID: " + task.getId());
-            } else {
-                LOGGER.debug("Successfully rescheduled trigger for Task ID: {}", task.getId());
-                LOGGER.debug("The next fire date for Task ID: {} will be: {}", task.getId(), newTriggerFirstFire);
-            }
-        } catch (SchedulerException e) {
-            throw new TaskScheduleException(e.getMessage());
-        }
+    private void createAndScheduleJobs(final List<Task> tasks) {
+        LOGGER.debug("createAndScheduleJobs() - BEGIN: {}", tasks.size());
+        tasks.forEach(task -> task.setJobId(this.jobIdGenerator.nextId()));
+        this.schedulingEngine.scheduleAll(tasks);
+        LOGGER.debug("createAndScheduleJobs() - END");
+    }
+
+    private Task rescheduleJob(Task actualTask, Task task) {
+        // The identity of the stored Task cannot be changed by the request body.
+        task.setId(actualTask.getId());
+        task.setJobId(actualTask.getJobId());
+        task.setCreatedAt(actualTask.getCreatedAt());
+        this.schedulingEngine.reschedule(actualTask, task);
         return task;
     }
 
-    private Mono<Void> unscheduleJob(Long id, Trigger currentTrigger) {
-        try {
-            boolean unscheduledJob = this.quartzScheduler.unscheduleJob(currentTrigger.getKey());
-            if (unscheduledJob) {
-                LOGGER.debug("Job unscheduled for Task: {}", id);
-            }
-        } catch (SchedulerException e) {
-            LOGGER.error("Error deleting the Scheduled Job for Task: {}", id);
-            LOGGER.error(e.getMessage());
+    private void unscheduleJob(Task task) {
+        if (Objects.isNull(task.getJobId())) {
+            throw new TaskScheduleException("Try to unschedule a Job with NULL Job ID for Task: " + task.getId() + ".");
         }
-        return Mono.empty();
+        this.schedulingEngine.unschedule(task);
     }
 }
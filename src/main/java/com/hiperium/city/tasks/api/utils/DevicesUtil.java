@@ -2,12 +2,10 @@ package com.hiperium.city.tasks.api.utils;
 
 import com.hiperium.city.tasks.api.model.Device;
 import com.hiperium.city.tasks.api.model.Task;
-import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
-import software.amazon.awssdk.services.dynamodb.model.GetItemRequest;
-import software.amazon.awssdk.services.dynamodb.model.GetItemResponse;
-import software.amazon.awssdk.services.dynamodb.model.PutItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.*;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 
@@ -28,24 +26,76 @@ public final class DevicesUtil {
         return device;
     }
 
+    public static Device copyDevice(Device device) {
+        return Device.builder()
+                .id(device.getId())
+                .name(device.getName())
+                .description(device.getDescription())
+                .status(device.getStatus())
+                .build();
+    }
+
     public static Device changeDeviceStatus(Device device, Task task) {
-        if ("ACTIVATE".equals(task.getDeviceAction())) {
-            device.setStatus("ON");
-        } else {
-            device.setStatus("OFF");
-        }
+        device.setStatus(getDeviceStatus(task));
         return device;
     }
 
+    public static String getDeviceStatus(Task task) {
+        return "ACTIVATE".equals(task.getDeviceAction()) ? "ON" : "OFF";
+    }
+
     public static PutItemRequest putDeviceRequest(Device device) {
-        Map<String, AttributeValue> item = new HashMap<>();
-        item.put(Device.DEVICE_ID_COL, AttributeValue.builder().s(device.getId()).build());
-        item.put(Device.DEVICE_NAME_COL, AttributeValue.builder().s(device.getName()).build());
-        item.put(Device.DEVICE_DESC_COL, AttributeValue.builder().s(device.getDescription()).build());
-        item.put(Device.DEVICE_STATUS_COL, AttributeValue.builder().s(device.getStatus()).build());
         return PutItemRequest.builder()
                 .tableName(Device.TABLE_NAME)
-                .item(item)
+                .item(getDeviceItem(device))
+                .build();
+    }
+
+    public static WriteRequest putDeviceWriteRequest(Device device) {
+        return WriteRequest.builder()
+                .putRequest(PutRequest.builder()
+                        .item(getDeviceItem(device))
+                        .build())
+                .build();
+    }
+
+    public static BatchWriteItemRequest batchWriteDevicesRequest(List<WriteRequest> writeRequests) {
+        return BatchWriteItemRequest.builder()
+                .requestItems(Map.of(Device.TABLE_NAME, writeRequests))
+                .build();
+    }
+
+    public static String getDeviceId(WriteRequest writeRequest) {
+        return writeRequest.putRequest().item().get(Device.DEVICE_ID_COL).s();
+    }
+
+    /**
+     * Only writes the status attribute, and only when the Device exists and is not already in the new status.
+     */
+    public static UpdateItemRequest updateDeviceStatusRequest(String id, String status) {
+        return UpdateItemRequest.builder()
+                .tableName(Device.TABLE_NAME)
+                .key(Map.of(Device.DEVICE_ID_COL, AttributeValue.builder().s(id).build()))
+                .updateExpression("SET #status = :status")
+                .conditionExpression("attribute_exists(#id) AND (attribute_not_exists(#status) OR #status <> :status)")
+                .expressionAttributeNames(Map.of("#id", Device.DEVICE_ID_COL, "#status", Device.DEVICE_STATUS_COL))
+                .expressionAttributeValues(Map.of(":status", AttributeValue.builder().s(status).build()))
+                .build();
+    }
+
+    /**
+     * Only writes the status attribute, and only when the Device is still in the expected status.
+     */
+    public static UpdateItemRequest updateDeviceStatusRequest(String id, String status, String expectedStatus) {
+        return UpdateItemRequest.builder()
+                .tableName(Device.TABLE_NAME)
+                .key(Map.of(Device.DEVICE_ID_COL, AttributeValue.builder().s(id).build()))
+                .updateExpression("SET #status = :status")
+                .conditionExpression("#status = :expectedStatus")
+                .expressionAttributeNames(Map.of("#status", Device.DEVICE_STATUS_COL))
+                .expressionAttributeValues(Map.of(
+                        ":status", AttributeValue.builder().s(status).build(),
+                        ":expectedStatus", AttributeValue.builder().s(expectedStatus).build()))
                 .build();
     }
 
@@ -58,4 +108,13 @@ public final class DevicesUtil {
                 .attributesToGet(Device.DEVICE_ID_COL, Device.DEVICE_NAME_COL, Device.DEVICE_DESC_COL, Device.DEVICE_STATUS_COL)
                 .build();
     }
+
+    private static Map<String, AttributeValue> getDeviceItem(Device device) {
+        Map<String, AttributeValue> item = new HashMap<>();
+        item.put(Device.DEVICE_ID_COL, AttributeValue.builder().s(device.getId()).build());
+        item.put(Device.DEVICE_NAME_COL, AttributeValue.builder().s(device.getName()).build());
+        item.put(Device.DEVICE_DESC_COL, AttributeValue.builder().s(device.getDescription()).build());
+        item.put(Device.DEVICE_STATUS_COL, AttributeValue.builder().s(device.getStatus()).build());
+        return item;
+    }
 }
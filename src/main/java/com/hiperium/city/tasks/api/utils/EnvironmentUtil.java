@@ -6,6 +6,8 @@ import com.hiperium.city.tasks.api.vo.AuroraPostgresSecretVO;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.net.InetAddress;
+import java.net.UnknownHostException;
 import java.util.Objects;
 
 public final class EnvironmentUtil {
@@ -69,4 +71,56 @@ public final class EnvironmentUtil {
         }
         return endpointOverride;
     }
+
+    /**
+     * Node ID used by the Job ID generator. Every instance of a cluster must use a different value between 0 and 1023.
+     */
+    public static Integer getNodeId() {
+        String nodeId = System.getenv("HIPERIUM_CITY_TASKS_NODE_ID");
+        if (Objects.isNull(nodeId) || nodeId.isBlank()) {
+            LOGGER.warn("HIPERIUM_CITY_TASKS_NODE_ID not found. Leasing a node ID from the database.");
+            return null;
+        }
+        return parseNodeId(nodeId);
+    }
+
+    static int parseNodeId(String nodeId) {
+        int value;
+        try {
+            value = Integer.parseInt(nodeId.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("HIPERIUM_CITY_TASKS_NODE_ID must be a number between 0 and "
+                    + JobIdGenerator.MAX_NODE_ID + ", but was: " + nodeId + ".");
+        }
+        if (value < 0 || value > JobIdGenerator.MAX_NODE_ID) {
+            throw new IllegalArgumentException("HIPERIUM_CITY_TASKS_NODE_ID must be a number between 0 and "
+                    + JobIdGenerator.MAX_NODE_ID + ", but was: " + nodeId + ".");
+        }
+        return value;
+    }
+
+    /**
+     * Unique name of the running instance, used for the scheduler shards ownership.
+     */
+    public static String getNodeName() {
+        String nodeName = System.getenv("HIPERIUM_CITY_TASKS_NODE_NAME");
+        if (Objects.isNull(nodeName) || nodeName.isBlank()) {
+            LOGGER.warn("HIPERIUM_CITY_TASKS_NODE_NAME not found. Using the host name and process ID.");
+            return getHostName() + "-" + ProcessHandle.current().pid();
+        }
+        return nodeName;
+    }
+
+    private static String getHostName() {
+        String hostName = System.getenv("HOSTNAME");
+        if (Objects.nonNull(hostName) && !hostName.isBlank()) {
+            return hostName;
+        }
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            LOGGER.warn("Cannot resolve the host name: {}", e.getMessage());
+            return String.valueOf(ProcessHandle.current().pid());
+        }
+    }
 }
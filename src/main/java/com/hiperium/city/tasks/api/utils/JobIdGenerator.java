@@ -0,0 +1,62 @@
+package com.hiperium.city.tasks.api.utils;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free generator of time-ordered Job IDs. Every ID packs 64 bits, encoded as 13 Crockford base32 characters:
+ * <ul>
+ *     <li>42 bits: milliseconds since 2023-01-01T00:00:00Z (about 139 years).</li>
+ *     <li>10 bits: node ID, so two nodes never generate the same ID.</li>
+ *     <li>12 bits: sequence inside the same millisecond (4096 IDs per millisecond and node).</li>
+ * </ul>
+ * The IDs of a node are strictly increasing, also in their String form, so inserts land at the right edge of the
+ * Job ID indexes. When the sequence overflows, or the clock goes back, the generator borrows the next millisecond.
+ */
+public final class JobIdGenerator {
+
+    public static final int MAX_NODE_ID = (1 << 10) - 1;
+    public static final int ID_LENGTH = 13;
+
+    private static final long EPOCH_MILLIS = 1_672_531_200_000L;
+    private static final int NODE_ID_BITS = 10;
+    private static final int SEQUENCE_BITS = 12;
+    private static final char[] CROCKFORD_ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+
+    private final long nodeId;
+    // Timestamp and sequence of the last generated ID.
+    private final AtomicLong lastState = new AtomicLong();
+
+    public JobIdGenerator(int nodeId) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("The node ID must be between 0 and " + MAX_NODE_ID + ".");
+        }
+        this.nodeId = nodeId;
+    }
+
+    public String nextId() {
+        return encode(this.nextValue());
+    }
+
+    long nextValue() {
+        final long now = System.currentTimeMillis() - EPOCH_MILLIS;
+        long last;
+        long next;
+        do {
+            last = this.lastState.get();
+            next = Math.max(now << SEQUENCE_BITS, last + 1);
+        } while (!this.lastState.compareAndSet(last, next));
+        long timestamp = next >>> SEQUENCE_BITS;
+        long sequence = next & ((1L << SEQUENCE_BITS) - 1);
+        return (timestamp << (NODE_ID_BITS + SEQUENCE_BITS)) | (this.nodeId << SEQUENCE_BITS) | sequence;
+    }
+
+    static String encode(long value) {
+        char[] chars = new char[ID_LENGTH];
+        // The first character holds the 4 highest bits, the remaining ones 5 bits each.
+        for (int i = ID_LENGTH - 1; i >= 0; i--) {
+            chars[i] = CROCKFORD_ALPHABET[(int) (value & 0x1F)];
+            value >>>= 5;
+        }
+        return new String(chars);
+    }
+}
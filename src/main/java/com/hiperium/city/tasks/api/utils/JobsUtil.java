@@ -1,11 +1,13 @@
 package com.hiperium.city.tasks.api.utils;
 
+import com.hiperium.city.tasks.api.job.SharedScheduleJob;
 import com.hiperium.city.tasks.api.job.TaskJob;
 import com.hiperium.city.tasks.api.model.Task;
 import com.hiperium.city.tasks.api.utils.enums.DaysEnum;
 import org.quartz.*;
 
 import java.time.ZoneId;
+import java.time.ZonedDateTime;
 import java.util.*;
 import java.util.Calendar;
 
@@ -13,27 +15,130 @@ public final class JobsUtil {
 
     public static final String TASK_GROUP_NAME = "Task#Group";
     public static final String TASK_JOB_ID_DATA_KEY = "taskJobId";
+    public static final String TASK_DEVICE_ID_DATA_KEY = "taskDeviceId";
+    public static final String TASK_DEVICE_ACTION_DATA_KEY = "taskDeviceAction";
+    public static final String SHARD_SCHEDULER_SUFFIX = "-shard-";
+    public static final String SCHEDULE_GROUP_NAME = "Schedule#Group";
+    public static final String SCHEDULE_HOUR_DATA_KEY = "scheduleHour";
+    public static final String SCHEDULE_MINUTE_DATA_KEY = "scheduleMinute";
+    public static final String SCHEDULE_DAYS_MASK_DATA_KEY = "scheduleDaysMask";
+    public static final String SCHEDULE_UPDATED_AT_DATA_KEY = "scheduleUpdatedAt";
+
+    // Day-of-week field of the cron expression for every execution days mask.
+    private static final String[] CRON_DAYS_OF_WEEK = createCronDaysOfWeek();
 
     private JobsUtil() {
         // Empty constructor.
     }
 
+    public static JobKey getJobKey(String jobId) {
+        return JobKey.jobKey(jobId, TASK_GROUP_NAME);
+    }
+
+    public static TriggerKey getTriggerKey(String jobId) {
+        return TriggerKey.triggerKey(jobId, TASK_GROUP_NAME);
+    }
+
+    /**
+     * Deterministic delay in [0, windowMillis) for the given Job, so the executions of Tasks scheduled at the
+     * same minute are spread evenly over the window, and each Task always runs at the same offset.
+     */
+    public static long getJitterDelayMillis(String jobId, long windowMillis) {
+        if (windowMillis <= 0) {
+            return 0L;
+        }
+        return Math.floorMod(mixHash(jobId.hashCode()), windowMillis);
+    }
+
+    /**
+     * Time left until the jittered fire time of the Job, counted from its scheduled fire time, so a fire that is
+     * already late is not delayed again. Fires later than their jitter are not delayed.
+     */
+    public static long getSpreadDelayMillis(String jobId, long windowMillis, long scheduledFireMillis, long nowMillis) {
+        return Math.max(0L, scheduledFireMillis + getJitterDelayMillis(jobId, windowMillis) - nowMillis);
+    }
+
+    /**
+     * Shard of the Job, between 0 and shards - 1. It only depends on the Job ID, so it never changes.
+     */
+    public static int getShard(String jobId, int shards) {
+        return (int) Math.floorMod(mixHash(jobId.hashCode()), (long) shards);
+    }
+
+    public static String getShardSchedulerName(String schedulerName, int shard) {
+        return schedulerName + SHARD_SCHEDULER_SUFFIX + shard;
+    }
+
+    /**
+     * Rendezvous hashing: the owner of a shard is the node with the highest weight for it. When a node joins or
+     * leaves the cluster, only the shards it wins or owned change their owner.
+     */
+    public static String getShardOwner(int shard, Collection<String> nodeNames) {
+        String owner = null;
+        long maxWeight = Long.MIN_VALUE;
+        for (String nodeName : nodeNames) {
+            long weight = mixHash(((long) nodeName.hashCode() << 32) | shard);
+            if (Objects.isNull(owner) || weight > maxWeight || (weight == maxWeight && nodeName.compareTo(owner) < 0)) {
+                owner = nodeName;
+                maxWeight = weight;
+            }
+        }
+        return owner;
+    }
+
+    /**
+     * Mixes the bits of a hash code (MurmurHash3 finalizer) to avoid clustering of similar values.
+     */
+    public static long mixHash(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    /**
+     * The Job data carries a snapshot of the Task fields needed at fire time, so the Job does not have to
+     * query the Task table. Values must be Strings because the Job Store is configured with "useProperties".
+     */
     public static JobDetail createJobDetailFromTask(Task task) {
+        JobDataMap jobDataMap = new JobDataMap();
+        jobDataMap.put(TASK_JOB_ID_DATA_KEY, task.getJobId());
+        if (Objects.nonNull(task.getDeviceId())) {
+            jobDataMap.put(TASK_DEVICE_ID_DATA_KEY, task.getDeviceId());
+        }
+        if (Objects.nonNull(task.getDeviceAction())) {
+            jobDataMap.put(TASK_DEVICE_ACTION_DATA_KEY, task.getDeviceAction());
+        }
         return JobBuilder.newJob(TaskJob.class)
-                .withIdentity(task.getJobId(), TASK_GROUP_NAME)
-                .usingJobData(TASK_JOB_ID_DATA_KEY, task.getJobId())
+                .withIdentity(getJobKey(task.getJobId()))
+                .usingJobData(jobDataMap)
+                .build();
+    }
+
+    /**
+     * Returns NULL for Jobs scheduled before the Task snapshot was added to the Job data.
+     */
+    public static Task getTaskFromJobDataMap(JobDataMap jobDataMap) {
+        String deviceId = jobDataMap.getString(TASK_DEVICE_ID_DATA_KEY);
+        String deviceAction = jobDataMap.getString(TASK_DEVICE_ACTION_DATA_KEY);
+        if (Objects.isNull(deviceId) || Objects.isNull(deviceAction)) {
+            return null;
+        }
+        return Task.builder()
+                .jobId(jobDataMap.getString(TASK_JOB_ID_DATA_KEY))
+                .deviceId(deviceId)
+                .deviceAction(deviceAction)
                 .build();
     }
 
     public static CronTrigger createCronTriggerFromTask(Task task, String zoneId) {
         TriggerBuilder<CronTrigger> triggerBuilder = TriggerBuilder.newTrigger()
-                .withIdentity(task.getJobId(), TASK_GROUP_NAME)
+                .withIdentity(getTriggerKey(task.getJobId()))
                 .startNow()
                 .withSchedule(CronScheduleBuilder
-                        .atHourAndMinuteOnGivenDaysOfWeek(
-                                task.getHour(),
-                                task.getMinute(),
-                                getIntValuesFromExecutionDays(task.getExecutionDays()))
+                        .cronSchedule(getCronExpression(task.getHour(), task.getMinute(), task.getExecutionDaysMask()))
                         .inTimeZone(TimeZone.getTimeZone(ZoneId.of(zoneId))));
         if (Objects.nonNull(task.getExecuteUntil())) {
             java.util.Calendar executeUntilCalendar = java.util.Calendar.getInstance(TimeZone.getTimeZone(ZoneId.of(zoneId)));
@@ -49,22 +154,94 @@ public final class JobsUtil {
         return triggerBuilder.build();
     }
 
-    public static Integer[] getIntValuesFromExecutionDays(String taskExecutionDays) {
-        List<Integer> intsDaysOfWeek = new ArrayList<>();
-        for (String dayOfWeek : taskExecutionDays.split(",")) {
-            DaysEnum daysEnum = DaysEnum.getEnumFromString(dayOfWeek);
-            switch (daysEnum) {
-                case MON -> intsDaysOfWeek.add(DateBuilder.MONDAY);
-                case TUE -> intsDaysOfWeek.add(DateBuilder.TUESDAY);
-                case WED -> intsDaysOfWeek.add(DateBuilder.WEDNESDAY);
-                case THU -> intsDaysOfWeek.add(DateBuilder.THURSDAY);
-                case FRI -> intsDaysOfWeek.add(DateBuilder.FRIDAY);
-                case SAT -> intsDaysOfWeek.add(DateBuilder.SATURDAY);
-                case SUN -> intsDaysOfWeek.add(DateBuilder.SUNDAY);
-                default ->
-                        throw new IllegalArgumentException("The day of the week does not match with the accepted ones: " + daysEnum);
+    /**
+     * Name of the Job and Trigger shared by the Tasks with the same execution time and days, like "1830-31".
+     */
+    public static String getScheduleKey(int hour, int minute, int executionDaysMask) {
+        return String.format("%02d%02d-%d", hour, minute, executionDaysMask);
+    }
+
+    /**
+     * The shared Job only carries the schedule, and finds its Tasks when it fires.
+     */
+    public static JobDetail createSharedJobDetailFromTask(Task task) {
+        JobDataMap jobDataMap = new JobDataMap();
+        jobDataMap.put(SCHEDULE_HOUR_DATA_KEY, String.valueOf(task.getHour()));
+        jobDataMap.put(SCHEDULE_MINUTE_DATA_KEY, String.valueOf(task.getMinute()));
+        jobDataMap.put(SCHEDULE_DAYS_MASK_DATA_KEY, String.valueOf(task.getExecutionDaysMask()));
+        jobDataMap.put(SCHEDULE_UPDATED_AT_DATA_KEY, String.valueOf(System.currentTimeMillis()));
+        return JobBuilder.newJob(SharedScheduleJob.class)
+                .withIdentity(getScheduleKey(task.getHour(), task.getMinute(), task.getExecutionDaysMask()), SCHEDULE_GROUP_NAME)
+                .usingJobData(jobDataMap)
+                .build();
+    }
+
+    /**
+     * The shared Trigger has no end time, because the execute until date of each Task is checked when it fires.
+     */
+    public static CronTrigger createSharedCronTriggerFromTask(Task task, String zoneId) {
+        return TriggerBuilder.newTrigger()
+                .withIdentity(getScheduleKey(task.getHour(), task.getMinute(), task.getExecutionDaysMask()), SCHEDULE_GROUP_NAME)
+                .startNow()
+                .withSchedule(CronScheduleBuilder
+                        .cronSchedule(getCronExpression(task.getHour(), task.getMinute(), task.getExecutionDaysMask()))
+                        .inTimeZone(TimeZone.getTimeZone(ZoneId.of(zoneId))))
+                .build();
+    }
+
+    /**
+     * Same end time of the Task Triggers: the last second of the execute until date, or no end time.
+     */
+    public static long getExecuteUntilMillis(ZonedDateTime executeUntil, ZoneId zoneId) {
+        if (Objects.isNull(executeUntil)) {
+            return Long.MAX_VALUE;
+        }
+        return executeUntil.toLocalDate().atTime(23, 59, 59).atZone(zoneId).toInstant().toEpochMilli();
+    }
+
+    /**
+     * Same expression built by CronScheduleBuilder.atHourAndMinuteOnGivenDaysOfWeek(), but taking the days of the
+     * week from the precomputed table instead of an array of days.
+     */
+    public static String getCronExpression(int hour, int minute, int executionDaysMask) {
+        DateBuilder.validateHour(hour);
+        DateBuilder.validateMinute(minute);
+        if (executionDaysMask <= 0 || executionDaysMask > DaysEnum.ALL_DAYS_MASK) {
+            throw new IllegalArgumentException("You must specify at least one day of week.");
+        }
+        return "0 " + minute + " " + hour + " ? * " + CRON_DAYS_OF_WEEK[executionDaysMask];
+    }
+
+    public static ZonedDateTime toZonedDateTime(Date date) {
+        if (Objects.isNull(date)) {
+            return null;
+        }
+        return ZonedDateTime.ofInstant(date.toInstant(), ZoneId.systemDefault());
+    }
+
+    private static String[] createCronDaysOfWeek() {
+        String[] cronDaysOfWeek = new String[DaysEnum.ALL_DAYS_MASK + 1];
+        for (int mask = 1; mask <= DaysEnum.ALL_DAYS_MASK; mask++) {
+            StringJoiner daysOfWeek = new StringJoiner(",");
+            for (DaysEnum day : DaysEnum.values()) {
+                if ((mask & day.getMask()) != 0) {
+                    daysOfWeek.add(String.valueOf(getCronDayOfWeek(day)));
+                }
             }
+            cronDaysOfWeek[mask] = daysOfWeek.toString();
         }
-        return intsDaysOfWeek.toArray(Integer[]::new);
+        return cronDaysOfWeek;
+    }
+
+    private static int getCronDayOfWeek(DaysEnum day) {
+        return switch (day) {
+            case MON -> DateBuilder.MONDAY;
+            case TUE -> DateBuilder.TUESDAY;
+            case WED -> DateBuilder.WEDNESDAY;
+            case THU -> DateBuilder.THURSDAY;
+            case FRI -> DateBuilder.FRIDAY;
+            case SAT -> DateBuilder.SATURDAY;
+            case SUN -> DateBuilder.SUNDAY;
+        };
     }
 }
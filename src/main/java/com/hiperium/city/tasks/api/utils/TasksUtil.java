@@ -1,36 +1,33 @@
 package com.hiperium.city.tasks.api.utils;
 
+import com.hiperium.city.tasks.api.exception.InvalidRequestException;
 import com.hiperium.city.tasks.api.exception.TaskScheduleException;
 import com.hiperium.city.tasks.api.model.Task;
+import com.hiperium.city.tasks.api.utils.enums.TaskFieldEnum;
+import com.hiperium.city.tasks.api.vo.TaskVersionVO;
+import io.r2dbc.spi.Row;
 
 import java.nio.charset.StandardCharsets;
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
-import java.util.Objects;
-import java.util.UUID;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 public final class TasksUtil {
 
     public static final String TASKS_PATH = "/api/tasks";
-    private static final char[] HEX_ARRAY = "HiperiumTasksService".toCharArray();
-    private static final int JOB_ID_LENGTH = 20;
+    public static final String DIAGNOSTICS_PATH = "/api/diagnostics";
+    public static final String NEXT_PAGE_TOKEN_HEADER = "X-Next-Page-Token";
+    private static final String PAGE_TOKEN_PREFIX = "id:";
 
     private TasksUtil() {
         // Empty constructor.
     }
 
-    public static String generateJobId() {
-        MessageDigest salt;
-        try {
-            salt = MessageDigest.getInstance("SHA-256");
-            salt.update(UUID.randomUUID().toString().getBytes(StandardCharsets.UTF_8));
-        } catch (NoSuchAlgorithmException e) {
-            throw new UnsupportedOperationException(e.getMessage());
-        }
-        String uuid = bytesToHex(salt.digest());
-        return uuid.substring(0, JOB_ID_LENGTH);
-    }
-
     public static Task validateTaskId(Task newTask) {
         if (Objects.nonNull(newTask.getId())) {
             throw new TaskScheduleException("Task already exists with ID: " + newTask.getId() + ".");
@@ -38,14 +35,188 @@ public final class TasksUtil {
         return newTask;
     }
 
-    private static String bytesToHex(byte[] bytes) {
-        char[] hexChars = new char[bytes.length * 2];
-        for (int j = 0; j < bytes.length; j++) {
-            int v = bytes[j] & 0xFF;
-            hexChars[j * 2] = HEX_ARRAY[v >>> 4];
-            hexChars[j * 2 + 1] = HEX_ARRAY[v & 0x0F];
+    public static String encodePageToken(long lastId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((PAGE_TOKEN_PREFIX + lastId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static long decodePageToken(String pageToken) {
+        if (Objects.isNull(pageToken) || pageToken.isBlank()) {
+            return 0L;
+        }
+        try {
+            String decodedToken = new String(Base64.getUrlDecoder().decode(pageToken), StandardCharsets.UTF_8);
+            if (!decodedToken.startsWith(PAGE_TOKEN_PREFIX)) {
+                throw new InvalidRequestException("Invalid page token: " + pageToken + ".");
+            }
+            return Long.parseLong(decodedToken.substring(PAGE_TOKEN_PREFIX.length()));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRequestException("Invalid page token: " + pageToken + ".");
+        }
+    }
+
+    public static Task getFromRow(Row row) {
+        return Task.builder()
+                .id(row.get("id", Long.class))
+                .name(row.get("name", String.class))
+                .description(row.get("description", String.class))
+                .jobId(row.get("job_id", String.class))
+                .hour(row.get("task_hour", Integer.class))
+                .minute(row.get("task_minute", Integer.class))
+                .executionDays(row.get("execution_days", String.class))
+                .executionDaysMask(row.get("execution_days_mask", Integer.class))
+                .executionCommand(row.get("execution_command", String.class))
+                .executeUntil(toZonedDateTime(row.get("execute_until", LocalDateTime.class)))
+                .deviceId(row.get("device_id", String.class))
+                .deviceAction(row.get("device_action", String.class))
+                .createdAt(toZonedDateTime(row.get("created_at", LocalDateTime.class)))
+                .updatedAt(toZonedDateTime(row.get("updated_at", LocalDateTime.class)))
+                .build();
+    }
+
+    /**
+     * Task with only the given fields, read from the columns selected by {@link #getSelect(Set)}.
+     */
+    public static Task getFromRow(Row row, Set<TaskFieldEnum> fields) {
+        Task task = new Task();
+        for (TaskFieldEnum field : fields) {
+            setField(task, field, row.get(field.getColumnName(), field.getColumnType()));
+        }
+        return task;
+    }
+
+    public static Task getFromResultSet(ResultSet resultSet, Set<TaskFieldEnum> fields) throws SQLException {
+        Task task = new Task();
+        for (TaskFieldEnum field : fields) {
+            setField(task, field, resultSet.getObject(field.getColumnName(), field.getColumnType()));
+        }
+        return task;
+    }
+
+    public static String getSelect(Set<TaskFieldEnum> fields) {
+        return fields.stream()
+                .map(TaskFieldEnum::getColumnName)
+                .collect(Collectors.joining(", ", "SELECT ", " FROM HIP_CTY_TASKS"));
+    }
+
+    /**
+     * Only the requested fields are serialized, in the same order of the Task.
+     */
+    public static Map<String, Object> toFieldsMap(Task task, Set<TaskFieldEnum> fields) {
+        Map<String, Object> fieldsMap = new LinkedHashMap<>();
+        for (TaskFieldEnum field : fields) {
+            fieldsMap.put(field.getFieldName(), getField(task, field));
+        }
+        return fieldsMap;
+    }
+
+    /**
+     * Strong ETag of a Task: its ID and its update time in microseconds, the precision stored by Postgres.
+     */
+    public static String getETag(Long id, ZonedDateTime updatedAt) {
+        return Long.toString(id, 36) + "-" + Long.toString(toEpochMicros(updatedAt), 36);
+    }
+
+    public static String getETag(Long id, ZonedDateTime updatedAt, Set<TaskFieldEnum> fields) {
+        return getETag(id, updatedAt) + "-" + Long.toString(TaskFieldEnum.toMask(fields), 36);
+    }
+
+    /**
+     * ETag of a page of Tasks, that changes when a Task of the page is created, updated or deleted.
+     */
+    public static String getPageETag(List<TaskVersionVO> versions) {
+        return getPageETag(versions, 0L);
+    }
+
+    public static String getPageETag(List<TaskVersionVO> versions, Set<TaskFieldEnum> fields) {
+        return getPageETag(versions, JobsUtil.mixHash(TaskFieldEnum.toMask(fields)));
+    }
+
+    public static String getTasksPageETag(List<Task> tasks) {
+        return getPageETag(getVersions(tasks));
+    }
+
+    public static String getTasksPageETag(List<Task> tasks, Set<TaskFieldEnum> fields) {
+        return getPageETag(getVersions(tasks), fields);
+    }
+
+    public static long elapsedMicros(long startNanos) {
+        return TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanos);
+    }
+
+    /**
+     * Task timestamps are stored without time zone in the JVM default zone, the same way Hibernate does it.
+     */
+    public static LocalDateTime toLocalDateTime(ZonedDateTime dateTime) {
+        if (Objects.isNull(dateTime)) {
+            return null;
+        }
+        return dateTime.withZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime();
+    }
+
+    public static ZonedDateTime toZonedDateTime(LocalDateTime dateTime) {
+        if (Objects.isNull(dateTime)) {
+            return null;
+        }
+        return dateTime.atZone(ZoneId.systemDefault());
+    }
+
+    private static String getPageETag(List<TaskVersionVO> versions, long seed) {
+        long hash = seed ^ versions.size();
+        for (TaskVersionVO version : versions) {
+            hash = JobsUtil.mixHash(hash ^ version.id());
+            hash = JobsUtil.mixHash(hash ^ toEpochMicros(version.updatedAt()));
+        }
+        return "page-" + Long.toHexString(hash);
+    }
+
+    private static List<TaskVersionVO> getVersions(List<Task> tasks) {
+        return tasks.stream()
+                .map(task -> new TaskVersionVO(task.getId(), task.getUpdatedAt()))
+                .toList();
+    }
+
+    private static void setField(Task task, TaskFieldEnum field, Object value) {
+        switch (field) {
+            case ID -> task.setId((Long) value);
+            case NAME -> task.setName((String) value);
+            case DESCRIPTION -> task.setDescription((String) value);
+            case JOB_ID -> task.setJobId((String) value);
+            case HOUR -> task.setHour((Integer) value);
+            case MINUTE -> task.setMinute((Integer) value);
+            case EXECUTION_DAYS -> task.setExecutionDays((String) value);
+            case EXECUTION_COMMAND -> task.setExecutionCommand((String) value);
+            case EXECUTE_UNTIL -> task.setExecuteUntil(toZonedDateTime((LocalDateTime) value));
+            case DEVICE_ID -> task.setDeviceId((String) value);
+            case DEVICE_ACTION -> task.setDeviceAction((String) value);
+            case CREATED_AT -> task.setCreatedAt(toZonedDateTime((LocalDateTime) value));
+            case UPDATED_AT -> task.setUpdatedAt(toZonedDateTime((LocalDateTime) value));
+        }
+    }
+
+    private static Object getField(Task task, TaskFieldEnum field) {
+        return switch (field) {
+            case ID -> task.getId();
+            case NAME -> task.getName();
+            case DESCRIPTION -> task.getDescription();
+            case JOB_ID -> task.getJobId();
+            case HOUR -> task.getHour();
+            case MINUTE -> task.getMinute();
+            case EXECUTION_DAYS -> task.getExecutionDays();
+            case EXECUTION_COMMAND -> task.getExecutionCommand();
+            case EXECUTE_UNTIL -> task.getExecuteUntil();
+            case DEVICE_ID -> task.getDeviceId();
+            case DEVICE_ACTION -> task.getDeviceAction();
+            case CREATED_AT -> task.getCreatedAt();
+            case UPDATED_AT -> task.getUpdatedAt();
+        };
+    }
+
+    private static long toEpochMicros(ZonedDateTime dateTime) {
+        if (Objects.isNull(dateTime)) {
+            return 0L;
         }
-        return new String(hexChars);
+        return dateTime.toEpochSecond() * 1_000_000L + dateTime.getNano() / 1_000;
     }
 
 }
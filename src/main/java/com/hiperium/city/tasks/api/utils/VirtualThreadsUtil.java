@@ -0,0 +1,67 @@
+package com.hiperium.city.tasks.api.utils;
+
+import java.lang.reflect.Method;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * The project is compiled for Java 17, so the virtual threads API (Java 21) is accessed by reflection.
+ * On older runtimes, or when the API is still a preview feature, virtual threads are reported as not supported.
+ */
+public final class VirtualThreadsUtil {
+
+    private static final Method OF_VIRTUAL_METHOD;
+    private static final Method BUILDER_NAME_METHOD;
+    private static final Method BUILDER_FACTORY_METHOD;
+
+    static {
+        Method ofVirtual = null;
+        Method builderName = null;
+        Method builderFactory = null;
+        try {
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            ofVirtual = Thread.class.getMethod("ofVirtual");
+            builderName = builderClass.getMethod("name", String.class, long.class);
+            builderFactory = builderClass.getMethod("factory");
+            // Fails when virtual threads are a preview feature that is not enabled.
+            builderFactory.invoke(ofVirtual.invoke(null));
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            ofVirtual = null;
+        }
+        OF_VIRTUAL_METHOD = ofVirtual;
+        BUILDER_NAME_METHOD = builderName;
+        BUILDER_FACTORY_METHOD = builderFactory;
+    }
+
+    private VirtualThreadsUtil() {
+        // Empty constructor.
+    }
+
+    public static boolean isSupported() {
+        return Objects.nonNull(OF_VIRTUAL_METHOD);
+    }
+
+    public static ThreadFactory newThreadFactory(String namePrefix) {
+        if (!isSupported()) {
+            throw new UnsupportedOperationException("Virtual threads are not supported by the running JVM.");
+        }
+        try {
+            Object builder = BUILDER_NAME_METHOD.invoke(OF_VIRTUAL_METHOD.invoke(null), namePrefix, 0L);
+            return (ThreadFactory) BUILDER_FACTORY_METHOD.invoke(builder);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot create the virtual threads factory.", e);
+        }
+    }
+
+    public static ExecutorService newThreadPerTaskExecutor(String namePrefix) {
+        ThreadFactory threadFactory = newThreadFactory(namePrefix);
+        try {
+            Method method = Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+            return (ExecutorService) method.invoke(null, threadFactory);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot create the virtual threads executor.", e);
+        }
+    }
+}
@@ -1,6 +1,9 @@
 package com.hiperium.city.tasks.api.utils.enums;
 
+import com.hiperium.city.tasks.api.exception.InvalidRequestException;
+
 import java.util.Arrays;
+import java.util.Objects;
 
 public enum DaysEnum {
     MON,
@@ -11,10 +14,53 @@ public enum DaysEnum {
     SAT,
     SUN;
 
+    public static final int ALL_DAYS_MASK = (1 << DaysEnum.values().length) - 1;
+
+    private static final DaysEnum[] DAYS = DaysEnum.values();
+
+    /**
+     * Bit of the day in the Task execution days mask. The bits must not change, because the mask is persisted.
+     */
+    public int getMask() {
+        return 1 << this.ordinal();
+    }
+
     public static DaysEnum getEnumFromString(String dayOfWeek) {
         return Arrays.stream(DaysEnum.values())
                 .filter(daysEnum -> daysEnum.name().equals(dayOfWeek))
                 .findFirst()
                 .orElse(null);
     }
+
+    /**
+     * Converts execution days like "MON,WED,FRI" to their bitmask without creating intermediate objects.
+     */
+    public static int toMask(String executionDays) {
+        if (Objects.isNull(executionDays)) {
+            return 0;
+        }
+        int mask = 0;
+        int start = 0;
+        final int length = executionDays.length();
+        while (start < length) {
+            int end = executionDays.indexOf(',', start);
+            if (end < 0) {
+                end = length;
+            }
+            mask |= getDayMask(executionDays, start, end);
+            start = end + 1;
+        }
+        return mask;
+    }
+
+    private static int getDayMask(String executionDays, int start, int end) {
+        for (DaysEnum day : DAYS) {
+            String name = day.name();
+            if (end - start == name.length() && executionDays.regionMatches(start, name, 0, name.length())) {
+                return day.getMask();
+            }
+        }
+        throw new InvalidRequestException("The day of the week does not match with the accepted ones: "
+                + executionDays.substring(start, end) + ".");
+    }
 }
@@ -0,0 +1,7 @@
+package com.hiperium.city.tasks.api.utils.enums;
+
+public enum DeviceUpdateModeEnum {
+    PUT_ITEM,
+    BATCH_WRITE,
+    UPDATE_ITEM
+}
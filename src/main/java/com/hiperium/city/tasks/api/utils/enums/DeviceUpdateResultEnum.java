@@ -0,0 +1,7 @@
+package com.hiperium.city.tasks.api.utils.enums;
+
+public enum DeviceUpdateResultEnum {
+    CHANGED,
+    UNCHANGED,
+    FAILED
+}
@@ -0,0 +1,6 @@
+package com.hiperium.city.tasks.api.utils.enums;
+
+public enum ExecutionModeEnum {
+    PLATFORM,
+    VIRTUAL
+}
@@ -0,0 +1,11 @@
+package com.hiperium.city.tasks.api.utils.enums;
+
+public enum ExecutionOutcomeEnum {
+    CHANGED,
+    UNCHANGED,
+    FAILED,
+    TASK_NOT_FOUND,
+    DEVICE_NOT_FOUND,
+    RATE_LIMITED,
+    ERROR
+}
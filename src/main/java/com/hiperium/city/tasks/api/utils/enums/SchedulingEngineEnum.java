@@ -0,0 +1,7 @@
+package com.hiperium.city.tasks.api.utils.enums;
+
+public enum SchedulingEngineEnum {
+    QUARTZ,
+    QUARTZ_SHARED_TRIGGERS,
+    TIMING_WHEEL
+}
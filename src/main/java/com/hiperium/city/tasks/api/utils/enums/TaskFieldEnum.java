@@ -0,0 +1,95 @@
+package com.hiperium.city.tasks.api.utils.enums;
+
+import com.hiperium.city.tasks.api.exception.InvalidRequestException;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Task fields that can be requested with the {@code fields} parameter, with the column and type that stores them.
+ */
+public enum TaskFieldEnum {
+    ID("id", "id", Long.class),
+    NAME("name", "name", String.class),
+    DESCRIPTION("description", "description", String.class),
+    JOB_ID("jobId", "job_id", String.class),
+    HOUR("hour", "task_hour", Integer.class),
+    MINUTE("minute", "task_minute", Integer.class),
+    EXECUTION_DAYS("executionDays", "execution_days", String.class),
+    EXECUTION_COMMAND("executionCommand", "execution_command", String.class),
+    EXECUTE_UNTIL("executeUntil", "execute_until", LocalDateTime.class),
+    DEVICE_ID("deviceId", "device_id", String.class),
+    DEVICE_ACTION("deviceAction", "device_action", String.class),
+    CREATED_AT("createdAt", "created_at", LocalDateTime.class),
+    UPDATED_AT("updatedAt", "updated_at", LocalDateTime.class);
+
+    private static final TaskFieldEnum[] FIELDS = TaskFieldEnum.values();
+
+    private final String fieldName;
+    private final String columnName;
+    private final Class<?> columnType;
+
+    TaskFieldEnum(String fieldName, String columnName, Class<?> columnType) {
+        this.fieldName = fieldName;
+        this.columnName = columnName;
+        this.columnType = columnType;
+    }
+
+    public String getFieldName() {
+        return this.fieldName;
+    }
+
+    public String getColumnName() {
+        return this.columnName;
+    }
+
+    public Class<?> getColumnType() {
+        return this.columnType;
+    }
+
+    /**
+     * Converts fields like "id,name,hour" to their enums. Returns null when the parameter is missing, meaning
+     * every field.
+     */
+    public static Set<TaskFieldEnum> fromFields(String fields) {
+        if (Objects.isNull(fields)) {
+            return null;
+        }
+        Set<TaskFieldEnum> taskFields = EnumSet.noneOf(TaskFieldEnum.class);
+        for (String field : fields.split(",")) {
+            taskFields.add(getEnumFromField(field.trim()));
+        }
+        return taskFields;
+    }
+
+    /**
+     * The ID and update time are always selected, because the page token and the ETag are made of them.
+     */
+    public static Set<TaskFieldEnum> withKeys(Set<TaskFieldEnum> fields) {
+        Set<TaskFieldEnum> selectedFields = EnumSet.of(ID, UPDATED_AT);
+        selectedFields.addAll(fields);
+        return selectedFields;
+    }
+
+    /**
+     * Bitmask of the fields, so the ETag of each representation of the same Task is different.
+     */
+    public static long toMask(Set<TaskFieldEnum> fields) {
+        long mask = 0L;
+        for (TaskFieldEnum field : fields) {
+            mask |= 1L << field.ordinal();
+        }
+        return mask;
+    }
+
+    private static TaskFieldEnum getEnumFromField(String field) {
+        for (TaskFieldEnum taskField : FIELDS) {
+            if (taskField.fieldName.equals(field)) {
+                return taskField;
+            }
+        }
+        throw new InvalidRequestException("The field does not match with the Task fields: " + field + ".");
+    }
+}
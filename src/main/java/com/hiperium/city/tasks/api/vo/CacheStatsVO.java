@@ -0,0 +1,4 @@
+package com.hiperium.city.tasks.api.vo;
+
+public record CacheStatsVO(long size, long hitCount, long missCount, double hitRate, long evictionCount) {
+}
@@ -0,0 +1,5 @@
+package com.hiperium.city.tasks.api.vo;
+
+public record DispatcherStatsVO(int maxConcurrency, int queueCapacity, int maxDelayedFires, long delayed, long queued,
+                                long inFlight, long completed, long failed, long rejected) {
+}
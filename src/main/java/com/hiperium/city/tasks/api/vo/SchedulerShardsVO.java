@@ -0,0 +1,6 @@
+package com.hiperium.city.tasks.api.vo;
+
+import java.util.List;
+
+public record SchedulerShardsVO(String nodeName, int shards, List<Integer> ownedShards, List<String> liveNodes) {
+}
@@ -0,0 +1,6 @@
+package com.hiperium.city.tasks.api.vo;
+
+public record SchedulerStatsVO(String schedulerName, int threadPoolSize, int runningJobs, long nextMinuteBacklog,
+                               long misfires, long fires, double meanFireLagMillis, double maxFireLagMillis,
+                               double meanAcquisitionLagMillis, double maxAcquisitionLagMillis) {
+}
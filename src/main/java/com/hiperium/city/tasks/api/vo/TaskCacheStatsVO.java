@@ -0,0 +1,5 @@
+package com.hiperium.city.tasks.api.vo;
+
+public record TaskCacheStatsVO(long hitCount, long missCount, double hitRate, long jobIdHitCount,
+                               long jobIdMissCount, double jobIdHitRate, long invalidationCount) {
+}
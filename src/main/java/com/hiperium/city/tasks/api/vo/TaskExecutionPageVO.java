@@ -0,0 +1,8 @@
+package com.hiperium.city.tasks.api.vo;
+
+import com.hiperium.city.tasks.api.model.TaskExecution;
+
+import java.util.List;
+
+public record TaskExecutionPageVO(List<TaskExecution> executions, String nextPageToken) {
+}
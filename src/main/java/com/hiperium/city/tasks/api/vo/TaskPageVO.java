@@ -0,0 +1,8 @@
+package com.hiperium.city.tasks.api.vo;
+
+import com.hiperium.city.tasks.api.model.Task;
+
+import java.util.List;
+
+public record TaskPageVO(List<Task> tasks, String nextPageToken) {
+}
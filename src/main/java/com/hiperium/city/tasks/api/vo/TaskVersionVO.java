@@ -0,0 +1,9 @@
+package com.hiperium.city.tasks.api.vo;
+
+import java.time.ZonedDateTime;
+
+/**
+ * Fields of a Task that identify its current version, used to build the ETags without loading the Task.
+ */
+public record TaskVersionVO(Long id, ZonedDateTime updatedAt) {
+}
@@ -0,0 +1,7 @@
+-- The ETag validators only read the ID and update time of the Tasks, so they can use index-only scans.
+CREATE INDEX IDX_HIP_CTY_TASKS_VERSION
+    ON HIP_CTY_TASKS (id) INCLUDE (updated_at);
+
+DROP INDEX IDX_HIP_CTY_TASKS_DEVICE_ID;
+CREATE INDEX IDX_HIP_CTY_TASKS_DEVICE_ID
+    ON HIP_CTY_TASKS (device_id, id) INCLUDE (updated_at);
@@ -0,0 +1,17 @@
+-- The Job ID is the natural ID of the Tasks.
+DROP INDEX IDX_HIP_CTY_TASKS_JOB_ID;
+CREATE UNIQUE INDEX IDX_HIP_CTY_TASKS_JOB_ID
+    ON HIP_CTY_TASKS (job_id);
+
+-- Publishes the ID of every updated or deleted Task, so every node evicts it from its second-level cache.
+-- The notifications are delivered when the transaction commits.
+CREATE OR REPLACE FUNCTION HIP_CTY_TASKS_NOTIFY_CHANGE() RETURNS TRIGGER AS $$
+BEGIN
+    PERFORM pg_notify('city_tasks_changes', OLD.id::text);
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER TRG_HIP_CTY_TASKS_CHANGES
+    AFTER UPDATE OR DELETE ON HIP_CTY_TASKS
+    FOR EACH ROW EXECUTE FUNCTION HIP_CTY_TASKS_NOTIFY_CHANGE();
@@ -0,0 +1,17 @@
+-- Publishes the Job ID of every created or deleted Task, and of every Task whose schedule changed, so the node that
+-- owns its timing wheel partition reads it again. The notifications are delivered when the transaction commits.
+CREATE OR REPLACE FUNCTION HIP_CTY_TASKS_NOTIFY_SCHEDULE() RETURNS TRIGGER AS $$
+BEGIN
+    IF TG_OP = 'DELETE' THEN
+        PERFORM pg_notify('city_tasks_schedules', OLD.job_id);
+    ELSE
+        PERFORM pg_notify('city_tasks_schedules', NEW.job_id);
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER TRG_HIP_CTY_TASKS_SCHEDULES
+    AFTER INSERT OR DELETE OR UPDATE OF task_hour, task_minute, execution_days_mask, execute_until, device_id,
+        device_action ON HIP_CTY_TASKS
+    FOR EACH ROW EXECUTE FUNCTION HIP_CTY_TASKS_NOTIFY_SCHEDULE();
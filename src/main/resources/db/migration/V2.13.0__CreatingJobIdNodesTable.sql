@@ -0,0 +1,10 @@
+-- Leases of the Job ID generator node IDs, for the nodes started without the HIPERIUM_CITY_TASKS_NODE_ID variable.
+CREATE TABLE HIP_CTY_JOB_ID_NODES
+(
+    node_id int4 NOT NULL,
+    owner varchar(100) NULL,
+    expires_at TIMESTAMP NULL,
+    PRIMARY KEY (node_id)
+);
+
+INSERT INTO HIP_CTY_JOB_ID_NODES (node_id) SELECT generate_series(0, 1023);
@@ -0,0 +1,3 @@
+-- Keyset pagination filtered by device walks this index in (device_id, id) order.
+CREATE INDEX IDX_HIP_CTY_TASKS_DEVICE_ID
+    ON HIP_CTY_TASKS (device_id, id);
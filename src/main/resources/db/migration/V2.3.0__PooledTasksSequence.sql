@@ -0,0 +1,2 @@
+-- Must match the allocationSize of the HIP_CTY_TASKS_SEQ generator in the Task entity.
+ALTER SEQUENCE HIP_CTY_TASKS_SEQ INCREMENT BY 50;
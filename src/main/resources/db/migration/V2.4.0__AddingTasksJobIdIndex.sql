@@ -0,0 +1,3 @@
+-- Used by the Task lookups made by Job ID.
+CREATE INDEX IDX_HIP_CTY_TASKS_JOB_ID
+    ON HIP_CTY_TASKS (job_id);
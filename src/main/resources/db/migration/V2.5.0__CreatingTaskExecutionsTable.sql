@@ -0,0 +1,22 @@
+-- Execution history of the Task fires. Rows are written in batches by a background writer.
+CREATE TABLE HIP_CTY_TASK_EXECUTIONS
+(
+    id int8 GENERATED BY DEFAULT AS IDENTITY,
+    task_id int8 NULL,
+    job_id varchar(30) NOT NULL,
+    device_id varchar(30) NULL,
+    device_action varchar(30) NULL,
+    scheduled_fire_time TIMESTAMP NULL,
+    actual_fire_time TIMESTAMP NOT NULL,
+    outcome varchar(20) NOT NULL,
+    error_message varchar(255) NULL,
+    task_lookup_micros int8 NULL,
+    device_read_micros int8 NULL,
+    device_write_micros int8 NULL,
+    total_micros int8 NULL,
+    PRIMARY KEY (id)
+);
+
+-- The history of a Task is read by Job ID, newest first.
+CREATE INDEX IDX_HIP_CTY_TASK_EXECUTIONS_JOB_ID
+    ON HIP_CTY_TASK_EXECUTIONS (job_id, id);
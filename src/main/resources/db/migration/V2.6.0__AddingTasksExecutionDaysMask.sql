@@ -0,0 +1,16 @@
+-- Execution days as a bitmask: MON = 1, TUE = 2, WED = 4, THU = 8, FRI = 16, SAT = 32, SUN = 64.
+ALTER TABLE HIP_CTY_TASKS
+    ADD COLUMN execution_days_mask INTEGER NOT NULL DEFAULT 0;
+
+UPDATE HIP_CTY_TASKS
+SET execution_days_mask =
+        (CASE WHEN 'MON' = ANY (string_to_array(execution_days, ',')) THEN 1 ELSE 0 END) |
+        (CASE WHEN 'TUE' = ANY (string_to_array(execution_days, ',')) THEN 2 ELSE 0 END) |
+        (CASE WHEN 'WED' = ANY (string_to_array(execution_days, ',')) THEN 4 ELSE 0 END) |
+        (CASE WHEN 'THU' = ANY (string_to_array(execution_days, ',')) THEN 8 ELSE 0 END) |
+        (CASE WHEN 'FRI' = ANY (string_to_array(execution_days, ',')) THEN 16 ELSE 0 END) |
+        (CASE WHEN 'SAT' = ANY (string_to_array(execution_days, ',')) THEN 32 ELSE 0 END) |
+        (CASE WHEN 'SUN' = ANY (string_to_array(execution_days, ',')) THEN 64 ELSE 0 END);
+
+ALTER TABLE HIP_CTY_TASKS
+    ALTER COLUMN execution_days_mask DROP DEFAULT;
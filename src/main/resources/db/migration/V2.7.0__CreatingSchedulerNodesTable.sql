@@ -0,0 +1,7 @@
+-- Heartbeats of the nodes that share the scheduler shards. Nodes without a recent heartbeat lose their shards.
+CREATE TABLE HIP_CTY_SCHEDULER_NODES
+(
+    node_name varchar(100) NOT NULL,
+    heartbeat_at TIMESTAMP NOT NULL,
+    PRIMARY KEY (node_name)
+);
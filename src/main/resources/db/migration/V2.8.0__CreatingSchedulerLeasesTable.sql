@@ -0,0 +1,8 @@
+-- Leases of the timing wheel partitions. A partition without owner, or with an expired lease, can be acquired.
+CREATE TABLE HIP_CTY_SCHEDULER_LEASES
+(
+    partition_id int4 NOT NULL,
+    owner varchar(100) NULL,
+    expires_at TIMESTAMP NULL,
+    PRIMARY KEY (partition_id)
+);
@@ -0,0 +1,3 @@
+-- The shared schedule Jobs find their Tasks by execution time and days when they fire.
+CREATE INDEX IDX_HIP_CTY_TASKS_SCHEDULE
+    ON HIP_CTY_TASKS (task_hour, task_minute, execution_days_mask);
@@ -0,0 +1,44 @@
+package com.hiperium.city.tasks.api.benchmark;
+
+import com.hiperium.city.tasks.api.model.Device;
+import com.hiperium.city.tasks.api.model.Task;
+
+import java.time.ZonedDateTime;
+
+/**
+ * Fixed inputs, so the results of different releases can be compared.
+ */
+final class BenchmarkUtil {
+
+    private static final ZonedDateTime CREATED_AT = ZonedDateTime.parse("2023-01-01T12:00:00-05:00");
+
+    private BenchmarkUtil() {
+        // Empty constructor.
+    }
+
+    static Task getTask(String executionDays) {
+        return Task.builder()
+                .id(1L)
+                .name("Benchmark task")
+                .description("Benchmark task description.")
+                .jobId("a1b2c3d4e5f6a7b8c9d0")
+                .hour(18)
+                .minute(0)
+                .executionDays(executionDays)
+                .executionCommand("java -jar test.jar")
+                .deviceId("1")
+                .deviceAction("ACTIVATE")
+                .createdAt(CREATED_AT)
+                .updatedAt(CREATED_AT)
+                .build();
+    }
+
+    static Device getDevice() {
+        return Device.builder()
+                .id("1")
+                .name("Device 1")
+                .description("Device 1 Description")
+                .status("ON")
+                .build();
+    }
+}
@@ -0,0 +1,39 @@
+package com.hiperium.city.tasks.api.benchmark;
+
+import com.hiperium.city.tasks.api.model.Device;
+import com.hiperium.city.tasks.api.utils.DevicesUtil;
+import org.openjdk.jmh.annotations.*;
+import software.amazon.awssdk.services.dynamodb.model.GetItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.PutItemRequest;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class DevicesUtilBenchmark {
+
+    private Device device;
+    private GetItemResponse getItemResponse;
+
+    @Setup
+    public void setUp() {
+        this.device = BenchmarkUtil.getDevice();
+        this.getItemResponse = GetItemResponse.builder()
+                .item(DevicesUtil.putDeviceRequest(this.device).item())
+                .build();
+    }
+
+    @Benchmark
+    public PutItemRequest putDeviceRequest() {
+        return DevicesUtil.putDeviceRequest(this.device);
+    }
+
+    @Benchmark
+    public Device getFromItemResponse() {
+        return DevicesUtil.getFromItemResponse(this.getItemResponse);
+    }
+}
@@ -0,0 +1,63 @@
+package com.hiperium.city.tasks.api.benchmark;
+
+import com.hiperium.city.tasks.api.utils.JobIdGenerator;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the time-ordered Job ID generator with the previous implementation, based on a SHA-256 digest of a random
+ * UUID, using one thread and 4 concurrent threads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class JobIdGeneratorBenchmark {
+
+    private static final char[] LEGACY_HEX_ARRAY = "HiperiumTasksService".toCharArray();
+    private static final int LEGACY_JOB_ID_LENGTH = 20;
+
+    private final JobIdGenerator jobIdGenerator = new JobIdGenerator(1);
+
+    @Benchmark
+    public String timeOrdered() {
+        return this.jobIdGenerator.nextId();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String timeOrderedContended() {
+        return this.jobIdGenerator.nextId();
+    }
+
+    @Benchmark
+    public String legacy() throws NoSuchAlgorithmException {
+        return legacyJobId();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String legacyContended() throws NoSuchAlgorithmException {
+        return legacyJobId();
+    }
+
+    private static String legacyJobId() throws NoSuchAlgorithmException {
+        MessageDigest salt = MessageDigest.getInstance("SHA-256");
+        salt.update(UUID.randomUUID().toString().getBytes(StandardCharsets.UTF_8));
+        byte[] bytes = salt.digest();
+        char[] hexChars = new char[bytes.length * 2];
+        for (int j = 0; j < bytes.length; j++) {
+            int v = bytes[j] & 0xFF;
+            hexChars[j * 2] = LEGACY_HEX_ARRAY[v >>> 4];
+            hexChars[j * 2 + 1] = LEGACY_HEX_ARRAY[v & 0x0F];
+        }
+        return new String(hexChars).substring(0, LEGACY_JOB_ID_LENGTH);
+    }
+}
@@ -0,0 +1,46 @@
+package com.hiperium.city.tasks.api.benchmark;
+
+import com.hiperium.city.tasks.api.model.Task;
+import com.hiperium.city.tasks.api.utils.JobsUtil;
+import com.hiperium.city.tasks.api.utils.enums.DaysEnum;
+import org.openjdk.jmh.annotations.*;
+import org.quartz.CronTrigger;
+import org.quartz.JobDetail;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class JobsUtilBenchmark {
+
+    private static final String ZONE_ID = "-05:00";
+
+    @Param({"MON", "MON,WED,FRI", "MON,TUE,WED,THU,FRI,SAT,SUN"})
+    private String executionDays;
+
+    private Task task;
+
+    @Setup
+    public void setUp() {
+        this.task = BenchmarkUtil.getTask(this.executionDays);
+    }
+
+    @Benchmark
+    public CronTrigger createCronTriggerFromTask() {
+        return JobsUtil.createCronTriggerFromTask(this.task, ZONE_ID);
+    }
+
+    @Benchmark
+    public int getExecutionDaysMask() {
+        return DaysEnum.toMask(this.executionDays);
+    }
+
+    @Benchmark
+    public JobDetail createJobDetailFromTask() {
+        return JobsUtil.createJobDetailFromTask(this.task);
+    }
+}
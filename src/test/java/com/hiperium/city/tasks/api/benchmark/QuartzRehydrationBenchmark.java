@@ -0,0 +1,78 @@
+package com.hiperium.city.tasks.api.benchmark;
+
+import com.hiperium.city.tasks.api.model.Task;
+import com.hiperium.city.tasks.api.utils.JobsUtil;
+import org.openjdk.jmh.annotations.*;
+import org.quartz.*;
+import org.quartz.impl.StdSchedulerFactory;
+import org.quartz.simpl.RAMJobStore;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to rebuild the Jobs and Triggers of the RAM Job Store, in batches like TaskService.rehydrateJobs().
+ * Reading the Tasks from the database is not included.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 2, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class QuartzRehydrationBenchmark {
+
+    private static final String ZONE_ID = "-05:00";
+    private static final int BATCH_SIZE = 500;
+
+    @Param({"10000", "100000"})
+    private int tasksCount;
+
+    private List<Task> tasks;
+    private Scheduler scheduler;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SchedulerException {
+        this.tasks = new ArrayList<>(this.tasksCount);
+        for (int i = 0; i < this.tasksCount; i++) {
+            Task task = BenchmarkUtil.getTask("MON,WED,FRI");
+            task.setJobId("rehydration-" + i);
+            task.setHour((i / 60) % 24);
+            task.setMinute(i % 60);
+            this.tasks.add(task);
+        }
+        Properties properties = new Properties();
+        properties.setProperty(StdSchedulerFactory.PROP_SCHED_INSTANCE_NAME, "RehydrationBenchmark");
+        properties.setProperty(StdSchedulerFactory.PROP_JOB_STORE_CLASS, RAMJobStore.class.getName());
+        properties.setProperty("org.quartz.threadPool.threadCount", "1");
+        this.scheduler = new StdSchedulerFactory(properties).getScheduler();
+    }
+
+    @Setup(Level.Invocation)
+    public void clearScheduler() throws SchedulerException {
+        this.scheduler.clear();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SchedulerException {
+        this.scheduler.shutdown();
+    }
+
+    @Benchmark
+    public int rehydrateJobs() throws SchedulerException {
+        Date now = new Date();
+        int scheduledJobs = 0;
+        for (int from = 0; from < this.tasks.size(); from += BATCH_SIZE) {
+            Map<JobDetail, Set<? extends Trigger>> triggersAndJobs = new LinkedHashMap<>();
+            for (Task task : this.tasks.subList(from, Math.min(from + BATCH_SIZE, this.tasks.size()))) {
+                Trigger trigger = JobsUtil.createCronTriggerFromTask(task, ZONE_ID);
+                if (Objects.nonNull(trigger.getFireTimeAfter(now))) {
+                    triggersAndJobs.put(JobsUtil.createJobDetailFromTask(task), Set.of(trigger));
+                }
+            }
+            this.scheduler.scheduleJobs(triggersAndJobs, true);
+            scheduledJobs += triggersAndJobs.size();
+        }
+        return scheduledJobs;
+    }
+}
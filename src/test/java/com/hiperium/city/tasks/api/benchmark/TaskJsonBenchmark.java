@@ -0,0 +1,42 @@
+package com.hiperium.city.tasks.api.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hiperium.city.tasks.api.model.Task;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Uses an ObjectMapper built with the same defaults as the one configured by Spring Boot.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class TaskJsonBenchmark {
+
+    private ObjectMapper objectMapper;
+    private Task task;
+    private byte[] taskJson;
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        this.objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        this.task = BenchmarkUtil.getTask("MON,WED,FRI");
+        this.taskJson = this.objectMapper.writeValueAsBytes(this.task);
+    }
+
+    @Benchmark
+    public byte[] serializeTask() throws JsonProcessingException {
+        return this.objectMapper.writeValueAsBytes(this.task);
+    }
+
+    @Benchmark
+    public Task deserializeTask() throws Exception {
+        return this.objectMapper.readValue(this.taskJson, Task.class);
+    }
+}
@@ -7,6 +7,8 @@ import org.testcontainers.containers.localstack.LocalStackContainer;
 import org.testcontainers.lifecycle.Startables;
 import org.testcontainers.utility.DockerImageName;
 
+import java.util.function.BooleanSupplier;
+
 public abstract class AbstractContainerBase {
 
     private static final PostgreSQLContainer POSTGRES_CONTAINER;
@@ -14,6 +16,8 @@ public abstract class AbstractContainerBase {
     protected static final LocalStackContainer LOCAL_STACK_CONTAINER;
 
     private static final DockerImageName DOCKER_IMAGE_NAME = DockerImageName.parse("localstack/localstack:latest");
+    private static final long WAIT_POLL_MILLIS = 100L;
+    private static final int WAIT_MAX_POLLS = 100;
 
     static {
         POSTGRES_CONTAINER = new PostgreSQLContainer<>("postgres:14.4")
@@ -44,4 +48,13 @@ public abstract class AbstractContainerBase {
         registry.add("aws.secretAccessKey", LOCAL_STACK_CONTAINER::getSecretKey);
         registry.add("aws.endpoint-override", () -> LOCAL_STACK_CONTAINER.getEndpointOverride(LocalStackContainer.Service.DYNAMODB).toString());
     }
+
+    /**
+     * Polls the condition until it is true, or up to 10 seconds. The caller asserts the expected state afterwards.
+     */
+    protected static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        for (int i = 0; i < WAIT_MAX_POLLS && !condition.getAsBoolean(); i++) {
+            Thread.sleep(WAIT_POLL_MILLIS);
+        }
+    }
 }
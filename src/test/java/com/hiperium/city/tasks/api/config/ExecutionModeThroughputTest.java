@@ -0,0 +1,126 @@
+package com.hiperium.city.tasks.api.config;
+
+import com.hiperium.city.tasks.api.job.VirtualThreadPool;
+import com.hiperium.city.tasks.api.utils.VirtualThreadsUtil;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.quartz.SchedulerConfigException;
+import org.quartz.simpl.SimpleThreadPool;
+import org.quartz.spi.ThreadPool;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares the platform and the virtual threads execution modes with operations that block for a fixed time,
+ * like the JDBC calls made by the service and the Quartz Jobs.
+ */
+class ExecutionModeThroughputTest {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ExecutionModeThroughputTest.class);
+    private static final long BLOCKING_MILLIS = 10L;
+    private static final int OPERATIONS = 5_000;
+    private static final int CONCURRENCY = 1_000;
+    private static final int QUARTZ_PLATFORM_THREADS = 10;
+
+    @BeforeEach
+    public void checkVirtualThreads() {
+        Assumptions.assumeTrue(VirtualThreadsUtil.isSupported(), "Virtual threads are not supported by the JVM.");
+    }
+
+    @Test
+    @DisplayName("Compare blocking Scheduler throughput")
+    void givenBothExecutionModes_whenRunBlockingRequests_thenReportRequestsPerSecond() {
+        Scheduler virtualScheduler = Schedulers.fromExecutorService(
+                VirtualThreadsUtil.newThreadPerTaskExecutor("test-virtual-"), "virtualThreads");
+        try {
+            this.measureRequests(Schedulers.boundedElastic(), OPERATIONS / 10);
+            this.measureRequests(virtualScheduler, OPERATIONS / 10);
+
+            double platformThroughput = this.measureRequests(Schedulers.boundedElastic(), OPERATIONS);
+            double virtualThroughput = this.measureRequests(virtualScheduler, OPERATIONS);
+            LOGGER.info("Blocking requests with {} concurrent operations - Bounded elastic: {} req/s - Virtual threads: {} req/s",
+                    CONCURRENCY, String.format("%.2f", platformThroughput), String.format("%.2f", virtualThroughput));
+
+            assertThat(platformThroughput).isPositive();
+            assertThat(virtualThroughput).isPositive();
+        } finally {
+            virtualScheduler.dispose();
+        }
+    }
+
+    @Test
+    @DisplayName("Compare Quartz Thread Pool throughput")
+    void givenBothThreadPools_whenRunBlockingJobs_thenReportFiresPerSecond() throws Exception {
+        SimpleThreadPool simpleThreadPool = new SimpleThreadPool(QUARTZ_PLATFORM_THREADS, Thread.NORM_PRIORITY);
+        VirtualThreadPool virtualThreadPool = new VirtualThreadPool();
+        virtualThreadPool.setThreadCount(CONCURRENCY);
+        initialize(simpleThreadPool);
+        initialize(virtualThreadPool);
+        try {
+            double platformThroughput = this.measureFires(simpleThreadPool, OPERATIONS / 5);
+            double virtualThroughput = this.measureFires(virtualThreadPool, OPERATIONS);
+            LOGGER.info("Blocking Jobs - SimpleThreadPool ({} threads): {} fires/s - VirtualThreadPool ({} concurrent): {} fires/s",
+                    QUARTZ_PLATFORM_THREADS, String.format("%.2f", platformThroughput),
+                    CONCURRENCY, String.format("%.2f", virtualThroughput));
+
+            assertThat(platformThroughput).isPositive();
+            assertThat(virtualThroughput).isPositive();
+        } finally {
+            simpleThreadPool.shutdown(true);
+            virtualThreadPool.shutdown(true);
+        }
+    }
+
+    private double measureRequests(Scheduler scheduler, int operations) {
+        long start = System.nanoTime();
+        Long completed = Flux.range(0, operations)
+                .flatMap(index -> Mono.fromCallable(() -> block(index)).subscribeOn(scheduler), CONCURRENCY)
+                .count()
+                .block(Duration.ofMinutes(5));
+        double elapsedSeconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        assertThat(completed).isEqualTo(operations);
+        return operations / elapsedSeconds;
+    }
+
+    private double measureFires(ThreadPool threadPool, int fires) throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(fires);
+        long start = System.nanoTime();
+        for (int i = 0; i < fires; i++) {
+            final int index = i;
+            threadPool.blockForAvailableThreads();
+            assertThat(threadPool.runInThread(() -> {
+                block(index);
+                latch.countDown();
+            })).isTrue();
+        }
+        assertThat(latch.await(5, TimeUnit.MINUTES)).isTrue();
+        double elapsedSeconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        return fires / elapsedSeconds;
+    }
+
+    private static int block(int index) {
+        try {
+            Thread.sleep(BLOCKING_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return index;
+    }
+
+    private static void initialize(ThreadPool threadPool) throws SchedulerConfigException {
+        threadPool.setInstanceName("ThroughputTest");
+        threadPool.initialize();
+    }
+}
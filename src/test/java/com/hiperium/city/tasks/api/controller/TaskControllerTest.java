@@ -2,6 +2,7 @@ package com.hiperium.city.tasks.api.controller;
 
 import com.hiperium.city.tasks.api.common.AbstractContainerBase;
 import com.hiperium.city.tasks.api.model.Task;
+import com.hiperium.city.tasks.api.model.TaskExecution;
 import com.hiperium.city.tasks.api.utils.TasksUtil;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.*;
@@ -9,6 +10,7 @@ import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.web.reactive.server.WebTestClient;
@@ -189,4 +191,204 @@ class TaskControllerTest extends AbstractContainerBase {
                 .expectStatus().isNotFound();
     }
 
+    @Test
+    @Order(9)
+    @DisplayName("Return Not Modified for an unchanged Task")
+    void givenTaskETag_whenFindTaskById_thenReturnNotModified() {
+        Task savedTask = this.saveTask("ETag task");
+        String eTag = this.webTestClient
+                .get()
+                .uri(TasksUtil.TASKS_PATH.concat("/{id}"), savedTask.getId())
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().exists(HttpHeaders.ETAG)
+                .returnResult(Task.class)
+                .getResponseHeaders()
+                .getETag();
+        this.webTestClient
+                .get()
+                .uri(TasksUtil.TASKS_PATH.concat("/{id}"), savedTask.getId())
+                .accept(MediaType.APPLICATION_JSON)
+                .ifNoneMatch(eTag)
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, eTag)
+                .expectBody().isEmpty();
+        this.deleteTask(savedTask.getId());
+    }
+
+    @Test
+    @Order(10)
+    @DisplayName("Find Tasks page by device")
+    void givenPageSize_whenFindTasksPage_thenReturnPageAndNextPageToken() {
+        Task savedTask = this.saveTask("Page task");
+        this.webTestClient
+                .get()
+                .uri(uriBuilder -> uriBuilder.path(TasksUtil.TASKS_PATH)
+                        .queryParam("size", 1)
+                        .queryParam("deviceId", DEVICE_ID)
+                        .build())
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().is2xxSuccessful()
+                .expectHeader().exists(TasksUtil.NEXT_PAGE_TOKEN_HEADER)
+                .expectBodyList(Task.class)
+                .value(taskList -> {
+                    Assertions.assertThat(taskList).hasSize(1);
+                    Assertions.assertThat(taskList.get(0).getId()).isEqualTo(savedTask.getId());
+                });
+        this.deleteTask(savedTask.getId());
+    }
+
+    @Test
+    @Order(11)
+    @DisplayName("Return Not Modified for an unchanged Tasks page")
+    void givenPageETag_whenFindTasksPage_thenReturnNotModified() {
+        Task savedTask = this.saveTask("Page ETag task");
+        String eTag = this.webTestClient
+                .get()
+                .uri(uriBuilder -> uriBuilder.path(TasksUtil.TASKS_PATH).queryParam("deviceId", DEVICE_ID).build())
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(Task.class)
+                .getResponseHeaders()
+                .getETag();
+        Assertions.assertThat(eTag).isNotBlank();
+        this.webTestClient
+                .get()
+                .uri(uriBuilder -> uriBuilder.path(TasksUtil.TASKS_PATH).queryParam("deviceId", DEVICE_ID).build())
+                .accept(MediaType.APPLICATION_JSON)
+                .ifNoneMatch(eTag)
+                .exchange()
+                .expectStatus().isNotModified();
+        this.webTestClient
+                .get()
+                .uri(uriBuilder -> uriBuilder.path(TasksUtil.TASKS_PATH).queryParam("deviceId", "other-device").build())
+                .accept(MediaType.APPLICATION_JSON)
+                .ifNoneMatch(eTag)
+                .exchange()
+                .expectStatus().isOk();
+        this.deleteTask(savedTask.getId());
+    }
+
+    @Test
+    @Order(12)
+    @DisplayName("Find Tasks page with invalid token")
+    void givenInvalidPageToken_whenFindTasksPage_thenReturnError400() {
+        this.webTestClient
+                .get()
+                .uri(uriBuilder -> uriBuilder.path(TasksUtil.TASKS_PATH)
+                        .queryParam("pageToken", "not-a-token")
+                        .build())
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    @Order(13)
+    @DisplayName("Find Task executions page")
+    void givenTaskId_whenFindTaskExecutions_thenReturnExecutionsPage() {
+        Task savedTask = this.saveTask("Executions task");
+        this.webTestClient
+                .get()
+                .uri(TasksUtil.TASKS_PATH.concat("/{id}/executions"), savedTask.getId())
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().is2xxSuccessful()
+                .expectHeader().doesNotExist(TasksUtil.NEXT_PAGE_TOKEN_HEADER)
+                .expectBodyList(TaskExecution.class)
+                .value(executions -> Assertions.assertThat(executions).isEmpty());
+        this.deleteTask(savedTask.getId());
+    }
+
+    @Test
+    @Order(14)
+    @DisplayName("Find Task fields by ID")
+    void givenFields_whenFindTaskById_thenReturnOnlyThoseFields() {
+        Task savedTask = this.saveTask("Fields task");
+        this.webTestClient
+                .get()
+                .uri(uriBuilder -> uriBuilder.path(TasksUtil.TASKS_PATH.concat("/{id}"))
+                        .queryParam("fields", "id,name,hour,minute")
+                        .build(savedTask.getId()))
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().exists(HttpHeaders.ETAG)
+                .expectBody()
+                .jsonPath("$.id").isEqualTo(savedTask.getId())
+                .jsonPath("$.name").isEqualTo(savedTask.getName())
+                .jsonPath("$.hour").isEqualTo(savedTask.getHour())
+                .jsonPath("$.minute").isEqualTo(savedTask.getMinute())
+                .jsonPath("$.description").doesNotExist()
+                .jsonPath("$.executionCommand").doesNotExist()
+                .jsonPath("$.updatedAt").doesNotExist();
+        this.deleteTask(savedTask.getId());
+    }
+
+    @Test
+    @Order(15)
+    @DisplayName("Find Tasks page fields")
+    void givenFields_whenFindTasksPage_thenReturnOnlyThoseFields() {
+        Task savedTask = this.saveTask("Page fields task");
+        this.webTestClient
+                .get()
+                .uri(uriBuilder -> uriBuilder.path(TasksUtil.TASKS_PATH)
+                        .queryParam("fields", "id,name")
+                        .queryParam("deviceId", DEVICE_ID)
+                        .build())
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(1)
+                .jsonPath("$[0].id").isEqualTo(savedTask.getId())
+                .jsonPath("$[0].name").isEqualTo(savedTask.getName())
+                .jsonPath("$[0].deviceId").doesNotExist();
+        this.webTestClient
+                .get()
+                .uri(uriBuilder -> uriBuilder.path(TasksUtil.TASKS_PATH)
+                        .queryParam("fields", "id,unknown")
+                        .build())
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isBadRequest();
+        this.deleteTask(savedTask.getId());
+    }
+
+    private Task saveTask(String name) {
+        Task newTask = Task.builder()
+                .name(name)
+                .description("Task description.")
+                .hour(12)
+                .minute(0)
+                .executionDays("MON,WED,SUN")
+                .executionCommand("java -jar test.jar")
+                .deviceId(DEVICE_ID)
+                .deviceAction("ACTIVATE")
+                .build();
+        Task savedTask = this.webTestClient
+                .post()
+                .uri(TasksUtil.TASKS_PATH)
+                .accept(MediaType.APPLICATION_JSON)
+                .bodyValue(newTask)
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(Task.class)
+                .returnResult()
+                .getResponseBody();
+        Assertions.assertThat(savedTask).isNotNull();
+        return savedTask;
+    }
+
+    private void deleteTask(Long id) {
+        this.webTestClient
+                .delete()
+                .uri(TasksUtil.TASKS_PATH.concat("/{id}"), id)
+                .exchange()
+                .expectStatus().is2xxSuccessful();
+    }
 }
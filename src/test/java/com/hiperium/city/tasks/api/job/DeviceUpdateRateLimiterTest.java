@@ -0,0 +1,56 @@
+package com.hiperium.city.tasks.api.job;
+
+import com.hiperium.city.tasks.api.exception.TaskScheduleException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.test.StepVerifier;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class DeviceUpdateRateLimiterTest {
+
+    private static final long EMISSION_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final long TOLERANCE_NANOS = TimeUnit.MILLISECONDS.toNanos(20);
+
+    @Test
+    @DisplayName("Admit the burst, then one permit per emission interval")
+    void givenBurst_whenReserve_thenDelayByEmissionInterval() {
+        DeviceUpdateRateLimiter rateLimiter = new DeviceUpdateRateLimiter(10, 5, 10_000L);
+        for (int i = 0; i < 5; i++) {
+            assertThat(rateLimiter.reserve()).isZero();
+        }
+        long firstDelay = rateLimiter.reserve();
+        long secondDelay = rateLimiter.reserve();
+
+        assertThat(firstDelay).isPositive().isLessThanOrEqualTo(EMISSION_INTERVAL_NANOS);
+        assertThat(secondDelay - firstDelay).isCloseTo(EMISSION_INTERVAL_NANOS, within(TOLERANCE_NANOS));
+    }
+
+    @Test
+    @DisplayName("Reject the callers over the maximum wait")
+    void givenMaxWait_whenReserveOverIt_thenRejectWithoutTakingPermit() {
+        DeviceUpdateRateLimiter rateLimiter = new DeviceUpdateRateLimiter(10, 1, 150L);
+        assertThat(rateLimiter.reserve()).isZero();
+        assertThat(rateLimiter.reserve()).isPositive().isLessThanOrEqualTo(EMISSION_INTERVAL_NANOS);
+
+        assertThat(rateLimiter.reserve()).isEqualTo(-1L);
+        assertThat(rateLimiter.reserve()).isEqualTo(-1L);
+        StepVerifier.create(rateLimiter.acquire())
+                .expectError(TaskScheduleException.class)
+                .verify();
+    }
+
+    @Test
+    @DisplayName("Complete at once while inside the burst")
+    void givenFreePermit_whenAcquire_thenCompleteWithoutDelay() {
+        DeviceUpdateRateLimiter rateLimiter = new DeviceUpdateRateLimiter(10, 1, 0L);
+        StepVerifier.create(rateLimiter.acquire())
+                .verifyComplete();
+        StepVerifier.create(rateLimiter.acquire())
+                .expectError(TaskScheduleException.class)
+                .verify();
+    }
+}
@@ -0,0 +1,103 @@
+package com.hiperium.city.tasks.api.job;
+
+import com.hiperium.city.tasks.api.model.Task;
+import com.hiperium.city.tasks.api.model.TaskExecution;
+import com.hiperium.city.tasks.api.utils.enums.DaysEnum;
+import com.hiperium.city.tasks.api.utils.enums.DispatchModeEnum;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TimingWheelSchedulingEngineTest {
+
+    private static final long MINUTE_MILLIS = 60_000L;
+    private static final int BUCKET_SIZE = 2_000;
+
+    @Test
+    @DisplayName("Fire every Task of a bucket")
+    void givenBucket_whenFire_thenDispatchEveryActiveTask() {
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        RecordingTaskDispatcher taskDispatcher = new RecordingTaskDispatcher(Integer.MAX_VALUE);
+        TimingWheelSchedulingEngine engine = newEngine(taskDispatcher, meterRegistry);
+        long currentMinute = Math.floorDiv(System.currentTimeMillis(), MINUTE_MILLIS);
+        List<TimingWheel.Entry> entries = new ArrayList<>(getEntries(BUCKET_SIZE, Long.MAX_VALUE));
+        entries.add(new TimingWheel.Entry("expired-job", "device-1", "ACTIVATE", 0L, 0, DaysEnum.ALL_DAYS_MASK));
+
+        engine.fire(currentMinute, entries.toArray(TimingWheel.Entry[]::new));
+
+        assertThat(taskDispatcher.jobIds).hasSize(BUCKET_SIZE).doesNotContain("expired-job");
+        assertThat(meterRegistry.get("city.tasks.wheel.fire.lag").timer().count()).isEqualTo(BUCKET_SIZE);
+        assertThat(meterRegistry.get("city.tasks.wheel.fires.rejected").counter().count()).isZero();
+        assertThat(meterRegistry.get("city.tasks.wheel.fires.skipped").counter().count()).isZero();
+    }
+
+    @Test
+    @DisplayName("Count the fires rejected by a full dispatcher")
+    void givenFullDispatcher_whenFire_thenCountRejectedFires() {
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        RecordingTaskDispatcher taskDispatcher = new RecordingTaskDispatcher(BUCKET_SIZE / 2);
+        TimingWheelSchedulingEngine engine = newEngine(taskDispatcher, meterRegistry);
+        long currentMinute = Math.floorDiv(System.currentTimeMillis(), MINUTE_MILLIS);
+
+        engine.fire(currentMinute, getEntries(BUCKET_SIZE, Long.MAX_VALUE).toArray(TimingWheel.Entry[]::new));
+
+        assertThat(taskDispatcher.jobIds).hasSize(BUCKET_SIZE / 2);
+        assertThat(meterRegistry.get("city.tasks.wheel.fires.rejected").counter().count()).isEqualTo(BUCKET_SIZE / 2);
+    }
+
+    @Test
+    @DisplayName("Skip the fires of a bucket older than the catch-up window")
+    void givenLateBucket_whenFire_thenCountSkippedFires() {
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        RecordingTaskDispatcher taskDispatcher = new RecordingTaskDispatcher(Integer.MAX_VALUE);
+        TimingWheelSchedulingEngine engine = newEngine(taskDispatcher, meterRegistry);
+        long lateMinute = Math.floorDiv(System.currentTimeMillis(), MINUTE_MILLIS) - 10;
+
+        engine.fire(lateMinute, getEntries(BUCKET_SIZE, Long.MAX_VALUE).toArray(TimingWheel.Entry[]::new));
+
+        assertThat(taskDispatcher.jobIds).isEmpty();
+        assertThat(meterRegistry.get("city.tasks.wheel.fires.skipped").counter().count()).isEqualTo(BUCKET_SIZE);
+    }
+
+    private static TimingWheelSchedulingEngine newEngine(TaskDispatcher taskDispatcher, MeterRegistry meterRegistry) {
+        return new TimingWheelSchedulingEngine(taskDispatcher, null, null, null, null, null, null, meterRegistry,
+                "UTC", 4, 3L, 100, 1L, 3L);
+    }
+
+    private static List<TimingWheel.Entry> getEntries(int size, long executeUntilMillis) {
+        return IntStream.range(0, size)
+                .mapToObj(i -> new TimingWheel.Entry("job-" + i, "device-" + i, "ACTIVATE", executeUntilMillis, 0,
+                        DaysEnum.ALL_DAYS_MASK))
+                .toList();
+    }
+
+    /**
+     * Records the dispatched Jobs, and rejects the fires once the capacity is reached.
+     */
+    private static final class RecordingTaskDispatcher extends TaskDispatcher {
+
+        private final List<String> jobIds = new ArrayList<>();
+        private final int capacity;
+
+        private RecordingTaskDispatcher(int capacity) {
+            super(null, null, null, null, DispatchModeEnum.IMMEDIATE, 0L, 1, 1, 0, 0L);
+            this.capacity = capacity;
+        }
+
+        @Override
+        public boolean dispatch(TaskExecution execution, Task task) {
+            if (this.jobIds.size() >= this.capacity) {
+                return false;
+            }
+            this.jobIds.add(execution.getJobId());
+            return true;
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.hiperium.city.tasks.api.job;
+
+import com.hiperium.city.tasks.api.utils.enums.DaysEnum;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TimingWheelTest {
+
+    private static final int MON_WED_MASK = DaysEnum.MON.getMask() | DaysEnum.WED.getMask();
+
+    @Test
+    @DisplayName("Add a Task to the bucket of each execution day")
+    void givenTask_whenAdd_thenFindItInEveryExecutionDay() {
+        TimingWheel timingWheel = new TimingWheel();
+        timingWheel.add("job-1", "device-1", "ACTIVATE", Long.MAX_VALUE, 8, 30, MON_WED_MASK);
+
+        assertThat(timingWheel.size()).isEqualTo(1);
+        assertThat(timingWheel.getEntries(TimingWheel.getMinuteOfWeek(DaysEnum.MON, 8, 30)))
+                .extracting(TimingWheel.Entry::jobId).containsExactly("job-1");
+        assertThat(timingWheel.getEntries(TimingWheel.getMinuteOfWeek(DaysEnum.WED, 8, 30)))
+                .extracting(TimingWheel.Entry::jobId).containsExactly("job-1");
+        assertThat(timingWheel.getEntries(TimingWheel.getMinuteOfWeek(DaysEnum.TUE, 8, 30))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Replace the previous schedule of a Job ID")
+    void givenScheduledTask_whenAddAgain_thenMoveItToTheNewBuckets() {
+        TimingWheel timingWheel = new TimingWheel();
+        timingWheel.add("job-1", "device-1", "ACTIVATE", Long.MAX_VALUE, 8, 30, MON_WED_MASK);
+        timingWheel.add("job-2", "device-1", "ACTIVATE", Long.MAX_VALUE, 8, 30, MON_WED_MASK);
+        timingWheel.add("job-1", "device-1", "INACTIVATE", Long.MAX_VALUE, 9, 0, DaysEnum.SUN.getMask());
+
+        assertThat(timingWheel.size()).isEqualTo(2);
+        assertThat(timingWheel.getEntries(TimingWheel.getMinuteOfWeek(DaysEnum.MON, 8, 30)))
+                .extracting(TimingWheel.Entry::jobId).containsExactly("job-2");
+        TimingWheel.Entry[] entries = timingWheel.getEntries(TimingWheel.getMinuteOfWeek(DaysEnum.SUN, 9, 0));
+        assertThat(entries).extracting(TimingWheel.Entry::deviceAction).containsExactly("INACTIVATE");
+
+        assertThat(timingWheel.remove("job-1")).isTrue();
+        assertThat(timingWheel.remove("job-1")).isFalse();
+        assertThat(timingWheel.getEntries(TimingWheel.getMinuteOfWeek(DaysEnum.SUN, 9, 0))).isEmpty();
+        assertThat(timingWheel.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Remove the Tasks of the released partitions")
+    void givenFilter_whenRemoveIf_thenKeepTheOtherTasks() {
+        TimingWheel timingWheel = new TimingWheel();
+        for (int i = 0; i < 100; i++) {
+            timingWheel.add("job-" + i, "device-" + i, "ACTIVATE", Long.MAX_VALUE, 0, 0, DaysEnum.ALL_DAYS_MASK);
+        }
+        timingWheel.removeIf(entry -> entry.jobId().endsWith("0"));
+
+        assertThat(timingWheel.size()).isEqualTo(90);
+        assertThat(timingWheel.getEntries(TimingWheel.getMinuteOfWeek(DaysEnum.FRI, 0, 0))).hasSize(90);
+    }
+
+    @Test
+    @DisplayName("Remove half of a large bucket in one pass")
+    void givenLargeBucket_whenRemoveHalf_thenKeepTheOtherHalf() {
+        TimingWheel timingWheel = new TimingWheel();
+        int tasks = 50_000;
+        for (int i = 0; i < tasks; i++) {
+            timingWheel.add("job-" + i, "device-" + i, "ACTIVATE", Long.MAX_VALUE, 8, 30, MON_WED_MASK);
+        }
+        timingWheel.removeIf(entry -> Integer.parseInt(entry.jobId().substring(4)) % 2 == 0);
+
+        assertThat(timingWheel.size()).isEqualTo(tasks / 2);
+        for (DaysEnum day : new DaysEnum[]{DaysEnum.MON, DaysEnum.WED}) {
+            int minuteOfWeek = TimingWheel.getMinuteOfWeek(day, 8, 30);
+            assertThat(timingWheel.count(minuteOfWeek)).isEqualTo(tasks / 2);
+            assertThat(timingWheel.getEntries(minuteOfWeek))
+                    .extracting(TimingWheel.Entry::jobId)
+                    .allMatch(jobId -> Integer.parseInt(jobId.substring(4)) % 2 == 1)
+                    .doesNotHaveDuplicates();
+        }
+        assertThat(timingWheel.remove("job-1")).isTrue();
+        assertThat(timingWheel.remove("job-0")).isFalse();
+        assertThat(timingWheel.count(TimingWheel.getMinuteOfWeek(DaysEnum.MON, 8, 30))).isEqualTo(tasks / 2 - 1);
+    }
+
+    @Test
+    @DisplayName("Start the week on Monday")
+    void givenDateTime_whenGetMinuteOfWeek_thenStartOnMonday() {
+        ZonedDateTime monday = ZonedDateTime.of(2023, 1, 2, 0, 0, 0, 0, ZoneOffset.UTC);
+        ZonedDateTime sunday = ZonedDateTime.of(2023, 1, 8, 23, 59, 0, 0, ZoneOffset.UTC);
+
+        assertThat(TimingWheel.getMinuteOfWeek(monday)).isZero();
+        assertThat(TimingWheel.getMinuteOfWeek(sunday)).isEqualTo(TimingWheel.MINUTES_PER_WEEK - 1);
+        assertThat(TimingWheel.getMinuteOfWeek(sunday)).isEqualTo(TimingWheel.getMinuteOfWeek(DaysEnum.SUN, 23, 59));
+    }
+
+    @Test
+    @DisplayName("Reject an invalid schedule")
+    void givenInvalidSchedule_whenAdd_thenThrowException() {
+        TimingWheel timingWheel = new TimingWheel();
+        assertThatThrownBy(() -> timingWheel.add("job-1", "device-1", "ACTIVATE", Long.MAX_VALUE, 24, 0, MON_WED_MASK))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> timingWheel.add("job-1", "device-1", "ACTIVATE", Long.MAX_VALUE, 8, 0, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(timingWheel.size()).isZero();
+    }
+}
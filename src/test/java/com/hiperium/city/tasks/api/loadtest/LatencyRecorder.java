@@ -0,0 +1,63 @@
+package com.hiperium.city.tasks.api.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * Keeps every latency of one operation, so the percentiles of the report are exact.
+ */
+final class LatencyRecorder {
+
+    private long[] latencies = new long[1_024];
+    private int count;
+    private long errors;
+
+    synchronized void record(long latencyNanos, boolean error) {
+        if (this.count == this.latencies.length) {
+            this.latencies = Arrays.copyOf(this.latencies, this.latencies.length * 2);
+        }
+        this.latencies[this.count++] = latencyNanos;
+        if (error) {
+            this.errors++;
+        }
+    }
+
+    synchronized LoadTestReport.OperationReport getReport(double elapsedSeconds) {
+        long[] sortedLatencies = Arrays.copyOf(this.latencies, this.count);
+        Arrays.sort(sortedLatencies);
+        return new LoadTestReport.OperationReport(
+                this.count,
+                this.errors,
+                this.count == 0 ? 0.0 : (double) this.errors / this.count,
+                this.count / elapsedSeconds,
+                toMillis(getPercentile(sortedLatencies, 0.50)),
+                toMillis(getPercentile(sortedLatencies, 0.95)),
+                toMillis(getPercentile(sortedLatencies, 0.99)),
+                toMillis(getPercentile(sortedLatencies, 0.999)),
+                toMillis(sortedLatencies.length == 0 ? 0L : sortedLatencies[sortedLatencies.length - 1]));
+    }
+
+    static LatencyRecorder merge(Iterable<LatencyRecorder> recorders) {
+        LatencyRecorder mergedRecorder = new LatencyRecorder();
+        for (LatencyRecorder recorder : recorders) {
+            synchronized (recorder) {
+                for (int i = 0; i < recorder.count; i++) {
+                    mergedRecorder.record(recorder.latencies[i], false);
+                }
+                mergedRecorder.errors += recorder.errors;
+            }
+        }
+        return mergedRecorder;
+    }
+
+    private static long getPercentile(long[] sortedLatencies, double percentile) {
+        if (sortedLatencies.length == 0) {
+            return 0L;
+        }
+        int index = (int) Math.ceil(percentile * sortedLatencies.length) - 1;
+        return sortedLatencies[Math.max(index, 0)];
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
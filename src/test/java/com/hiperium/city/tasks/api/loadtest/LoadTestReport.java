@@ -0,0 +1,27 @@
+package com.hiperium.city.tasks.api.loadtest;
+
+import java.util.Map;
+
+/**
+ * Machine-readable result of a load test run. Latencies are measured from the scheduled arrival time of each
+ * request, so they include the time a request waited for a connection.
+ */
+record LoadTestReport(String version,
+                      String startedAt,
+                      int targetRequestsPerSecond,
+                      int durationSeconds,
+                      Map<String, Integer> mix,
+                      OperationReport total,
+                      Map<String, OperationReport> operations) {
+
+    record OperationReport(long requests,
+                           long errors,
+                           double errorRate,
+                           double requestsPerSecond,
+                           double p50Millis,
+                           double p95Millis,
+                           double p99Millis,
+                           double p999Millis,
+                           double maxMillis) {
+    }
+}
@@ -0,0 +1,255 @@
+package com.hiperium.city.tasks.api.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.hiperium.city.tasks.api.common.AbstractContainerBase;
+import com.hiperium.city.tasks.api.model.Task;
+import com.hiperium.city.tasks.api.utils.TasksUtil;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.TestInstance.Lifecycle.PER_CLASS;
+
+/**
+ * Open-model load test of the Tasks API: requests arrive at a fixed rate, whatever the response times are,
+ * with a configurable mix of operations. Runs only with the "load-test" Maven profile:
+ * <pre>
+ * ./mvnw -Pload-test test -Dloadtest.rate=200 -Dloadtest.duration-seconds=60
+ * </pre>
+ * The report is written to "target/loadtest-result-&lt;version&gt;.json".
+ */
+@TestInstance(PER_CLASS)
+@EnabledIfSystemProperty(named = "loadtest.enabled", matches = "true")
+@TestPropertySource(locations = "classpath:application-test.properties",
+        properties = "logging.level.com.hiperium.city.tasks.api=INFO")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class TasksApiLoadTest extends AbstractContainerBase {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TasksApiLoadTest.class);
+    private static final String DEVICE_ID = "1";
+    private static final String[] EXECUTION_DAYS = {"MON,WED,FRI", "TUE,THU", "SAT,SUN", "MON,TUE,WED,THU,FRI"};
+
+    private final int rate = Integer.getInteger("loadtest.rate", 100);
+    private final int durationSeconds = Integer.getInteger("loadtest.duration-seconds", 30);
+    private final int warmUpSeconds = Integer.getInteger("loadtest.warm-up-seconds", 10);
+    private final int seedTasks = Integer.getInteger("loadtest.seed-tasks", 500);
+    private final int maxConnections = Integer.getInteger("loadtest.max-connections", 500);
+    private final long requestTimeoutSeconds = Long.getLong("loadtest.request-timeout-seconds", 30L);
+    private final double maxErrorRate = Double.parseDouble(System.getProperty("loadtest.max-error-rate", "0.01"));
+    private final Map<OperationEnum, Integer> mix =
+            getMix(System.getProperty("loadtest.mix", "CREATE=20,READ=45,LIST=10,UPDATE=20,DELETE=5"));
+    private final Random random = new Random(Long.getLong("loadtest.seed", 42L));
+    private final TaskIdPool taskIdPool = new TaskIdPool();
+
+    @LocalServerPort
+    private int port;
+
+    private ConnectionProvider connectionProvider;
+    private WebClient webClient;
+
+    @BeforeAll
+    public void init() {
+        this.connectionProvider = ConnectionProvider.builder("load-test")
+                .maxConnections(this.maxConnections)
+                .pendingAcquireMaxCount(-1)
+                .build();
+        this.webClient = WebClient.builder()
+                .baseUrl("http://localhost:" + this.port + TasksUtil.TASKS_PATH)
+                .clientConnector(new ReactorClientHttpConnector(HttpClient.create(this.connectionProvider)))
+                .build();
+        this.webClient.post()
+                .uri("/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(Flux.range(0, this.seedTasks).map(this::getNewTask), Task.class)
+                .retrieve()
+                .bodyToFlux(Task.class)
+                .doOnNext(task -> this.taskIdPool.add(task.getId()))
+                .blockLast(Duration.ofMinutes(5));
+    }
+
+    @AfterAll
+    public void cleanUp() {
+        this.connectionProvider.dispose();
+    }
+
+    @Test
+    @DisplayName("Tasks API load test")
+    void givenTrafficMix_whenSendRequestsAtFixedRate_thenWriteReport() throws IOException {
+        LOGGER.info("Warming up for {} seconds at {} req/s.", this.warmUpSeconds, this.rate);
+        this.run(this.warmUpSeconds);
+
+        String startedAt = Instant.now().toString();
+        LOGGER.info("Measuring for {} seconds at {} req/s with mix {}.", this.durationSeconds, this.rate, this.mix);
+        Map<OperationEnum, LatencyRecorder> recorders = this.run(this.durationSeconds);
+
+        Map<String, LoadTestReport.OperationReport> operations = new LinkedHashMap<>();
+        recorders.forEach((operation, recorder) ->
+                operations.put(operation.name(), recorder.getReport(this.durationSeconds)));
+        LoadTestReport.OperationReport total = LatencyRecorder.merge(recorders.values()).getReport(this.durationSeconds);
+        Map<String, Integer> reportMix = new LinkedHashMap<>();
+        this.mix.forEach((operation, weight) -> reportMix.put(operation.name(), weight));
+        LoadTestReport report = new LoadTestReport(System.getProperty("loadtest.version", "dev"), startedAt,
+                this.rate, this.durationSeconds, reportMix, total, operations);
+
+        Path reportPath = Path.of(System.getProperty("loadtest.report-dir", "target"),
+                "loadtest-result-" + report.version() + ".json");
+        Files.createDirectories(reportPath.getParent());
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(reportPath.toFile(), report);
+        LOGGER.info("Load test - {} req/s - p50: {} ms - p99: {} ms - error rate: {} - Report: {}",
+                String.format("%.2f", total.requestsPerSecond()), total.p50Millis(), total.p99Millis(),
+                total.errorRate(), reportPath);
+
+        assertThat(total.requests()).isEqualTo((long) this.rate * this.durationSeconds);
+        assertThat(total.errorRate()).isLessThanOrEqualTo(this.maxErrorRate);
+    }
+
+    private Map<OperationEnum, LatencyRecorder> run(int seconds) {
+        Map<OperationEnum, LatencyRecorder> recorders = new EnumMap<>(OperationEnum.class);
+        this.mix.keySet().forEach(operation -> recorders.put(operation, new LatencyRecorder()));
+        final long periodNanos = TimeUnit.SECONDS.toNanos(1) / this.rate;
+        final long startNanos = System.nanoTime();
+        Flux.interval(Duration.ofNanos(periodNanos))
+                .take((long) this.rate * seconds)
+                // The operation is chosen on the arrival thread, so the sequence is the same for the same seed.
+                .map(index -> new Arrival(this.nextOperation(), startNanos + (index + 1) * periodNanos))
+                .flatMap(arrival -> this.execute(arrival, recorders.get(arrival.operation())), Integer.MAX_VALUE)
+                .blockLast(Duration.ofSeconds(seconds + this.requestTimeoutSeconds + 60L));
+        return recorders;
+    }
+
+    private Mono<Void> execute(Arrival arrival, LatencyRecorder recorder) {
+        return this.send(arrival.operation())
+                .timeout(Duration.ofSeconds(this.requestTimeoutSeconds))
+                .then()
+                .doOnSuccess(ignored -> recorder.record(System.nanoTime() - arrival.scheduledNanos(), false))
+                .onErrorResume(error -> {
+                    LOGGER.debug("{} request failed: {}", arrival.operation(), error.getMessage());
+                    recorder.record(System.nanoTime() - arrival.scheduledNanos(), true);
+                    return Mono.empty();
+                });
+    }
+
+    private Mono<?> send(OperationEnum operation) {
+        Long taskId = this.taskIdPool.get(this.random);
+        if (operation == OperationEnum.CREATE || (Objects.isNull(taskId) && operation != OperationEnum.LIST)) {
+            return this.webClient.post()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .bodyValue(this.getNewTask(0))
+                    .retrieve()
+                    .bodyToMono(Task.class)
+                    .doOnNext(task -> this.taskIdPool.add(task.getId()));
+        }
+        return switch (operation) {
+            case READ -> this.webClient.get()
+                    .uri("/{id}", taskId)
+                    .retrieve()
+                    .bodyToMono(Task.class);
+            case LIST -> this.webClient.get()
+                    .uri(uriBuilder -> uriBuilder.queryParam("size", 50).build())
+                    .retrieve()
+                    .bodyToMono(String.class);
+            case UPDATE -> this.webClient.put()
+                    .uri("/{id}", taskId)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .bodyValue(this.getNewTask(1))
+                    .retrieve()
+                    .bodyToMono(Task.class);
+            case DELETE -> {
+                this.taskIdPool.remove(taskId);
+                yield this.webClient.delete()
+                        .uri("/{id}", taskId)
+                        .retrieve()
+                        .toBodilessEntity();
+            }
+            default -> throw new IllegalStateException("Unexpected operation: " + operation);
+        };
+    }
+
+    private OperationEnum nextOperation() {
+        int totalWeight = this.mix.values().stream().mapToInt(Integer::intValue).sum();
+        int value = this.random.nextInt(totalWeight);
+        for (Map.Entry<OperationEnum, Integer> entry : this.mix.entrySet()) {
+            value -= entry.getValue();
+            if (value < 0) {
+                return entry.getKey();
+            }
+        }
+        throw new IllegalStateException("Invalid traffic mix: " + this.mix);
+    }
+
+    private Task getNewTask(int index) {
+        return Task.builder()
+                .name("Load test " + index)
+                .description("Task description.")
+                .hour(this.random.nextInt(24))
+                .minute(this.random.nextInt(60))
+                .executionDays(EXECUTION_DAYS[this.random.nextInt(EXECUTION_DAYS.length)])
+                .executionCommand("java -jar test.jar")
+                .deviceId(DEVICE_ID)
+                .deviceAction("ACTIVATE")
+                .build();
+    }
+
+    private static Map<OperationEnum, Integer> getMix(String mix) {
+        Map<OperationEnum, Integer> operationsMix = new EnumMap<>(OperationEnum.class);
+        for (String operationWeight : mix.split(",")) {
+            String[] values = operationWeight.trim().split("=");
+            int weight = Integer.parseInt(values[1].trim());
+            if (weight > 0) {
+                operationsMix.put(OperationEnum.valueOf(values[0].trim().toUpperCase(Locale.ROOT)), weight);
+            }
+        }
+        if (operationsMix.isEmpty()) {
+            throw new IllegalArgumentException("The traffic mix must have at least one operation: " + mix);
+        }
+        return operationsMix;
+    }
+
+    private enum OperationEnum {
+        CREATE, READ, LIST, UPDATE, DELETE
+    }
+
+    private record Arrival(OperationEnum operation, long scheduledNanos) {
+    }
+
+    /**
+     * IDs of the Tasks that exist, so reads, updates and deletes do not hit missing Tasks.
+     */
+    private static final class TaskIdPool {
+
+        private final List<Long> taskIds = new ArrayList<>();
+
+        synchronized void add(Long taskId) {
+            this.taskIds.add(taskId);
+        }
+
+        synchronized Long get(Random random) {
+            return this.taskIds.isEmpty() ? null : this.taskIds.get(random.nextInt(this.taskIds.size()));
+        }
+
+        synchronized void remove(Long taskId) {
+            this.taskIds.remove(taskId);
+        }
+    }
+}
@@ -2,11 +2,21 @@ package com.hiperium.city.tasks.api.repository;
 
 import com.hiperium.city.tasks.api.common.AbstractContainerBase;
 import com.hiperium.city.tasks.api.exception.ResourceNotFoundException;
+import com.hiperium.city.tasks.api.job.DeviceUpdateRateLimiter;
+import com.hiperium.city.tasks.api.job.TaskDispatcher;
 import com.hiperium.city.tasks.api.model.Device;
 import com.hiperium.city.tasks.api.model.Task;
+import com.hiperium.city.tasks.api.model.TaskExecution;
 import com.hiperium.city.tasks.api.utils.DevicesUtil;
+import com.hiperium.city.tasks.api.utils.enums.DeviceUpdateModeEnum;
+import com.hiperium.city.tasks.api.utils.enums.DeviceUpdateResultEnum;
+import com.hiperium.city.tasks.api.utils.enums.DispatchModeEnum;
+import com.hiperium.city.tasks.api.utils.enums.ExecutionOutcomeEnum;
+import com.hiperium.city.tasks.api.vo.DispatcherStatsVO;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.TestPropertySource;
@@ -23,6 +33,8 @@ import software.amazon.awssdk.services.dynamodb.model.*;
 import software.amazon.awssdk.services.dynamodb.waiters.DynamoDbWaiter;
 
 import java.net.URI;
+import java.time.ZonedDateTime;
+import java.util.List;
 
 import static org.junit.jupiter.api.TestInstance.Lifecycle.PER_CLASS;
 
@@ -40,6 +52,30 @@ class DeviceRepositoryTest extends AbstractContainerBase {
     @Autowired
     private DeviceRepository deviceRepository;
 
+    @Autowired
+    private ObjectProvider<DeviceBatchWriter> deviceBatchWriterProvider;
+
+    @Autowired
+    private DeviceCache deviceCache;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private TaskDispatcher taskDispatcher;
+
+    @Autowired
+    private TaskExecutionWriter taskExecutionWriter;
+
+    @Autowired
+    private TaskExecutionRepository taskExecutionRepository;
+
+    @Autowired
+    private ReactiveTaskRepository reactiveTaskRepository;
+
+    @Autowired
+    private DeviceUpdateRateLimiter rateLimiter;
+
     @BeforeAll
     public static void init() {
         try (DynamoDbClient ddb = DynamoDbClient.builder()
@@ -130,9 +166,9 @@ class DeviceRepositoryTest extends AbstractContainerBase {
     void givenDeviceItem_whenTaskTurnedOff_mustUpdateDeviceStatus() {
         Task task = getMockedTask();
         task.setDeviceAction("DEACTIVATE");
-        Mono<Boolean> deviceUpdateResponse = this.deviceRepository.updateStatusByTask(task);
+        Mono<DeviceUpdateResultEnum> deviceUpdateResponse = this.deviceRepository.updateStatusByTask(task);
         StepVerifier.create(deviceUpdateResponse)
-                .expectNext(true)
+                .expectNext(DeviceUpdateResultEnum.CHANGED)
                 .verifyComplete();
 
         Mono<Device> deviceResponse = this.deviceRepository.findById(DEVICE_ID);
@@ -153,9 +189,9 @@ class DeviceRepositoryTest extends AbstractContainerBase {
     void givenDeviceItem_whenTaskTurnedOn_mustUpdateDeviceStatus() {
         Task task = getMockedTask();
         task.setDeviceAction("ACTIVATE");
-        Mono<Boolean> deviceUpdateResponse = this.deviceRepository.updateStatusByTask(task);
+        Mono<DeviceUpdateResultEnum> deviceUpdateResponse = this.deviceRepository.updateStatusByTask(task);
         StepVerifier.create(deviceUpdateResponse)
-                .expectNext(true)
+                .expectNext(DeviceUpdateResultEnum.CHANGED)
                 .verifyComplete();
 
         Mono<Device> deviceResponse = this.deviceRepository.findById(DEVICE_ID);
@@ -176,12 +212,245 @@ class DeviceRepositoryTest extends AbstractContainerBase {
     void givenDeviceItem_whenUpdate_mustThrowException() {
         Task task = getMockedTask();
         task.setDeviceId("100");
-        Mono<Boolean> deviceMonoResponse = this.deviceRepository.updateStatusByTask(task);
+        Mono<DeviceUpdateResultEnum> deviceMonoResponse = this.deviceRepository.updateStatusByTask(task);
         StepVerifier.create(deviceMonoResponse)
                 .expectErrorMatches(throwable -> throwable instanceof ResourceNotFoundException)
                 .verify();
     }
 
+    @Test
+    @Order(7)
+    @DisplayName("Coalesce Device writes")
+    void givenDeviceUpdates_whenBatchWrite_mustKeepLastDeviceStatus() {
+        DeviceBatchWriter deviceBatchWriter = new DeviceBatchWriter(this.dynamoDbAsyncClient, 100L, 3);
+        deviceBatchWriter.start();
+        try {
+            Device deviceOn = getNewDevice();
+            deviceOn.setStatus("ON");
+            Device deviceOff = getNewDevice();
+            deviceOff.setStatus("OFF");
+            Mono<Boolean> writeResponses = deviceBatchWriter.write(deviceOn)
+                    .zipWith(deviceBatchWriter.write(deviceOff), Boolean::logicalAnd);
+            StepVerifier.create(writeResponses)
+                    .expectNext(true)
+                    .verifyComplete();
+        } finally {
+            deviceBatchWriter.stop();
+        }
+        // The writer was used directly, so the cached Device was not updated.
+        this.deviceCache.invalidate(DEVICE_ID);
+
+        Mono<Device> deviceResponse = this.deviceRepository.findById(DEVICE_ID);
+        StepVerifier.create(deviceResponse)
+                .assertNext(device -> Assertions.assertThat(device.getStatus()).isEqualTo("OFF"))
+                .verifyComplete();
+    }
+
+    @Test
+    @Order(8)
+    @DisplayName("Update Device status with UpdateItem")
+    void givenDeviceItem_whenUpdateItem_mustOnlyWriteChangedStatus() {
+        DeviceRepository updateItemRepository = new DeviceRepository(this.dynamoDbAsyncClient,
+                DeviceUpdateModeEnum.UPDATE_ITEM, this.deviceBatchWriterProvider, this.deviceCache, this.meterRegistry);
+        Task task = getMockedTask();
+        task.setDeviceAction("DEACTIVATE");
+        StepVerifier.create(updateItemRepository.updateStatusByTask(task))
+                .expectNext(DeviceUpdateResultEnum.UNCHANGED)
+                .verifyComplete();
+
+        task.setDeviceAction("ACTIVATE");
+        StepVerifier.create(updateItemRepository.updateStatusByTask(task))
+                .expectNext(DeviceUpdateResultEnum.CHANGED)
+                .verifyComplete();
+
+        Mono<Device> deviceResponse = this.deviceRepository.findById(DEVICE_ID);
+        StepVerifier.create(deviceResponse)
+                .assertNext(device -> {
+                    Assertions.assertThat(device.getName()).isEqualTo("Device 1");
+                    Assertions.assertThat(device.getDescription()).isEqualTo("Device 1 Description");
+                    Assertions.assertThat(device.getStatus()).isEqualTo("ON");
+                })
+                .verifyComplete();
+
+        task.setDeviceId("100");
+        StepVerifier.create(updateItemRepository.updateStatusByTask(task))
+                .expectError(ResourceNotFoundException.class)
+                .verify();
+
+        Assertions.assertThat(this.meterRegistry.get("city.tasks.device.update")
+                .tags("mode", "UPDATE_ITEM", "outcome", "NOT_FOUND").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @Order(9)
+    @DisplayName("Find Device from cache")
+    void givenCachedDevice_whenFindById_mustNotCallDynamoDB() {
+        this.deviceCache.invalidate(DEVICE_ID);
+        long hitCount = this.deviceCache.stats().hitCount();
+        StepVerifier.create(this.deviceRepository.findById(DEVICE_ID))
+                .assertNext(device -> Assertions.assertThat(device.getStatus()).isEqualTo("ON"))
+                .verifyComplete();
+        StepVerifier.create(this.deviceRepository.findById(DEVICE_ID))
+                .assertNext(device -> Assertions.assertThat(device.getStatus()).isEqualTo("ON"))
+                .verifyComplete();
+        Assertions.assertThat(this.deviceCache.stats().hitCount()).isEqualTo(hitCount + 1);
+
+        Task task = getMockedTask();
+        task.setDeviceAction("DEACTIVATE");
+        StepVerifier.create(this.deviceRepository.updateStatusByTask(task))
+                .expectNext(DeviceUpdateResultEnum.CHANGED)
+                .verifyComplete();
+        Assertions.assertThat(this.deviceCache.get(DEVICE_ID).getStatus()).isEqualTo("OFF");
+    }
+
+    @Test
+    @Order(10)
+    @DisplayName("Dispatch Task fire")
+    void givenTaskFire_whenDispatch_mustUpdateDeviceStatus() throws InterruptedException {
+        long completed = this.taskDispatcher.getStats().completed();
+        Task task = getMockedTask();
+        task.setJobId("dispatcher-test-job");
+        task.setDeviceAction("ACTIVATE");
+        TaskExecution execution = new TaskExecution(task.getJobId(), ZonedDateTime.now(), ZonedDateTime.now());
+        Assertions.assertThat(this.taskDispatcher.dispatch(execution, task)).isTrue();
+        waitUntil(() -> this.taskDispatcher.getStats().completed() > completed);
+        DispatcherStatsVO stats = this.taskDispatcher.getStats();
+        Assertions.assertThat(stats.completed()).isEqualTo(completed + 1);
+        Assertions.assertThat(stats.inFlight()).isZero();
+        Assertions.assertThat(execution.getOutcome()).isEqualTo(ExecutionOutcomeEnum.CHANGED);
+        // The Device was cached by the previous test, so it is written without reading it.
+        Assertions.assertThat(execution.getDeviceReadMicros()).isNull();
+        Assertions.assertThat(execution.getDeviceWriteMicros()).isNotNull();
+        Assertions.assertThat(execution.getTotalMicros()).isNotNull();
+
+        this.taskExecutionWriter.flush();
+        List<TaskExecution> executions = this.taskExecutionRepository.findPage(task.getJobId(), Long.MAX_VALUE, 10);
+        Assertions.assertThat(executions).hasSize(1);
+        Assertions.assertThat(executions.get(0).getOutcome()).isEqualTo(ExecutionOutcomeEnum.CHANGED);
+        Assertions.assertThat(executions.get(0).getDeviceId()).isEqualTo(DEVICE_ID);
+
+        StepVerifier.create(this.deviceRepository.findById(DEVICE_ID))
+                .assertNext(device -> Assertions.assertThat(device.getStatus()).isEqualTo("ON"))
+                .verifyComplete();
+    }
+
+    @Test
+    @Order(11)
+    @DisplayName("Update Device changed outside the cache")
+    void givenStaleCachedDevice_whenUpdateStatus_mustWriteFromFreshDevice() {
+        StepVerifier.create(this.deviceRepository.findById(DEVICE_ID))
+                .assertNext(device -> Assertions.assertThat(device.getStatus()).isEqualTo("ON"))
+                .verifyComplete();
+        // Another node changes the Device, so the cached status of this node is stale.
+        Device externalDevice = getNewDevice();
+        externalDevice.setName("Device 1 Renamed");
+        externalDevice.setStatus("OFF");
+        this.dynamoDbAsyncClient.putItem(DevicesUtil.putDeviceRequest(externalDevice)).join();
+        Assertions.assertThat(this.deviceCache.get(DEVICE_ID).getStatus()).isEqualTo("ON");
+
+        Task task = getMockedTask();
+        task.setDeviceAction("ACTIVATE");
+        StepVerifier.create(this.deviceRepository.updateStatusByTask(task))
+                .expectNext(DeviceUpdateResultEnum.CHANGED)
+                .verifyComplete();
+
+        this.deviceCache.invalidate(DEVICE_ID);
+        StepVerifier.create(this.deviceRepository.findById(DEVICE_ID))
+                .assertNext(device -> {
+                    Assertions.assertThat(device.getName()).isEqualTo("Device 1 Renamed");
+                    Assertions.assertThat(device.getStatus()).isEqualTo("ON");
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    @Order(12)
+    @DisplayName("Stop the dispatcher with delayed fires")
+    void givenDelayedTaskFire_whenStopDispatcher_mustCompleteTheFire() {
+        TaskDispatcher spreadDispatcher = new TaskDispatcher(this.reactiveTaskRepository, this.deviceRepository,
+                this.rateLimiter, this.taskExecutionWriter, DispatchModeEnum.SPREAD, 500L, 4, 10, 100, 1000L);
+        spreadDispatcher.start();
+        Task task = getMockedTask();
+        task.setJobId("spread-dispatcher-test-job");
+        TaskExecution execution = new TaskExecution(task.getJobId(), ZonedDateTime.now(), ZonedDateTime.now());
+        Assertions.assertThat(spreadDispatcher.dispatch(execution, task)).isTrue();
+
+        final long start = System.currentTimeMillis();
+        spreadDispatcher.stop();
+        Assertions.assertThat(System.currentTimeMillis() - start).isLessThan(10_000L);
+        DispatcherStatsVO stats = spreadDispatcher.getStats();
+        Assertions.assertThat(stats.completed()).isEqualTo(1);
+        Assertions.assertThat(stats.queued()).isZero();
+        Assertions.assertThat(stats.delayed()).isZero();
+        Assertions.assertThat(execution.getOutcome()).isNotNull();
+        Assertions.assertThat(spreadDispatcher.dispatch(execution, task)).isFalse();
+    }
+
+    @Test
+    @Order(13)
+    @DisplayName("Update cached Device without reading it")
+    void givenCachedDevice_whenUpdateStatus_mustNotReadTheDevice() {
+        Device device = getNewDevice();
+        device.setStatus("OFF");
+        this.dynamoDbAsyncClient.putItem(DevicesUtil.putDeviceRequest(device)).join();
+        this.deviceCache.invalidate(DEVICE_ID);
+        StepVerifier.create(this.deviceRepository.findById(DEVICE_ID))
+                .assertNext(foundDevice -> Assertions.assertThat(foundDevice.getStatus()).isEqualTo("OFF"))
+                .verifyComplete();
+
+        Task task = getMockedTask();
+        task.setDeviceAction("DEACTIVATE");
+        TaskExecution unchangedExecution = new TaskExecution();
+        StepVerifier.create(this.deviceRepository.updateStatusByTask(task, unchangedExecution))
+                .expectNext(DeviceUpdateResultEnum.UNCHANGED)
+                .verifyComplete();
+        Assertions.assertThat(unchangedExecution.getDeviceReadMicros()).isNull();
+
+        task.setDeviceAction("ACTIVATE");
+        TaskExecution changedExecution = new TaskExecution();
+        StepVerifier.create(this.deviceRepository.updateStatusByTask(task, changedExecution))
+                .expectNext(DeviceUpdateResultEnum.CHANGED)
+                .verifyComplete();
+        Assertions.assertThat(changedExecution.getDeviceReadMicros()).isNull();
+        Assertions.assertThat(changedExecution.getDeviceWriteMicros()).isNotNull();
+        Assertions.assertThat(this.deviceCache.get(DEVICE_ID).getStatus()).isEqualTo("ON");
+
+        this.deviceCache.invalidate(DEVICE_ID);
+        StepVerifier.create(this.deviceRepository.findById(DEVICE_ID))
+                .assertNext(foundDevice -> {
+                    Assertions.assertThat(foundDevice.getName()).isEqualTo("Device 1");
+                    Assertions.assertThat(foundDevice.getDescription()).isEqualTo("Device 1 Description");
+                    Assertions.assertThat(foundDevice.getStatus()).isEqualTo("ON");
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    @Order(14)
+    @DisplayName("Spread more fires than the dispatcher queue")
+    void givenFireStorm_whenSpreadDispatch_mustNotRejectDelayedFires() {
+        final int queueCapacity = 10;
+        final int maxConcurrency = 4;
+        final int fires = 20 * (queueCapacity + maxConcurrency);
+        TaskDispatcher spreadDispatcher = new TaskDispatcher(this.reactiveTaskRepository, this.deviceRepository,
+                this.rateLimiter, this.taskExecutionWriter, DispatchModeEnum.SPREAD, 2000L, maxConcurrency,
+                queueCapacity, fires, 100L);
+        spreadDispatcher.start();
+        ZonedDateTime scheduledFireTime = ZonedDateTime.now();
+        for (int i = 0; i < fires; i++) {
+            Task task = getMockedTask();
+            task.setJobId("storm-test-job-" + i);
+            TaskExecution execution = new TaskExecution(task.getJobId(), scheduledFireTime, ZonedDateTime.now());
+            Assertions.assertThat(spreadDispatcher.dispatch(execution, task)).isTrue();
+        }
+        Assertions.assertThat(spreadDispatcher.getStats().delayed()).isPositive();
+
+        spreadDispatcher.stop();
+        DispatcherStatsVO stats = spreadDispatcher.getStats();
+        Assertions.assertThat(stats.rejected()).isZero();
+        Assertions.assertThat(stats.completed() + stats.failed()).isEqualTo(fires);
+    }
+
     private static Device getNewDevice() {
         return Device.builder()
                 .id(DEVICE_ID)
@@ -0,0 +1,42 @@
+package com.hiperium.city.tasks.api.repository;
+
+import com.hiperium.city.tasks.api.common.AbstractContainerBase;
+import com.hiperium.city.tasks.api.job.JobIdNodeLease;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+
+@TestPropertySource(locations = "classpath:application-test.properties")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class JobIdNodeRepositoryTest extends AbstractContainerBase {
+
+    private static final long LEASE_SECONDS = 60L;
+
+    @Autowired
+    private JobIdNodeRepository jobIdNodeRepository;
+
+    @Autowired
+    private JobIdNodeLease jobIdNodeLease;
+
+    @Test
+    @DisplayName("Lease a different node ID to every node")
+    void givenTwoNodes_whenAcquire_thenLeaseDifferentNodeIds() {
+        Integer firstNodeId = this.jobIdNodeRepository.acquire("first-node", LEASE_SECONDS);
+        Integer secondNodeId = this.jobIdNodeRepository.acquire("second-node", LEASE_SECONDS);
+        Assertions.assertThat(firstNodeId).isNotNull();
+        Assertions.assertThat(secondNodeId).isNotNull().isNotEqualTo(firstNodeId);
+        Assertions.assertThat(firstNodeId).isNotEqualTo(this.jobIdNodeLease.getNodeId());
+        Assertions.assertThat(secondNodeId).isNotEqualTo(this.jobIdNodeLease.getNodeId());
+
+        Assertions.assertThat(this.jobIdNodeRepository.renew("first-node", firstNodeId, LEASE_SECONDS)).isTrue();
+        Assertions.assertThat(this.jobIdNodeRepository.renew("second-node", firstNodeId, LEASE_SECONDS)).isFalse();
+
+        this.jobIdNodeRepository.release("first-node", firstNodeId);
+        Assertions.assertThat(this.jobIdNodeRepository.renew("second-node", firstNodeId, LEASE_SECONDS)).isTrue();
+        this.jobIdNodeRepository.release("second-node", firstNodeId);
+        this.jobIdNodeRepository.release("second-node", secondNodeId);
+    }
+}
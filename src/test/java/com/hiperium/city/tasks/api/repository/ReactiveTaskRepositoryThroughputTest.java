@@ -0,0 +1,112 @@
+package com.hiperium.city.tasks.api.repository;
+
+import com.hiperium.city.tasks.api.common.AbstractContainerBase;
+import com.hiperium.city.tasks.api.model.Task;
+import com.hiperium.city.tasks.api.utils.JobIdGenerator;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Scheduler;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.TestInstance.Lifecycle.PER_CLASS;
+
+/**
+ * Compares the JPA and the R2DBC persistence modes against the same Postgres container.
+ * Every operation saves a new Task and reads it back by ID.
+ */
+@TestInstance(PER_CLASS)
+@TestPropertySource(locations = "classpath:application-test.properties",
+        properties = "hiperium.city.tasks.persistence.mode=r2dbc")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class ReactiveTaskRepositoryThroughputTest extends AbstractContainerBase {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReactiveTaskRepositoryThroughputTest.class);
+    private static final String DEVICE_ID = "1";
+    private static final int WARM_UP_OPERATIONS = 200;
+    private static final int MEASURED_OPERATIONS = 2_000;
+    private static final int CONCURRENCY = 64;
+
+    @Autowired
+    private ReactiveTaskRepository r2dbcTaskRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private Scheduler blockingScheduler;
+
+    @Autowired
+    private JobIdGenerator jobIdGenerator;
+
+    private final Queue<Long> savedTaskIds = new ConcurrentLinkedQueue<>();
+
+    @AfterAll
+    public void cleanUp() {
+        this.taskRepository.deleteAllByIdInBatch(this.savedTaskIds);
+    }
+
+    @Test
+    @DisplayName("Compare JPA and R2DBC throughput")
+    void givenBothPersistenceModes_whenSaveAndFindTasks_thenReportThroughput() {
+        ReactiveTaskRepository jpaTaskRepository = new JpaReactiveTaskRepository(this.taskRepository, this.jdbcTemplate,
+                this.blockingScheduler);
+        assertThat(this.r2dbcTaskRepository).isInstanceOf(R2dbcReactiveTaskRepository.class);
+
+        this.measureThroughput(jpaTaskRepository, WARM_UP_OPERATIONS);
+        this.measureThroughput(this.r2dbcTaskRepository, WARM_UP_OPERATIONS);
+
+        double jpaThroughput = this.measureThroughput(jpaTaskRepository, MEASURED_OPERATIONS);
+        double r2dbcThroughput = this.measureThroughput(this.r2dbcTaskRepository, MEASURED_OPERATIONS);
+        LOGGER.info("Throughput with {} concurrent operations - JPA: {} ops/s - R2DBC: {} ops/s",
+                CONCURRENCY, String.format("%.2f", jpaThroughput), String.format("%.2f", r2dbcThroughput));
+
+        assertThat(jpaThroughput).isPositive();
+        assertThat(r2dbcThroughput).isPositive();
+    }
+
+    private double measureThroughput(ReactiveTaskRepository repository, int operations) {
+        long start = System.nanoTime();
+        Long completed = Flux.range(0, operations)
+                .flatMap(index -> repository.save(this.getNewTask(index))
+                        .flatMap(savedTask -> repository.findById(savedTask.getId()))
+                        .doOnNext(foundTask -> this.savedTaskIds.add(foundTask.getId())), CONCURRENCY)
+                .count()
+                .block(Duration.ofMinutes(5));
+        double elapsedSeconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        assertThat(completed).isEqualTo(operations);
+        return operations / elapsedSeconds;
+    }
+
+    private Task getNewTask(int index) {
+        return Task.builder()
+                .name("Throughput " + index)
+                .description("Task description.")
+                .jobId(this.jobIdGenerator.nextId())
+                .hour(12)
+                .minute(0)
+                .executionDays("MON,WED,SUN")
+                .executionCommand("java -jar test.jar")
+                .deviceId(DEVICE_ID)
+                .deviceAction("ACTIVATE")
+                .createdAt(ZonedDateTime.now())
+                .updatedAt(ZonedDateTime.now())
+                .build();
+    }
+}
@@ -0,0 +1,92 @@
+package com.hiperium.city.tasks.api.repository;
+
+import com.hiperium.city.tasks.api.common.AbstractContainerBase;
+import com.hiperium.city.tasks.api.model.Task;
+import com.hiperium.city.tasks.api.utils.JobIdGenerator;
+import com.hiperium.city.tasks.api.vo.TaskCacheStatsVO;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+
+import static org.junit.jupiter.api.TestInstance.Lifecycle.PER_CLASS;
+
+@TestInstance(PER_CLASS)
+@TestPropertySource(locations = "classpath:application-test.properties")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class TaskCacheTest extends AbstractContainerBase {
+
+    @Autowired
+    private ReactiveTaskRepository taskRepository;
+
+    @Autowired
+    private TaskCache taskCache;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private JobIdGenerator jobIdGenerator;
+
+    @Test
+    @DisplayName("Find cached Task by ID and Job ID")
+    void givenSavedTask_whenFindTwice_thenReturnTaskFromCache() {
+        Task savedTask = this.taskRepository.save(this.createTask()).block();
+        Assertions.assertThat(savedTask).isNotNull();
+
+        this.taskRepository.findById(savedTask.getId()).block();
+        TaskCacheStatsVO stats = this.taskCache.getStats();
+        Task cachedTask = this.taskRepository.findById(savedTask.getId()).block();
+        Assertions.assertThat(cachedTask).isNotNull();
+        Assertions.assertThat(cachedTask.getName()).isEqualTo(savedTask.getName());
+        Assertions.assertThat(this.taskCache.getStats().hitCount()).isGreaterThan(stats.hitCount());
+
+        this.taskRepository.findByJobId(savedTask.getJobId()).block();
+        stats = this.taskCache.getStats();
+        Task taskByJobId = this.taskRepository.findByJobId(savedTask.getJobId()).block();
+        Assertions.assertThat(taskByJobId).isNotNull();
+        Assertions.assertThat(taskByJobId.getId()).isEqualTo(savedTask.getId());
+        Assertions.assertThat(this.taskCache.getStats().jobIdHitCount()).isGreaterThan(stats.jobIdHitCount());
+    }
+
+    @Test
+    @DisplayName("Evict a Task changed outside the second-level cache")
+    void givenCachedTask_whenUpdatedByOtherNode_thenReturnUpdatedTask() throws InterruptedException {
+        Task savedTask = this.taskRepository.save(this.createTask()).block();
+        Assertions.assertThat(savedTask).isNotNull();
+        this.taskRepository.findById(savedTask.getId()).block();
+        final long invalidationCount = this.taskCache.getStats().invalidationCount();
+
+        // Same update made by another node, that does not share this cache.
+        this.jdbcTemplate.update("UPDATE HIP_CTY_TASKS SET name = ? WHERE id = ?", "Updated task", savedTask.getId());
+        waitUntil(() -> this.taskCache.getStats().invalidationCount() > invalidationCount);
+
+        Task updatedTask = this.taskRepository.findById(savedTask.getId()).block();
+        Assertions.assertThat(updatedTask).isNotNull();
+        Assertions.assertThat(updatedTask.getName()).isEqualTo("Updated task");
+    }
+
+    private Task createTask() {
+        ZonedDateTime now = ZonedDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        return Task.builder()
+                .jobId(this.jobIdGenerator.nextId())
+                .name("Cached task")
+                .description("Task description.")
+                .hour(12)
+                .minute(0)
+                .executionDays("MON,WED,SUN")
+                .executionCommand("java -jar test.jar")
+                .deviceId("1")
+                .deviceAction("ACTIVATE")
+                .createdAt(now)
+                .updatedAt(now)
+                .build();
+    }
+}
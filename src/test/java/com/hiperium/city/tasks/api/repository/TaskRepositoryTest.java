@@ -2,6 +2,7 @@ package com.hiperium.city.tasks.api.repository;
 
 import com.hiperium.city.tasks.api.common.AbstractContainerBase;
 import com.hiperium.city.tasks.api.model.Task;
+import com.hiperium.city.tasks.api.utils.enums.DaysEnum;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -59,6 +60,14 @@ class TaskRepositoryTest extends AbstractContainerBase {
         assertThat(requiredTask).isNotNull();
     }
 
+    @Test
+    @DisplayName("Store the execution days mask")
+    void givenExecutionDays_whenSave_thenStoreTheirMask() {
+        Task savedTask = this.taskRepository.save(this.task);
+        assertThat(savedTask.getExecutionDaysMask())
+                .isEqualTo(DaysEnum.MON.getMask() | DaysEnum.WED.getMask() | DaysEnum.SUN.getMask());
+    }
+
     @Test
     @DisplayName("Update Task name")
     void givenTaskObject_whenUpdate_thenReturnUpdatedTask() {
@@ -0,0 +1,75 @@
+package com.hiperium.city.tasks.api.service;
+
+import com.hiperium.city.tasks.api.common.AbstractContainerBase;
+import com.hiperium.city.tasks.api.job.SchedulerRouter;
+import com.hiperium.city.tasks.api.job.SchedulerTelemetry;
+import com.hiperium.city.tasks.api.job.ShardedSchedulerRouter;
+import com.hiperium.city.tasks.api.model.Task;
+import com.hiperium.city.tasks.api.utils.JobsUtil;
+import com.hiperium.city.tasks.api.vo.SchedulerShardsVO;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.quartz.Scheduler;
+import org.quartz.SchedulerException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+import reactor.core.publisher.Mono;
+
+import static org.junit.jupiter.api.TestInstance.Lifecycle.PER_CLASS;
+
+@TestInstance(PER_CLASS)
+@TestPropertySource(locations = "classpath:application-test.properties",
+        properties = {"hiperium.city.tasks.scheduler.shards=4", "hiperium.city.tasks.scheduler.heartbeat-seconds=1"})
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class ShardedSchedulingTest extends AbstractContainerBase {
+
+    private static final int SHARDS = 4;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private SchedulerRouter schedulerRouter;
+
+    @Autowired
+    private SchedulerTelemetry schedulerTelemetry;
+
+    @Test
+    @DisplayName("Schedule a Job in its shard")
+    void givenShardedScheduler_whenCreateTask_thenScheduleJobInOwningShard()
+            throws SchedulerException, InterruptedException {
+        Assertions.assertThat(this.schedulerRouter).isInstanceOf(ShardedSchedulerRouter.class);
+        Task savedTask = this.taskService.create(Mono.just(Task.builder()
+                .name("Sharded task")
+                .description("Task description.")
+                .hour(12)
+                .minute(0)
+                .executionDays("MON,WED,SUN")
+                .executionCommand("java -jar test.jar")
+                .deviceId("1")
+                .deviceAction("ACTIVATE")
+                .build())).block();
+        Assertions.assertThat(savedTask).isNotNull();
+
+        Scheduler scheduler = this.schedulerRouter.getScheduler(savedTask.getJobId());
+        Assertions.assertThat(scheduler.getSchedulerName()).isEqualTo(JobsUtil.getShardSchedulerName("quartzScheduler",
+                JobsUtil.getShard(savedTask.getJobId(), SHARDS)));
+        Assertions.assertThat(scheduler.checkExists(JobsUtil.getTriggerKey(savedTask.getJobId()))).isTrue();
+
+        // A single node owns every shard after its first heartbeat.
+        waitUntil(() -> this.schedulerRouter.getShardsStats().ownedShards().size() == SHARDS);
+        SchedulerShardsVO shardsStats = this.schedulerRouter.getShardsStats();
+        Assertions.assertThat(shardsStats.ownedShards()).containsExactly(0, 1, 2, 3);
+        Assertions.assertThat(shardsStats.liveNodes()).contains(shardsStats.nodeName());
+        Assertions.assertThat(scheduler.isInStandbyMode()).isFalse();
+        // The legacy Scheduler is not started, so only the owned shards have worker threads.
+        Assertions.assertThat(this.schedulerTelemetry.getStats().threadPoolSize())
+                .isEqualTo(SHARDS * scheduler.getMetaData().getThreadPoolSize());
+
+        this.taskService.delete(savedTask.getId()).block();
+        Assertions.assertThat(scheduler.checkExists(JobsUtil.getTriggerKey(savedTask.getJobId()))).isFalse();
+    }
+}
@@ -0,0 +1,101 @@
+package com.hiperium.city.tasks.api.service;
+
+import com.hiperium.city.tasks.api.common.AbstractContainerBase;
+import com.hiperium.city.tasks.api.job.SchedulerRouter;
+import com.hiperium.city.tasks.api.model.Task;
+import com.hiperium.city.tasks.api.utils.JobsUtil;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.quartz.JobKey;
+import org.quartz.Scheduler;
+import org.quartz.SchedulerException;
+import org.quartz.TriggerKey;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.TestInstance.Lifecycle.PER_CLASS;
+
+@TestInstance(PER_CLASS)
+@TestPropertySource(locations = "classpath:application-test.properties",
+        properties = "hiperium.city.tasks.scheduler.engine=QUARTZ_SHARED_TRIGGERS")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class SharedTriggerSchedulingTest extends AbstractContainerBase {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private SchedulerRouter schedulerRouter;
+
+    @Test
+    @DisplayName("Share one Trigger between the Tasks with the same schedule")
+    void givenTasksWithSameSchedule_whenCreateAll_thenScheduleOneTrigger() throws SchedulerException {
+        List<Task> savedTasks = this.taskService.createAll(Flux.just(
+                        createTask("Streetlight 1", 18, 30, "MON,TUE,WED,THU,FRI"),
+                        createTask("Streetlight 2", 18, 30, "MON,TUE,WED,THU,FRI"),
+                        createTask("Streetlight 3", 18, 30, "MON,TUE,WED,THU,FRI"),
+                        createTask("Streetlight 4", 6, 15, "SAT,SUN")))
+                .collectList()
+                .block();
+        Assertions.assertThat(savedTasks).hasSize(4);
+
+        String weekdaysKey = JobsUtil.getScheduleKey(18, 30, savedTasks.get(0).getExecutionDaysMask());
+        String weekendKey = JobsUtil.getScheduleKey(6, 15, savedTasks.get(3).getExecutionDaysMask());
+        Assertions.assertThat(this.getScheduler(weekdaysKey)
+                .checkExists(TriggerKey.triggerKey(weekdaysKey, JobsUtil.SCHEDULE_GROUP_NAME))).isTrue();
+        Assertions.assertThat(this.getScheduler(weekendKey)
+                .checkExists(TriggerKey.triggerKey(weekendKey, JobsUtil.SCHEDULE_GROUP_NAME))).isTrue();
+        for (Task savedTask : savedTasks) {
+            Assertions.assertThat(this.getScheduler(savedTask.getJobId())
+                    .checkExists(JobsUtil.getTriggerKey(savedTask.getJobId()))).isFalse();
+        }
+
+        // Deleting a Task keeps the shared Job for the other Tasks of its schedule.
+        this.taskService.delete(savedTasks.get(0).getId()).block();
+        Assertions.assertThat(this.getScheduler(weekdaysKey)
+                .checkExists(JobKey.jobKey(weekdaysKey, JobsUtil.SCHEDULE_GROUP_NAME))).isTrue();
+    }
+
+    @Test
+    @DisplayName("Schedule again the shared Job deleted while its Tasks were expired")
+    void givenDeletedSharedJob_whenUpdateTaskWithSameSchedule_thenScheduleItAgain() throws SchedulerException {
+        Task savedTask = this.taskService.create(Mono.just(createTask("Streetlight 5", 21, 45, "SUN"))).block();
+        Assertions.assertThat(savedTask).isNotNull();
+        String scheduleKey = JobsUtil.getScheduleKey(21, 45, savedTask.getExecutionDaysMask());
+        JobKey jobKey = JobKey.jobKey(scheduleKey, JobsUtil.SCHEDULE_GROUP_NAME);
+        // The shared Job deletes itself when it fires without Tasks to fire.
+        Assertions.assertThat(this.getScheduler(scheduleKey).deleteJob(jobKey)).isTrue();
+
+        Task updatedTask = createTask("Streetlight 5", 21, 45, "SUN");
+        updatedTask.setExecuteUntil(ZonedDateTime.now().plusYears(1));
+        this.taskService.update(savedTask.getId(), Mono.just(updatedTask)).block();
+        Assertions.assertThat(this.getScheduler(scheduleKey).checkExists(jobKey)).isTrue();
+        Assertions.assertThat(this.getScheduler(scheduleKey)
+                .checkExists(TriggerKey.triggerKey(scheduleKey, JobsUtil.SCHEDULE_GROUP_NAME))).isTrue();
+    }
+
+    private Scheduler getScheduler(String name) {
+        return this.schedulerRouter.getScheduler(name);
+    }
+
+    private static Task createTask(String name, int hour, int minute, String executionDays) {
+        return Task.builder()
+                .name(name)
+                .description("Task description.")
+                .hour(hour)
+                .minute(minute)
+                .executionDays(executionDays)
+                .executionCommand("java -jar test.jar")
+                .deviceId("1")
+                .deviceAction("ACTIVATE")
+                .build();
+    }
+}
@@ -0,0 +1,78 @@
+package com.hiperium.city.tasks.api.service;
+
+import com.hiperium.city.tasks.api.common.AbstractContainerBase;
+import com.hiperium.city.tasks.api.model.Task;
+import com.hiperium.city.tasks.api.repository.TaskRepository;
+import com.hiperium.city.tasks.api.utils.JobIdGenerator;
+import com.hiperium.city.tasks.api.utils.JobsUtil;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.quartz.Scheduler;
+import org.quartz.SchedulerException;
+import org.quartz.simpl.RAMJobStore;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.TestInstance.Lifecycle.PER_CLASS;
+
+@TestInstance(PER_CLASS)
+@TestPropertySource(locations = "classpath:application-test.properties",
+        properties = "spring.quartz.job-store-type=memory")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class TaskJobsRehydrationTest extends AbstractContainerBase {
+
+    private static final String DEVICE_ID = "1";
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private Scheduler quartzScheduler;
+
+    @Autowired
+    private JobIdGenerator jobIdGenerator;
+
+    private List<Task> savedTasks;
+
+    @AfterAll
+    public void cleanUp() {
+        this.taskRepository.deleteAllInBatch(this.savedTasks);
+    }
+
+    @Test
+    @DisplayName("Rebuild Jobs from the Tasks table")
+    void givenStoredTasks_whenRehydrateJobs_thenScheduleJobsInRamJobStore() throws SchedulerException {
+        Assertions.assertThat(this.quartzScheduler.getMetaData().getJobStoreClass()).isEqualTo(RAMJobStore.class);
+        this.savedTasks = this.taskRepository.saveAll(IntStream.range(0, 3).mapToObj(index -> Task.builder()
+                .name("Rehydrated task " + index)
+                .description("Task description.")
+                .jobId(this.jobIdGenerator.nextId())
+                .hour(12)
+                .minute(index)
+                .executionDays("MON,WED,SUN")
+                .executionCommand("java -jar test.jar")
+                .deviceId(DEVICE_ID)
+                .deviceAction("ACTIVATE")
+                .createdAt(ZonedDateTime.now())
+                .updatedAt(ZonedDateTime.now())
+                .build()).toList());
+
+        Long scheduledJobs = this.taskService.rehydrateJobs().block();
+
+        Assertions.assertThat(scheduledJobs).isGreaterThanOrEqualTo(this.savedTasks.size());
+        for (Task savedTask : this.savedTasks) {
+            Assertions.assertThat(this.quartzScheduler.checkExists(JobsUtil.getTriggerKey(savedTask.getJobId()))).isTrue();
+        }
+    }
+}
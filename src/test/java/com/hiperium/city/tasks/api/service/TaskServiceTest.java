@@ -2,9 +2,24 @@ package com.hiperium.city.tasks.api.service;
 
 import com.hiperium.city.tasks.api.common.AbstractContainerBase;
 import com.hiperium.city.tasks.api.exception.ResourceNotFoundException;
+import com.hiperium.city.tasks.api.job.SchedulerTelemetry;
+import com.hiperium.city.tasks.api.job.TaskJob;
 import com.hiperium.city.tasks.api.model.Task;
+import com.hiperium.city.tasks.api.model.TaskExecution;
+import com.hiperium.city.tasks.api.repository.TaskExecutionRepository;
+import com.hiperium.city.tasks.api.repository.TaskExecutionWriter;
+import com.hiperium.city.tasks.api.utils.JobsUtil;
+import com.hiperium.city.tasks.api.utils.enums.ExecutionOutcomeEnum;
+import com.hiperium.city.tasks.api.vo.SchedulerStatsVO;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.*;
+import org.quartz.JobBuilder;
+import org.quartz.JobDataMap;
+import org.quartz.JobDetail;
+import org.quartz.Scheduler;
+import org.quartz.SchedulerException;
+import org.quartz.Trigger;
+import org.quartz.TriggerBuilder;
 import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -13,6 +28,9 @@ import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
+import java.util.List;
+import java.util.Set;
+
 import static org.junit.jupiter.api.TestInstance.Lifecycle.PER_CLASS;
 
 @TestInstance(PER_CLASS)
@@ -28,6 +46,18 @@ class TaskServiceTest extends AbstractContainerBase {
     @Autowired
     private TaskService taskService;
 
+    @Autowired
+    private Scheduler quartzScheduler;
+
+    @Autowired
+    private SchedulerTelemetry schedulerTelemetry;
+
+    @Autowired
+    private TaskExecutionWriter taskExecutionWriter;
+
+    @Autowired
+    private TaskExecutionRepository taskExecutionRepository;
+
     @BeforeAll
     public static void init() {
         task = Task.builder()
@@ -144,10 +174,12 @@ class TaskServiceTest extends AbstractContainerBase {
     @Test
     @Order(7)
     @DisplayName("Delete Task by ID")
-    void givenTaskId_whenDelete_thenDeleteTaskObject() {
+    void givenTaskId_whenDelete_thenDeleteTaskObject() throws SchedulerException {
+        Assertions.assertThat(this.quartzScheduler.checkExists(JobsUtil.getTriggerKey(task.getJobId()))).isTrue();
         Mono<Void> taskMonoResult = this.taskService.delete(task.getId());
         StepVerifier.create(taskMonoResult)
                 .verifyComplete();
+        Assertions.assertThat(this.quartzScheduler.checkExists(JobsUtil.getTriggerKey(task.getJobId()))).isFalse();
     }
 
     @Test
@@ -159,4 +191,144 @@ class TaskServiceTest extends AbstractContainerBase {
                 .expectError(ResourceNotFoundException.class)
                 .verify();
     }
+
+    @Test
+    @Order(9)
+    @DisplayName("Create Tasks in bulk")
+    void givenTaskList_whenCreateAll_thenReturnSavedTasks() {
+        Flux<Task> tasksFlux = Flux.range(1, 3)
+                .map(index -> Task.builder()
+                        .name("Bulk task " + index)
+                        .description("Bulk task description.")
+                        .hour(18)
+                        .minute(index)
+                        .executionDays("MON,TUE,WED,THU,FRI")
+                        .executionCommand("java -jar test.jar")
+                        .deviceId(DEVICE_ID)
+                        .deviceAction("ACTIVATE")
+                        .build());
+        List<Task> savedTasks = this.taskService.createAll(tasksFlux).collectList().block();
+        Assertions.assertThat(savedTasks).hasSize(3);
+        Assertions.assertThat(savedTasks).allSatisfy(savedTask -> {
+            Assertions.assertThat(savedTask.getId()).isPositive();
+            Assertions.assertThat(savedTask.getJobId()).isNotBlank();
+        });
+        Assertions.assertThat(savedTasks).extracting(Task::getJobId).doesNotHaveDuplicates();
+        Assertions.assertThat(savedTasks).extracting(Task::getName)
+                .containsExactly("Bulk task 1", "Bulk task 2", "Bulk task 3");
+
+        Mono<Void> deleteResult = Flux.fromIterable(savedTasks)
+                .concatMap(savedTask -> this.taskService.delete(savedTask.getId()))
+                .then();
+        StepVerifier.create(deleteResult)
+                .verifyComplete();
+    }
+
+    @Test
+    @Order(10)
+    @DisplayName("Record Trigger fire telemetry")
+    void givenFiredTrigger_whenJobRuns_thenRecordFireLag() throws SchedulerException, InterruptedException {
+        long fires = this.schedulerTelemetry.getStats().fires();
+        Task firedTask = new Task();
+        BeanUtils.copyProperties(task, firedTask);
+        firedTask.setJobId("telemetry-test-job");
+        Trigger trigger = TriggerBuilder.newTrigger()
+                .withIdentity(JobsUtil.getTriggerKey(firedTask.getJobId()))
+                .startNow()
+                .build();
+        this.quartzScheduler.scheduleJob(JobsUtil.createJobDetailFromTask(firedTask), trigger);
+        waitUntil(() -> this.schedulerTelemetry.getStats().fires() > fires);
+        SchedulerStatsVO stats = this.schedulerTelemetry.getStats();
+        Assertions.assertThat(stats.fires()).isEqualTo(fires + 1);
+        Assertions.assertThat(stats.maxFireLagMillis()).isGreaterThanOrEqualTo(stats.maxAcquisitionLagMillis());
+        Assertions.assertThat(stats.threadPoolSize()).isPositive();
+    }
+
+    @Test
+    @Order(11)
+    @DisplayName("Fire a Job from its Task snapshot")
+    void givenJobWithTaskSnapshot_whenFired_thenDoNotFindTheTask() throws SchedulerException, InterruptedException {
+        // The Task is not stored, so the fire would fail as TASK_NOT_FOUND if it was looked up.
+        Task firedTask = new Task();
+        BeanUtils.copyProperties(task, firedTask);
+        firedTask.setJobId("snapshot-test-job");
+        this.quartzScheduler.scheduleJob(JobsUtil.createJobDetailFromTask(firedTask), getStartNowTrigger(firedTask));
+
+        TaskExecution execution = this.waitForExecution(firedTask.getJobId());
+        Assertions.assertThat(execution).isNotNull();
+        Assertions.assertThat(execution.getTaskLookupMicros()).isNull();
+        Assertions.assertThat(execution.getOutcome()).isNotEqualTo(ExecutionOutcomeEnum.TASK_NOT_FOUND);
+        Assertions.assertThat(execution.getDeviceAction()).isEqualTo(firedTask.getDeviceAction());
+    }
+
+    @Test
+    @Order(12)
+    @DisplayName("Fire a Job stored without Task snapshot")
+    void givenLegacyJob_whenFired_thenFindTheTaskByJobId() throws SchedulerException, InterruptedException {
+        Task savedTask = this.taskService.create(Mono.just(newTask("Legacy job task"))).block();
+        Assertions.assertThat(savedTask).isNotNull();
+        JobDataMap jobDataMap = new JobDataMap();
+        jobDataMap.put(JobsUtil.TASK_JOB_ID_DATA_KEY, savedTask.getJobId());
+        JobDetail legacyJob = JobBuilder.newJob(TaskJob.class)
+                .withIdentity(JobsUtil.getJobKey(savedTask.getJobId()))
+                .usingJobData(jobDataMap)
+                .build();
+        this.quartzScheduler.scheduleJob(legacyJob, Set.of(getStartNowTrigger(savedTask)), true);
+
+        TaskExecution execution = this.waitForExecution(savedTask.getJobId());
+        Assertions.assertThat(execution).isNotNull();
+        Assertions.assertThat(execution.getTaskId()).isEqualTo(savedTask.getId());
+        Assertions.assertThat(execution.getTaskLookupMicros()).isNotNull();
+        Assertions.assertThat(execution.getOutcome()).isNotEqualTo(ExecutionOutcomeEnum.TASK_NOT_FOUND);
+        this.taskService.delete(savedTask.getId()).block();
+    }
+
+    @Test
+    @Order(13)
+    @DisplayName("Refresh the Task snapshot when the Task is updated")
+    void givenScheduledTask_whenUpdate_thenRefreshTheJobSnapshot() throws SchedulerException {
+        Task savedTask = this.taskService.create(Mono.just(newTask("Snapshot task"))).block();
+        Assertions.assertThat(savedTask).isNotNull();
+        Task modifiedTask = newTask("Snapshot task");
+        modifiedTask.setDeviceId("2");
+        modifiedTask.setDeviceAction("DEACTIVATE");
+        this.taskService.update(savedTask.getId(), Mono.just(modifiedTask)).block();
+
+        JobDetail jobDetail = this.quartzScheduler.getJobDetail(JobsUtil.getJobKey(savedTask.getJobId()));
+        Task snapshot = JobsUtil.getTaskFromJobDataMap(jobDetail.getJobDataMap());
+        Assertions.assertThat(snapshot).isNotNull();
+        Assertions.assertThat(snapshot.getDeviceId()).isEqualTo("2");
+        Assertions.assertThat(snapshot.getDeviceAction()).isEqualTo("DEACTIVATE");
+        Assertions.assertThat(this.quartzScheduler.checkExists(JobsUtil.getTriggerKey(savedTask.getJobId()))).isTrue();
+        this.taskService.delete(savedTask.getId()).block();
+    }
+
+    private TaskExecution waitForExecution(String jobId) throws InterruptedException {
+        waitUntil(() -> {
+            this.taskExecutionWriter.flush();
+            return !this.taskExecutionRepository.findPage(jobId, Long.MAX_VALUE, 1).isEmpty();
+        });
+        List<TaskExecution> executions = this.taskExecutionRepository.findPage(jobId, Long.MAX_VALUE, 1);
+        return executions.isEmpty() ? null : executions.get(0);
+    }
+
+    private static Trigger getStartNowTrigger(Task task) {
+        return TriggerBuilder.newTrigger()
+                .withIdentity(JobsUtil.getTriggerKey(task.getJobId()))
+                .startNow()
+                .build();
+    }
+
+    private static Task newTask(String name) {
+        return Task.builder()
+                .name(name)
+                .description("Task description.")
+                .hour(12)
+                .minute(0)
+                .executionDays("MON,WED,SUN")
+                .executionCommand("java -jar test.jar")
+                .deviceId(DEVICE_ID)
+                .deviceAction("ACTIVATE")
+                .build();
+    }
 }
@@ -0,0 +1,87 @@
+package com.hiperium.city.tasks.api.service;
+
+import com.hiperium.city.tasks.api.common.AbstractContainerBase;
+import com.hiperium.city.tasks.api.job.TaskSchedulingEngine;
+import com.hiperium.city.tasks.api.job.TimingWheelSchedulingEngine;
+import com.hiperium.city.tasks.api.model.Task;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+import reactor.core.publisher.Mono;
+
+
+import static org.junit.jupiter.api.TestInstance.Lifecycle.PER_CLASS;
+
+@TestInstance(PER_CLASS)
+@TestPropertySource(locations = "classpath:application-test.properties",
+        properties = {"hiperium.city.tasks.scheduler.engine=TIMING_WHEEL",
+                "hiperium.city.tasks.scheduler.wheel.partitions=4",
+                "hiperium.city.tasks.scheduler.wheel.lease-seconds=3",
+                "hiperium.city.tasks.scheduler.heartbeat-seconds=1"})
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class TimingWheelSchedulingTest extends AbstractContainerBase {
+
+    private static final int PARTITIONS = 4;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskSchedulingEngine schedulingEngine;
+
+    @Test
+    @DisplayName("Schedule a Task in the timing wheel")
+    void givenTimingWheelEngine_whenCreateTask_thenAddItToTheWheel() throws InterruptedException {
+        Assertions.assertThat(this.schedulingEngine).isInstanceOf(TimingWheelSchedulingEngine.class);
+        TimingWheelSchedulingEngine timingWheelEngine = (TimingWheelSchedulingEngine) this.schedulingEngine;
+
+        // A single node owns every partition after its first heartbeat.
+        waitUntil(() -> timingWheelEngine.getOwnedPartitions().size() == PARTITIONS);
+        Assertions.assertThat(timingWheelEngine.getOwnedPartitions()).containsExactlyInAnyOrder(0, 1, 2, 3);
+        final int scheduledTasks = timingWheelEngine.getScheduledTasks();
+
+        Task savedTask = this.taskService.create(Mono.just(Task.builder()
+                .name("Timing wheel task")
+                .description("Task description.")
+                .hour(12)
+                .minute(0)
+                .executionDays("MON,WED,SUN")
+                .executionCommand("java -jar test.jar")
+                .deviceId("1")
+                .deviceAction("ACTIVATE")
+                .build())).block();
+        Assertions.assertThat(savedTask).isNotNull();
+        waitUntil(() -> timingWheelEngine.getScheduledTasks() == scheduledTasks + 1);
+        Assertions.assertThat(timingWheelEngine.getScheduledTasks()).isEqualTo(scheduledTasks + 1);
+
+        this.taskService.delete(savedTask.getId()).block();
+        waitUntil(() -> timingWheelEngine.getScheduledTasks() == scheduledTasks);
+        Assertions.assertThat(timingWheelEngine.getScheduledTasks()).isEqualTo(scheduledTasks);
+    }
+
+    @Test
+    @DisplayName("Do not schedule a Task that was not stored")
+    void givenTimingWheelEngine_whenTaskInsertFails_thenDoNotAddItToTheWheel() throws InterruptedException {
+        TimingWheelSchedulingEngine timingWheelEngine = (TimingWheelSchedulingEngine) this.schedulingEngine;
+        waitUntil(() -> timingWheelEngine.getOwnedPartitions().size() == PARTITIONS);
+        final int scheduledTasks = timingWheelEngine.getScheduledTasks();
+
+        // The name is longer than its column, so the insert fails after the Task was scheduled.
+        Mono<Task> taskMono = this.taskService.create(Mono.just(Task.builder()
+                .name("Timing wheel task with a name longer than its column")
+                .hour(12)
+                .minute(0)
+                .executionDays("MON")
+                .executionCommand("java -jar test.jar")
+                .deviceId("1")
+                .deviceAction("ACTIVATE")
+                .build()));
+        Assertions.assertThatThrownBy(taskMono::block).isInstanceOf(RuntimeException.class);
+        Thread.sleep(1000L);
+        Assertions.assertThat(timingWheelEngine.getScheduledTasks()).isEqualTo(scheduledTasks);
+    }
+}
@@ -0,0 +1,95 @@
+package com.hiperium.city.tasks.api.utils;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JobIdGeneratorTest {
+
+    private static final int THREADS = 8;
+    private static final int IDS_PER_THREAD = 100_000;
+
+    @Test
+    @DisplayName("Generate unique IDs from concurrent threads")
+    void givenConcurrentThreads_whenGenerateIds_thenNoCollisions() throws Exception {
+        JobIdGenerator generator = new JobIdGenerator(1);
+        Set<String> ids = ConcurrentHashMap.newKeySet(THREADS * IDS_PER_THREAD);
+        CountDownLatch startLatch = new CountDownLatch(1);
+        ExecutorService executorService = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                futures.add(executorService.submit(() -> {
+                    startLatch.await();
+                    for (int j = 0; j < IDS_PER_THREAD; j++) {
+                        ids.add(generator.nextId());
+                    }
+                    return null;
+                }));
+            }
+            startLatch.countDown();
+            for (Future<?> future : futures) {
+                future.get(1, TimeUnit.MINUTES);
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+        assertThat(ids).hasSize(THREADS * IDS_PER_THREAD);
+    }
+
+    @Test
+    @DisplayName("Generate time-ordered IDs")
+    void givenOneThread_whenGenerateIds_thenIdsAreSorted() {
+        JobIdGenerator generator = new JobIdGenerator(JobIdGenerator.MAX_NODE_ID);
+        String previousId = generator.nextId();
+        for (int i = 0; i < IDS_PER_THREAD; i++) {
+            String jobId = generator.nextId();
+            assertThat(jobId).hasSize(JobIdGenerator.ID_LENGTH).isGreaterThan(previousId);
+            previousId = jobId;
+        }
+    }
+
+    @Test
+    @DisplayName("Generate different IDs on each node")
+    void givenTwoNodes_whenGenerateIds_thenNoCollisions() {
+        JobIdGenerator firstGenerator = new JobIdGenerator(1);
+        JobIdGenerator secondGenerator = new JobIdGenerator(2);
+        Set<String> ids = ConcurrentHashMap.newKeySet();
+        for (int i = 0; i < IDS_PER_THREAD; i++) {
+            ids.add(firstGenerator.nextId());
+            ids.add(secondGenerator.nextId());
+        }
+        assertThat(ids).hasSize(2 * IDS_PER_THREAD);
+    }
+
+    @Test
+    @DisplayName("Reject an invalid node ID")
+    void givenInvalidNodeId_whenCreateGenerator_thenThrowException() {
+        assertThatThrownBy(() -> new JobIdGenerator(JobIdGenerator.MAX_NODE_ID + 1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Reject a malformed node ID variable")
+    void givenMalformedNodeId_whenParse_thenThrowException() {
+        assertThat(EnvironmentUtil.parseNodeId(" 7 ")).isEqualTo(7);
+        assertThatThrownBy(() -> EnvironmentUtil.parseNodeId("node-1"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("HIPERIUM_CITY_TASKS_NODE_ID");
+        assertThatThrownBy(() -> EnvironmentUtil.parseNodeId("1024"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("HIPERIUM_CITY_TASKS_NODE_ID");
+    }
+}
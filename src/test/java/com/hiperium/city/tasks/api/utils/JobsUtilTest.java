@@ -0,0 +1,116 @@
+package com.hiperium.city.tasks.api.utils;
+
+import com.hiperium.city.tasks.api.model.Task;
+import com.hiperium.city.tasks.api.utils.enums.DaysEnum;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.quartz.JobDataMap;
+import org.quartz.JobDetail;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JobsUtilTest {
+
+    private static final int SHARDS = 16;
+    private static final JobIdGenerator JOB_ID_GENERATOR = new JobIdGenerator(1);
+
+    @Test
+    @DisplayName("Spread the Jobs evenly across the shards")
+    void givenJobIds_whenGetShard_thenUseEveryShard() {
+        int[] jobsPerShard = new int[SHARDS];
+        for (int i = 0; i < 16_000; i++) {
+            String jobId = JOB_ID_GENERATOR.nextId();
+            int shard = JobsUtil.getShard(jobId, SHARDS);
+            assertThat(shard).isEqualTo(JobsUtil.getShard(jobId, SHARDS));
+            jobsPerShard[shard]++;
+        }
+        assertThat(jobsPerShard).allSatisfy(jobs -> assertThat(jobs).isBetween(800, 1_200));
+    }
+
+    @Test
+    @DisplayName("Move only the shards of the node that leaves")
+    void givenNodeLeaves_whenGetShardOwner_thenKeepTheOtherOwners() {
+        List<String> nodes = List.of("node-a", "node-b", "node-c");
+        List<String> remainingNodes = List.of("node-a", "node-c");
+        IntStream.range(0, SHARDS).forEach(shard -> {
+            String owner = JobsUtil.getShardOwner(shard, nodes);
+            String newOwner = JobsUtil.getShardOwner(shard, remainingNodes);
+            assertThat(nodes).contains(owner);
+            if (!owner.equals("node-b")) {
+                assertThat(newOwner).isEqualTo(owner);
+            }
+        });
+    }
+
+    @Test
+    @DisplayName("Name the shared schedule by its execution time and days")
+    void givenSchedule_whenGetScheduleKey_thenIncludeTimeAndDays() {
+        int weekdaysMask = DaysEnum.toMask("MON,TUE,WED,THU,FRI");
+        assertThat(JobsUtil.getScheduleKey(18, 30, weekdaysMask)).isEqualTo("1830-31");
+        assertThat(JobsUtil.getScheduleKey(6, 5, weekdaysMask)).isEqualTo("0605-31");
+        assertThat(JobsUtil.getScheduleKey(6, 5, weekdaysMask)).isNotEqualTo(JobsUtil.getScheduleKey(6, 5, DaysEnum.ALL_DAYS_MASK));
+    }
+
+    @Test
+    @DisplayName("Delay each Job by the same jitter inside the window")
+    void givenJobIds_whenGetJitterDelay_thenStayInsideTheWindow() {
+        final long windowMillis = 30_000L;
+        int[] jobsPerSecond = new int[30];
+        for (int i = 0; i < 30_000; i++) {
+            String jobId = JOB_ID_GENERATOR.nextId();
+            long delay = JobsUtil.getJitterDelayMillis(jobId, windowMillis);
+            assertThat(delay).isBetween(0L, windowMillis - 1);
+            assertThat(JobsUtil.getJitterDelayMillis(jobId, windowMillis)).isEqualTo(delay);
+            jobsPerSecond[(int) (delay / 1_000L)]++;
+        }
+        assertThat(jobsPerSecond).allSatisfy(jobs -> assertThat(jobs).isBetween(800, 1_200));
+        assertThat(JobsUtil.getJitterDelayMillis("job-1", 0L)).isZero();
+    }
+
+    @Test
+    @DisplayName("Count the spread delay from the scheduled fire time")
+    void givenLateFire_whenGetSpreadDelay_thenDoNotDelayItAgain() {
+        final long windowMillis = 30_000L;
+        final long scheduledFireMillis = 1_000_000L;
+        String jobId = JOB_ID_GENERATOR.nextId();
+        long jitter = JobsUtil.getJitterDelayMillis(jobId, windowMillis);
+        assertThat(JobsUtil.getSpreadDelayMillis(jobId, windowMillis, scheduledFireMillis, scheduledFireMillis))
+                .isEqualTo(jitter);
+        assertThat(JobsUtil.getSpreadDelayMillis(jobId, windowMillis, scheduledFireMillis, scheduledFireMillis + jitter))
+                .isZero();
+        assertThat(JobsUtil.getSpreadDelayMillis(jobId, windowMillis, scheduledFireMillis,
+                scheduledFireMillis + windowMillis)).isZero();
+    }
+
+    @Test
+    @DisplayName("Read back the Task snapshot stored in the Job data")
+    void givenTask_whenCreateJobDetail_thenRoundTripTaskSnapshot() {
+        Task task = Task.builder()
+                .id(1L)
+                .jobId(JOB_ID_GENERATOR.nextId())
+                .name("Snapshot task")
+                .deviceId("device-1")
+                .deviceAction("ACTIVATE")
+                .build();
+        JobDetail jobDetail = JobsUtil.createJobDetailFromTask(task);
+        assertThat(jobDetail.getKey()).isEqualTo(JobsUtil.getJobKey(task.getJobId()));
+        assertThat(jobDetail.getJobDataMap().values()).allSatisfy(value -> assertThat(value).isInstanceOf(String.class));
+
+        Task snapshot = JobsUtil.getTaskFromJobDataMap(jobDetail.getJobDataMap());
+        assertThat(snapshot).isNotNull();
+        assertThat(snapshot.getJobId()).isEqualTo(task.getJobId());
+        assertThat(snapshot.getDeviceId()).isEqualTo("device-1");
+        assertThat(snapshot.getDeviceAction()).isEqualTo("ACTIVATE");
+    }
+
+    @Test
+    @DisplayName("Return no snapshot for the Jobs stored without one")
+    void givenLegacyJobData_whenGetTask_thenReturnNull() {
+        JobDataMap jobDataMap = new JobDataMap();
+        jobDataMap.put(JobsUtil.TASK_JOB_ID_DATA_KEY, "legacy-job");
+        assertThat(JobsUtil.getTaskFromJobDataMap(jobDataMap)).isNull();
+    }
+}